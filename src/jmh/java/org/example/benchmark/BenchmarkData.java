@@ -0,0 +1,34 @@
+package org.example.benchmark;
+
+import java.util.Random;
+
+/**
+ * Utilities class that generates the seeded inputs shared by the benchmarks, so every run measures the same work.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    private static final String COMMANDS = "FFFLR";
+
+    /**
+     * Is a Private constructor to prevent instantiation of this utility class.
+     */
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generates a random command sequence in which three commands in five are moves.
+     *
+     * @param random the source of randomness.
+     * @param length the number of commands.
+     * @return the command sequence.
+     */
+    static String commandSequence(Random random, int length) {
+        StringBuilder commandSequence = new StringBuilder(length);
+        for (int index = 0; index < length; index++) {
+            commandSequence.append(COMMANDS.charAt(random.nextInt(COMMANDS.length())));
+        }
+        return commandSequence.toString();
+    }
+}
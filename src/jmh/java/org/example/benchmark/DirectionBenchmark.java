@@ -0,0 +1,51 @@
+package org.example.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.model.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Represents the benchmarks of {@link Direction#turnLeft()} and {@link Direction#turnRight()}.
+ * The GC profiler shows whether a turn allocates, such as a copy of {@code values()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectionBenchmark {
+
+    @Param({"NORTH", "EAST", "SOUTH", "WEST"})
+    private Direction direction;
+
+    /**
+     * Measures a single left turn.
+     *
+     * @return the new direction, so the turn is not eliminated.
+     */
+    @Benchmark
+    public Direction turnLeft() {
+        return direction.turnLeft();
+    }
+
+    /**
+     * Measures a single right turn.
+     *
+     * @return the new direction, so the turn is not eliminated.
+     */
+    @Benchmark
+    public Direction turnRight() {
+        return direction.turnRight();
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.example.model.Instruction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Represents the benchmarks of building an {@link Instruction} from a command sequence and reading its commands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstructionBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    private int programLength;
+
+    private String commandSequence;
+    private Instruction instruction;
+
+    /**
+     * Sets up the command sequence and an instruction built from it.
+     */
+    @Setup
+    public void setUp() {
+        commandSequence = BenchmarkData.commandSequence(new Random(BenchmarkData.SEED), programLength);
+        instruction = new Instruction(commandSequence);
+    }
+
+    /**
+     * Measures validating and packing a command sequence.
+     *
+     * @return the instruction, so its construction is not eliminated.
+     */
+    @Benchmark
+    public Instruction construct() {
+        return new Instruction(commandSequence);
+    }
+
+    /**
+     * Measures building an instruction and consuming it with {@link Instruction#nextCommand()}, as the simulations do.
+     *
+     * @param blackhole the sink for each command.
+     */
+    @Benchmark
+    public void constructAndIterate(Blackhole blackhole) {
+        Instruction consumedInstruction = new Instruction(commandSequence);
+        while (consumedInstruction.hasNextCommand()) {
+            blackhole.consume(consumedInstruction.nextCommand());
+        }
+    }
+
+    /**
+     * Measures reading every command code by index, which leaves the instruction unchanged.
+     *
+     * @param blackhole the sink for each code.
+     */
+    @Benchmark
+    public void iterateCodes(Blackhole blackhole) {
+        for (int index = 0; index < instruction.size(); index++) {
+            blackhole.consume(instruction.codeAt(index));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.model.Direction;
+import org.example.model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Represents the benchmarks of {@link Position#move(Direction)}, which allocates a new position for every move.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionBenchmark {
+
+    @Param({"NORTH", "EAST", "SOUTH", "WEST"})
+    private Direction direction;
+
+    private Position position;
+
+    /**
+     * Sets up the position that is moved.
+     */
+    @Setup
+    public void setUp() {
+        position = new Position(500, 500);
+    }
+
+    /**
+     * Measures a single move.
+     *
+     * @return the moved position, so the move is not eliminated.
+     */
+    @Benchmark
+    public Position move() {
+        return position.move(direction);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.SimulateMultipleCars;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Represents the benchmarks of running a fleet with {@link SimulateMultipleCars}.
+ * Cars start on distinct random cells, filling at most half of the board, and cycle through a small set of random
+ * programs. A simulation consumes its instructions, so every invocation builds a new one. Small fleets run in
+ * microseconds, which is too short for a per-invocation setup to be timed apart from the run, so the building is
+ * measured on its own by {@link #construct()}, to be subtracted from the other scores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulateMultipleCarsBenchmark {
+
+    private static final int PROGRAM_COUNT = 64;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Param({"16", "1024", "16384"})
+    private int carCount;
+
+    @Param({"256", "4096"})
+    private int boardSize;
+
+    @Param({"64", "1024"})
+    private int programLength;
+
+    private Board board;
+    private int[] xCoordinates;
+    private int[] yCoordinates;
+    private Direction[] directions;
+    private String[] commandSequences;
+
+    /**
+     * Sets up the starting cells, directions and programs of the cars.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        board = new Board(boardSize, boardSize);
+        int placedCount = (int) Math.min(carCount, board.getCellCount() / 2);
+        xCoordinates = new int[placedCount];
+        yCoordinates = new int[placedCount];
+        directions = new Direction[placedCount];
+        boolean[] isOccupied = new boolean[boardSize * boardSize];
+        for (int carId = 0; carId < placedCount; carId++) {
+            int cell;
+            do {
+                cell = random.nextInt(isOccupied.length);
+            } while (isOccupied[cell]);
+            isOccupied[cell] = true;
+            xCoordinates[carId] = cell % boardSize;
+            yCoordinates[carId] = cell / boardSize;
+            directions[carId] = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+        }
+        commandSequences = new String[PROGRAM_COUNT];
+        for (int index = 0; index < PROGRAM_COUNT; index++) {
+            commandSequences[index] = BenchmarkData.commandSequence(random, programLength);
+        }
+    }
+
+    /**
+     * Measures building a simulation without running it, the baseline of the other benchmarks.
+     *
+     * @return the simulation.
+     */
+    @Benchmark
+    public SimulateMultipleCars construct() {
+        return createSimulation();
+    }
+
+    /**
+     * Measures running the fleet until the first collision, as the interactive mode does.
+     *
+     * @return the collision report.
+     */
+    @Benchmark
+    public String runCommands() {
+        return createSimulation().runCommands();
+    }
+
+    /**
+     * Measures running every program to the end, freezing cars that collide.
+     *
+     * @return the number of collisions.
+     */
+    @Benchmark
+    public int runCommandsFreezing() {
+        return createSimulation().runCommands(CollisionPolicy.FREEZE, new CollisionLog());
+    }
+
+    /**
+     * Builds a new simulation with every car at its starting cell.
+     *
+     * @return the simulation.
+     */
+    private SimulateMultipleCars createSimulation() {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(board);
+        for (int carId = 0; carId < xCoordinates.length; carId++) {
+            Car car = new Car("C" + carId, xCoordinates[carId], yCoordinates[carId], directions[carId]);
+            simulation.addCarInstructionPair(car, new Instruction(commandSequences[carId % PROGRAM_COUNT]));
+        }
+        return simulation;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.Simulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Represents the benchmarks of running a single car with {@link Simulation}.
+ * A simulation consumes its instruction and moves its car, so every invocation builds a new one. A run of a short
+ * program takes only microseconds, which is too short for a per-invocation setup to be timed apart from it, so the
+ * building is measured on its own by {@link #construct()}, to be subtracted from the other scores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"16", "1024"})
+    private int boardSize;
+
+    @Param({"1024", "65536"})
+    private int programLength;
+
+    private Board board;
+    private String commandSequence;
+
+    /**
+     * Sets up the board and the command sequence.
+     */
+    @Setup
+    public void setUp() {
+        board = new Board(boardSize, boardSize);
+        commandSequence = BenchmarkData.commandSequence(new Random(BenchmarkData.SEED), programLength);
+    }
+
+    /**
+     * Measures building a simulation without running it, the baseline of the other benchmarks.
+     *
+     * @return the simulation.
+     */
+    @Benchmark
+    public Simulation construct() {
+        return createSimulation();
+    }
+
+    /**
+     * Measures running the commands one at a time.
+     *
+     * @return the final state of the car.
+     */
+    @Benchmark
+    public String runCommands() {
+        return createSimulation().runCommands();
+    }
+
+    /**
+     * Measures running the commands one run of repeated commands at a time.
+     *
+     * @return the final state of the car.
+     */
+    @Benchmark
+    public String runCommandsInRuns() {
+        return createSimulation().runCommandsInRuns();
+    }
+
+    /**
+     * Builds a new simulation with the car in the middle of the board.
+     *
+     * @return the simulation.
+     */
+    private Simulation createSimulation() {
+        Car car = new Car("A", boardSize / 2, boardSize / 2, Direction.NORTH);
+        return new Simulation(board, car, new Instruction(commandSequence));
+    }
+}
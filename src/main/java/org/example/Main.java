@@ -1,22 +1,73 @@
 package org.example;
 
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
 import org.example.model.Board;
 import org.example.model.Car;
 import org.example.model.Instruction;
 import org.example.model.PartSelection;
+import org.example.model.Scenario;
+import org.example.service.BatchRunner;
+import org.example.service.ResultCache;
 import org.example.service.SimulateMultipleCars;
 import org.example.service.Simulation;
+import org.example.util.Configuration;
 import org.example.util.InputUtil;
+import org.example.util.Messages;
+import org.example.util.OutputSink;
 import org.example.util.OutputUtil;
+import org.example.util.ScenarioParser;
+import org.example.util.SimulationServer;
 
 /**
  * Serves as the entry point for the car simulation application.
  * Part 1 handles a single car's movement on a grid, while Part 2 simulates the movement of multiple cars and
  * detects collisions.
+ * When a scenario file is given as an argument, it is run without prompting and only the result is printed.
+ * When a port is configured, the application instead runs as a service that accepts scenarios over HTTP.
+ * Settings such as verbose mode and the engine are resolved once at startup by {@link Configuration}.
  */
 public class Main {
 
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_FAILURE = 1;
+
     public static void main(String[] args) {
+        int exitStatus = run(args);
+        if (exitStatus != EXIT_SUCCESS) {
+            System.exit(exitStatus);
+        }
+    }
+
+    /**
+     * Runs the application without exiting the JVM, so that scripts driving it can be told whether it failed.
+     *
+     * @param args the command line arguments.
+     * @return {@link #EXIT_SUCCESS}, or {@link #EXIT_FAILURE} if the settings are invalid, a scenario file could
+     *         not be read or run, or the service could not start. A started service keeps running after this returns.
+     */
+    public static int run(String[] args) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.initialize(args);
+            if (configuration.getConfigFile() != null) {
+                Configuration.watch();
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            OutputUtil.errorPrint(e.getMessage());
+            return EXIT_FAILURE;
+        }
+        if (configuration.getPort() > 0) {
+            return startServer(configuration) ? EXIT_SUCCESS : EXIT_FAILURE;
+        }
+        if (!configuration.getArguments().isEmpty()) {
+            boolean isSuccessful = handleScenarioFile(configuration.getArguments().get(0), configuration);
+            return isSuccessful ? EXIT_SUCCESS : EXIT_FAILURE;
+        }
         boolean isExit = false;
         while (!isExit) {
             PartSelection partSelection = InputUtil.readPartSelection();
@@ -38,6 +89,7 @@ public class Main {
                 break;
             }
         }
+        return EXIT_SUCCESS;
     }
 
     private static String handlePartOne() {
@@ -66,4 +118,43 @@ public class Main {
         }
         return simulateMultipleCars.runCommands();
     }
+
+    private static boolean handleScenarioFile(String scenarioFile, Configuration configuration) {
+        try (OutputSink outputSink = new OutputSink(new FileOutputStream(FileDescriptor.out).getChannel())) {
+            OutputUtil.setSink(outputSink);
+            Scenario scenario = ScenarioParser.parse(Path.of(scenarioFile));
+            OutputUtil.batchResultPrint(BatchRunner.runScenario(scenario, configuration.getEngine(),
+                    configuration.getThreadCount(), configuration.isMetricsEnabled()));
+            return true;
+        } catch (IOException e) {
+            OutputUtil.errorPrint(Messages.BATCH_FILE_UNREADABLE + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            OutputUtil.errorPrint(Messages.BATCH_FILE_INVALID + e.getMessage());
+        } finally {
+            OutputUtil.setSink(null);
+        }
+        return false;
+    }
+
+    private static boolean startServer(Configuration configuration) {
+        ResultCache resultCache = ResultCache.register(configuration.getCacheEntries(), configuration.getCacheBytes());
+        SimulationServer server;
+        try {
+            server = new SimulationServer(new InetSocketAddress(configuration.getPort()), configuration.getEngine(),
+                    resultCache, configuration.getThreadCount(), configuration.getQueueCapacity(),
+                    configuration.getMaxBodyBytes(), configuration.getRequestTimeoutMillis());
+        } catch (IOException | IllegalArgumentException e) {
+            resultCache.close();
+            OutputUtil.errorPrint(Messages.SERVER_UNABLE_TO_START + e.getMessage());
+            return false;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            resultCache.close();
+        }));
+        // The server's dispatcher thread keeps the application running after main returns
+        server.start();
+        OutputUtil.statusPrint(Messages.SERVER_STARTED + server.getPort());
+        return true;
+    }
 }
@@ -6,6 +6,11 @@ package org.example.model;
  */
 public class Board {
 
+    /**
+     * Is the default number of cells up to which a board is indexed with a dense grid rather than a hash map.
+     */
+    public static final long DEFAULT_DENSE_CELL_BUDGET = 1L << 22;
+
     private final int width;
     private final int height;
 
@@ -30,4 +35,57 @@ public class Board {
     public boolean isWithinBounds(int x, int y) {
         return x >= 0 && x < width && y >= 0 && y < height;
     }
+
+    /**
+     * Gets the width of the board.
+     *
+     * @return the width of the board.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the board.
+     *
+     * @return the height of the board.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the number of cells on the board.
+     *
+     * @return the width multiplied by the height.
+     */
+    public long getCellCount() {
+        return (long) width * height;
+    }
+
+    /**
+     * Converts a position within bounds to its index in a row-major array of the board's cells.
+     *
+     * @param x the x-coordinate of the position.
+     * @param y the y-coordinate of the position.
+     * @return the cell index {@code y * width + x}.
+     */
+    public int toCellIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Creates an empty occupancy index suited to the size of this board.
+     * Boards with at most {@code denseCellBudget} cells get a {@link GridOccupancy} with one slot per cell,
+     * larger boards get an {@link OccupancyMap} whose size depends only on the number of cars.
+     *
+     * @param denseCellBudget the largest number of cells for which a dense grid is allocated.
+     * @return a new occupancy index for this board.
+     */
+    public OccupancyIndex createOccupancyIndex(long denseCellBudget) {
+        if (getCellCount() <= denseCellBudget) {
+            return new GridOccupancy(this);
+        }
+        return new OccupancyMap();
+    }
 }
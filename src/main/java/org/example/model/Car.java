@@ -55,6 +55,24 @@ public class Car {
         }
     }
 
+    /**
+     * Sets the position of the car, for engines that compute several moves at once.
+     *
+     * @param position the new position of the car.
+     */
+    public void setPosition(Position position) {
+        this.position = position;
+    }
+
+    /**
+     * Sets the direction the car is facing, for engines that compute several turns at once.
+     *
+     * @param direction the new direction of the car.
+     */
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
     /**
      * Gets the direction the car is currently facing.
      *
@@ -0,0 +1,19 @@
+package org.example.model;
+
+/**
+ * Represents a receiver of collision events from a simulation.
+ * Events carry car ids and coordinates as primitives, so reporting a collision does not create any objects.
+ */
+public interface CollisionListener {
+
+    /**
+     * Receives a collision in which a moving car entered a cell that was already occupied.
+     *
+     * @param firstCarId  the id of the car that occupied the cell.
+     * @param secondCarId the id of the car that moved into the cell.
+     * @param x           the x-coordinate of the cell.
+     * @param y           the y-coordinate of the cell.
+     * @param step        the step at which the collision occurred, starting from 1.
+     */
+    void onCollision(int firstCarId, int secondCarId, int x, int y, int step);
+}
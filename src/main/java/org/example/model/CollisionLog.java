@@ -0,0 +1,128 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a growing record of collisions, kept in parallel primitive arrays in the order they occurred.
+ */
+public class CollisionLog implements CollisionListener {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] firstCarIds;
+    private int[] secondCarIds;
+    private int[] xCoordinates;
+    private int[] yCoordinates;
+    private int[] steps;
+    private int size;
+
+    /**
+     * Constructs an empty CollisionLog.
+     */
+    public CollisionLog() {
+        this.firstCarIds = new int[INITIAL_CAPACITY];
+        this.secondCarIds = new int[INITIAL_CAPACITY];
+        this.xCoordinates = new int[INITIAL_CAPACITY];
+        this.yCoordinates = new int[INITIAL_CAPACITY];
+        this.steps = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    @Override
+    public void onCollision(int firstCarId, int secondCarId, int x, int y, int step) {
+        if (size == steps.length) {
+            int newCapacity = size * 2;
+            firstCarIds = Arrays.copyOf(firstCarIds, newCapacity);
+            secondCarIds = Arrays.copyOf(secondCarIds, newCapacity);
+            xCoordinates = Arrays.copyOf(xCoordinates, newCapacity);
+            yCoordinates = Arrays.copyOf(yCoordinates, newCapacity);
+            steps = Arrays.copyOf(steps, newCapacity);
+        }
+        firstCarIds[size] = firstCarId;
+        secondCarIds[size] = secondCarId;
+        xCoordinates[size] = x;
+        yCoordinates[size] = y;
+        steps[size] = step;
+        size += 1;
+    }
+
+    /**
+     * Gets the number of recorded collisions.
+     *
+     * @return the number of collisions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the id of the car that occupied the cell in a collision.
+     *
+     * @param index the index of the collision, in the order they occurred.
+     * @return the id of the first car.
+     */
+    public int getFirstCarId(int index) {
+        return firstCarIds[checkIndex(index)];
+    }
+
+    /**
+     * Gets the id of the car that moved into the cell in a collision.
+     *
+     * @param index the index of the collision, in the order they occurred.
+     * @return the id of the second car.
+     */
+    public int getSecondCarId(int index) {
+        return secondCarIds[checkIndex(index)];
+    }
+
+    /**
+     * Gets the x-coordinate of a collision.
+     *
+     * @param index the index of the collision, in the order they occurred.
+     * @return the x-coordinate of the collision.
+     */
+    public int getX(int index) {
+        return xCoordinates[checkIndex(index)];
+    }
+
+    /**
+     * Gets the y-coordinate of a collision.
+     *
+     * @param index the index of the collision, in the order they occurred.
+     * @return the y-coordinate of the collision.
+     */
+    public int getY(int index) {
+        return yCoordinates[checkIndex(index)];
+    }
+
+    /**
+     * Gets the step at which a collision occurred.
+     *
+     * @param index the index of the collision, in the order they occurred.
+     * @return the step of the collision, starting from 1.
+     */
+    public int getStep(int index) {
+        return steps[checkIndex(index)];
+    }
+
+    /**
+     * Removes every recorded collision, keeping the allocated arrays for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Checks that an index refers to a recorded collision.
+     *
+     * @param index the index of the collision.
+     * @return the same index.
+     * @throws IndexOutOfBoundsException if no collision was recorded at the index.
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid collision index: " + index);
+        }
+        return index;
+    }
+}
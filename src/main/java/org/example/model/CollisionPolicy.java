@@ -0,0 +1,18 @@
+package org.example.model;
+
+/**
+ * Enums representing what a simulation does with the cars involved in a collision.
+ */
+public enum CollisionPolicy {
+
+    /**
+     * Represents stopping the whole simulation at the first collision.
+     */
+    STOP,
+
+    /**
+     * Represents freezing both cars in the cell where they collided while every other car keeps running.
+     * The cell stays occupied, so cars driving into it later collide with the car that was there first.
+     */
+    FREEZE
+}
@@ -0,0 +1,110 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a run-length encoded view of an instruction, where each run is a command repeated a number of times.
+ * Long straight segments and repeated turns collapse to a single run, so engines can execute a run in one step
+ * instead of one command at a time.
+ */
+public class CommandRuns {
+
+    private static final int CODE_BITS = 2;
+    private static final int CODE_MASK = (1 << CODE_BITS) - 1;
+    private static final int MAXIMUM_RUN_LENGTH = Integer.MAX_VALUE >>> CODE_BITS;
+
+    private final int[] runs;
+    private final int runCount;
+    private final int commandCount;
+
+    /**
+     * Constructs a CommandRuns object from already encoded runs.
+     *
+     * @param runs         the runs, each holding its length above the 2-bit command code.
+     * @param runCount     the number of runs in use.
+     * @param commandCount the total number of commands covered by the runs.
+     */
+    private CommandRuns(int[] runs, int runCount, int commandCount) {
+        this.runs = runs;
+        this.runCount = runCount;
+        this.commandCount = commandCount;
+    }
+
+    /**
+     * Encodes the commands of an instruction that have not been executed yet.
+     * Runs are found with {@link Instruction#runLengthAt(int)}, so encoding costs one step per run plus one word
+     * comparison per 32 commands, rather than one step per command. The instruction's current index is not moved.
+     *
+     * @param instruction the instruction to encode.
+     * @return the runs of the remaining commands.
+     * @throws IllegalArgumentException if the instruction cannot be read by index.
+     */
+    public static CommandRuns of(Instruction instruction) {
+        if (!instruction.isIndexable()) {
+            throw new IllegalArgumentException("Instruction cannot be read by index.");
+        }
+        int[] runs = new int[16];
+        int runCount = 0;
+        int start = instruction.getCurrentCommandIndex();
+        int index = start;
+        while (index < instruction.size()) {
+            int code = instruction.codeAt(index);
+            int length = Math.min(instruction.runLengthAt(index), MAXIMUM_RUN_LENGTH);
+            if (runCount == runs.length) {
+                runs = Arrays.copyOf(runs, runCount * 2);
+            }
+            runs[runCount] = (length << CODE_BITS) | code;
+            runCount += 1;
+            index += length;
+        }
+        return new CommandRuns(Arrays.copyOf(runs, runCount), runCount, index - start);
+    }
+
+    /**
+     * Gets the number of runs.
+     *
+     * @return the number of runs.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Gets the total number of commands covered by all runs.
+     *
+     * @return the number of commands.
+     */
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Gets the 2-bit code of the command repeated by a run.
+     *
+     * @param runIndex the index of the run.
+     * @return {@link Instruction#FORWARD}, {@link Instruction#LEFT} or {@link Instruction#RIGHT}.
+     */
+    public int getCode(int runIndex) {
+        return runs[runIndex] & CODE_MASK;
+    }
+
+    /**
+     * Gets the command character repeated by a run.
+     *
+     * @param runIndex the index of the run.
+     * @return the command character.
+     */
+    public char getCommand(int runIndex) {
+        return Instruction.decode(getCode(runIndex));
+    }
+
+    /**
+     * Gets the number of times a run repeats its command.
+     *
+     * @param runIndex the index of the run.
+     * @return the length of the run.
+     */
+    public int getLength(int runIndex) {
+        return runs[runIndex] >>> CODE_BITS;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents the occupancy of a bounded board as a flat array with one slot per cell, indexed by
+ * {@code y * width + x}.
+ * Every lookup is a single array access, which makes it the fastest index when the board is small enough to
+ * allocate a slot for each cell.
+ */
+public class GridOccupancy implements OccupancyIndex {
+
+    private final Board board;
+    private final int[] cells;
+    private int size;
+
+    /**
+     * Constructs an empty GridOccupancy covering every cell of the specified board.
+     *
+     * @param board the board whose cells are indexed.
+     * @throws IllegalArgumentException if the board has more cells than an array can hold.
+     */
+    public GridOccupancy(Board board) {
+        long cellCount = board.getCellCount();
+        if (cellCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Board too large for a grid index: " + cellCount + " cells");
+        }
+        this.board = board;
+        this.cells = new int[(int) cellCount];
+        Arrays.fill(cells, EMPTY);
+        this.size = 0;
+    }
+
+    @Override
+    public int get(int x, int y) {
+        return cells[board.toCellIndex(x, y)];
+    }
+
+    @Override
+    public int put(int x, int y, int carId) {
+        int cellIndex = board.toCellIndex(x, y);
+        int previousCarId = cells[cellIndex];
+        cells[cellIndex] = carId;
+        if (previousCarId == EMPTY) {
+            size += 1;
+        }
+        return previousCarId;
+    }
+
+    @Override
+    public int remove(int x, int y) {
+        int cellIndex = board.toCellIndex(x, y);
+        int removedCarId = cells[cellIndex];
+        if (removedCarId != EMPTY) {
+            cells[cellIndex] = EMPTY;
+            size -= 1;
+        }
+        return removedCarId;
+    }
+
+    @Override
+    public int move(int fromX, int fromY, int toX, int toY) {
+        int toIndex = board.toCellIndex(toX, toY);
+        if (cells[toIndex] != EMPTY) {
+            return cells[toIndex];
+        }
+        int fromIndex = board.toCellIndex(fromX, fromY);
+        if (cells[fromIndex] == EMPTY) {
+            throw new IllegalStateException("No car at " + fromX + " " + fromY);
+        }
+        cells[toIndex] = cells[fromIndex];
+        cells[fromIndex] = EMPTY;
+        return EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(cells, EMPTY);
+        size = 0;
+    }
+}
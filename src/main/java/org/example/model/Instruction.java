@@ -2,15 +2,27 @@ package org.example.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents a sequence of commands that can be executed by a car.
- * The commands are stored as a list of characters and are executed sequentially.
+ * The commands are packed at 2 bits each into an array of longs and are executed sequentially.
  */
 public class Instruction {
 
     public static final String REGEX = "[FRL]+";
-    private final List<Character> commandList;
+    public static final int FORWARD = 0;
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+
+    private static final int COMMANDS_PER_WORD_SHIFT = 5;
+    private static final int COMMAND_INDEX_MASK = (1 << COMMANDS_PER_WORD_SHIFT) - 1;
+    private static final int COMMAND_MASK = 3;
+    private static final long REPEATED_CODE_UNIT = 0x5555555555555555L;
+    private static final char[] COMMAND_CHARACTERS = {'F', 'L', 'R'};
+
+    private final long[] packedCommands;
+    private final int commandCount;
     private int currentCommandIndex;
 
     /**
@@ -22,16 +34,30 @@ public class Instruction {
      */
     public Instruction(String commandSequence) {
         this.currentCommandIndex = 0;
-        this.commandList = new ArrayList<>();
-        for (char command : commandSequence.toCharArray()) {
-            if (isValidCommand(command)) {
-                commandList.add(command);
-            } else {
-                throw new IllegalArgumentException("Invalid command: " + command);
-            }
+        this.commandCount = commandSequence.length();
+        this.packedCommands = new long[(commandCount + COMMAND_INDEX_MASK) >>> COMMANDS_PER_WORD_SHIFT];
+        for (int index = 0; index < commandCount; index++) {
+            long code = encode(commandSequence.charAt(index));
+            packedCommands[index >>> COMMANDS_PER_WORD_SHIFT] |= code << ((index & COMMAND_INDEX_MASK) << 1);
         }
     }
 
+    /**
+     * Constructs an Instruction object for a subclass that stores its commands elsewhere.
+     * Such a subclass must override {@link #codeAt(int)}, which every other method reads commands through.
+     *
+     * @param commandCount the number of commands in the sequence.
+     * @throws IllegalArgumentException if the number of commands is negative.
+     */
+    protected Instruction(int commandCount) {
+        if (commandCount < 0) {
+            throw new IllegalArgumentException("Invalid command count: " + commandCount);
+        }
+        this.currentCommandIndex = 0;
+        this.commandCount = commandCount;
+        this.packedCommands = new long[0];
+    }
+
     /**
      * Returns the next command in the sequence and advances the index.
      *
@@ -42,7 +68,7 @@ public class Instruction {
         if (!hasNextCommand()) {
             throw new IndexOutOfBoundsException("No more commands available.");
         }
-        Character currentCommand = commandList.get(currentCommandIndex);
+        char currentCommand = COMMAND_CHARACTERS[codeAt(currentCommandIndex)];
         currentCommandIndex += 1;
         return currentCommand;
     }
@@ -53,25 +79,157 @@ public class Instruction {
      * @return true if there are more commands; false otherwise.
      */
     public boolean hasNextCommand() {
-        return currentCommandIndex < commandList.size();
+        return currentCommandIndex < commandCount;
+    }
+
+    /**
+     * Skips over commands without returning them, for engines that execute several commands at once.
+     *
+     * @param count the number of commands to skip.
+     * @throws IndexOutOfBoundsException if fewer than {@code count} commands are left.
+     */
+    public void skipCommands(int count) {
+        if (count < 0 || count > commandCount - currentCommandIndex) {
+            throw new IndexOutOfBoundsException("Cannot skip " + count + " commands.");
+        }
+        currentCommandIndex += count;
+    }
+
+    /**
+     * Returns the total number of commands in the sequence, including those already executed.
+     *
+     * @return the number of commands.
+     */
+    public int size() {
+        return commandCount;
+    }
+
+    /**
+     * Returns the command at the given index without moving the current index.
+     * This allows engines to keep their own cursor into a shared instruction.
+     *
+     * @param index the index of the command, starting from 0.
+     * @return the command character at the index.
+     * @throws IndexOutOfBoundsException if the index is outside the sequence.
+     */
+    public char commandAt(int index) {
+        return COMMAND_CHARACTERS[codeAt(index)];
+    }
+
+    /**
+     * Returns the 2-bit code of the command at the given index without moving the current index.
+     *
+     * @param index the index of the command, starting from 0.
+     * @return {@link #FORWARD}, {@link #LEFT} or {@link #RIGHT}.
+     * @throws IndexOutOfBoundsException if the index is outside the sequence.
+     */
+    public int codeAt(int index) {
+        Objects.checkIndex(index, commandCount);
+        long word = packedCommands[index >>> COMMANDS_PER_WORD_SHIFT];
+        return (int) (word >>> ((index & COMMAND_INDEX_MASK) << 1)) & COMMAND_MASK;
+    }
+
+    /**
+     * Returns the number of consecutive commands equal to the command at the given index, starting at the index.
+     * The packed commands are compared a word of 32 commands at a time, so a long run costs one comparison per word
+     * rather than one per command. Subclasses that store their commands elsewhere are read one command at a time.
+     *
+     * @param index the index of the first command of the run, starting from 0.
+     * @return the length of the run, at least 1.
+     * @throws IndexOutOfBoundsException if the index is outside the sequence.
+     */
+    public int runLengthAt(int index) {
+        int code = codeAt(index);
+        if (packedCommands.length == 0) {
+            int end = index + 1;
+            while (end < commandCount && codeAt(end) == code) {
+                end += 1;
+            }
+            return end - index;
+        }
+        // Each 2-bit group of the difference is zero exactly where the command equals the run's command
+        long repeatedCode = code * REPEATED_CODE_UNIT;
+        int wordIndex = index >>> COMMANDS_PER_WORD_SHIFT;
+        long difference = (packedCommands[wordIndex] ^ repeatedCode) >>> ((index & COMMAND_INDEX_MASK) << 1);
+        long end;
+        if (difference != 0) {
+            end = index + (Long.numberOfTrailingZeros(difference) >>> 1);
+        } else {
+            wordIndex += 1;
+            while (wordIndex < packedCommands.length && packedCommands[wordIndex] == repeatedCode) {
+                wordIndex += 1;
+            }
+            end = (long) wordIndex << COMMANDS_PER_WORD_SHIFT;
+            if (wordIndex < packedCommands.length) {
+                end += Long.numberOfTrailingZeros(packedCommands[wordIndex] ^ repeatedCode) >>> 1;
+            }
+        }
+        // The unused groups of the last word hold FORWARD, so a run of moves may appear to go past the end
+        return (int) (Math.min(end, commandCount) - index);
+    }
+
+    /**
+     * Checks if every command from the current index up to {@link #size()} can be read with {@link #codeAt(int)}.
+     * Engines that keep their own cursor into the program, such as {@code FleetSimulation}, need such an
+     * instruction, while engines that pull one command at a time with {@link #nextCommand()} accept any instruction.
+     *
+     * @return true, as every command of a regular instruction is kept.
+     */
+    public boolean isIndexable() {
+        return true;
+    }
+
+    /**
+     * Gets the index of the next command to be returned by {@link #nextCommand()}.
+     *
+     * @return the current command index.
+     */
+    public int getCurrentCommandIndex() {
+        return currentCommandIndex;
     }
 
     /**
      * Returns the list of commands in the sequence.
+     * The list is built on each call, so callers that only need to read commands should prefer
+     * {@link #commandAt(int)}.
      *
-     * @return an unmodifiable list of commands.
+     * @return a copy of the list of commands.
      */
     public List<Character> getCommands() {
-        return new ArrayList<>(commandList);
+        List<Character> commandList = new ArrayList<>(commandCount);
+        for (int index = 0; index < commandCount; index++) {
+            commandList.add(commandAt(index));
+        }
+        return commandList;
+    }
+
+    /**
+     * Converts a command character to its 2-bit code.
+     *
+     * @param command the command character ('F', 'L' or 'R').
+     * @return {@link #FORWARD}, {@link #LEFT} or {@link #RIGHT}.
+     * @throws IllegalArgumentException if the command is not one of the allowed commands.
+     */
+    public static int encode(char command) {
+        switch (command) {
+        case 'F':
+            return FORWARD;
+        case 'L':
+            return LEFT;
+        case 'R':
+            return RIGHT;
+        default:
+            throw new IllegalArgumentException("Invalid command: " + command);
+        }
     }
 
     /**
-     * Validates if a command is one of the allowed commands ('L', 'R', 'F').
+     * Converts a 2-bit command code back to its command character.
      *
-     * @param command the command to validate.
-     * @return true if the command is valid; false otherwise.
+     * @param code {@link #FORWARD}, {@link #LEFT} or {@link #RIGHT}.
+     * @return the command character.
      */
-    private boolean isValidCommand(char command) {
-        return command == 'L' || command == 'R' || command == 'F';
+    public static char decode(int code) {
+        return COMMAND_CHARACTERS[code];
     }
 }
@@ -0,0 +1,203 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents an instruction whose commands are read straight from a memory-mapped file.
+ * The file is never copied onto the heap, so a program of several gigabytes only takes up the pages of the file that
+ * are in use. Each command is validated when it is read rather than when the file is opened, and lowercase commands
+ * are accepted in the same way as typed instructions.
+ * <p>
+ * Commands are pulled with {@link #nextCommand()} through a cursor over the whole file, so {@code Simulation} and
+ * {@code SimulateMultipleCars} run programs of any length. Engines that read programs by index, such as
+ * {@code FleetSimulation}, can only address {@link Integer#MAX_VALUE} commands, so a longer file is not
+ * {@linkplain #isIndexable() indexable} and is rejected by them.
+ */
+public class MappedInstruction extends Instruction {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final MappedByteBuffer[] chunks;
+    private final long commandCount;
+    private long position;
+
+    /**
+     * Constructs a MappedInstruction object from already mapped chunks of a file.
+     *
+     * @param chunks       the mapped chunks, each holding {@code 1 << 30} bytes except the last.
+     * @param commandCount the number of commands in the file.
+     */
+    private MappedInstruction(MappedByteBuffer[] chunks, long commandCount) {
+        super((int) Math.min(commandCount, Integer.MAX_VALUE));
+        this.chunks = chunks;
+        this.commandCount = commandCount;
+        this.position = 0;
+    }
+
+    /**
+     * Maps a file holding a command sequence.
+     * Trailing line breaks and spaces are ignored. The file is only scanned for them, not validated.
+     *
+     * @param path the path of the file.
+     * @return the instruction, with its cursor at the first command.
+     * @throws IOException if the file cannot be read or mapped.
+     */
+    public static MappedInstruction open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int chunkCount = (int) ((fileSize + CHUNK_MASK) >>> CHUNK_SHIFT);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+                long chunkStart = (long) chunkIndex << CHUNK_SHIFT;
+                long chunkSize = Math.min(1L << CHUNK_SHIFT, fileSize - chunkStart);
+                chunks[chunkIndex] = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkSize);
+            }
+            long commandCount = fileSize;
+            while (commandCount > 0 && Character.isWhitespace(byteAt(chunks, commandCount - 1))) {
+                commandCount -= 1;
+            }
+            return new MappedInstruction(chunks, commandCount);
+        }
+    }
+
+    /**
+     * Gets the number of commands in the file, which may be more than an int can hold.
+     *
+     * @return the number of commands.
+     */
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Gets the offset of the next command to be returned by {@link #nextCommand()}.
+     *
+     * @return the position of the cursor.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the next command in the file and advances the cursor, validating the command as it is read.
+     *
+     * @return the next command character.
+     * @throws IndexOutOfBoundsException if there are no more commands left.
+     * @throws IllegalArgumentException  if the file holds an invalid command at the cursor.
+     */
+    @Override
+    public Character nextCommand() {
+        if (position >= commandCount) {
+            throw new IndexOutOfBoundsException("No more commands available.");
+        }
+        char command = decode(encode(Character.toUpperCase(byteAt(chunks, position))));
+        position += 1;
+        return command;
+    }
+
+    @Override
+    public boolean hasNextCommand() {
+        return position < commandCount;
+    }
+
+    @Override
+    public void skipCommands(int count) {
+        if (count < 0 || count > commandCount - position) {
+            throw new IndexOutOfBoundsException("Cannot skip " + count + " commands.");
+        }
+        position += count;
+    }
+
+    /**
+     * Returns the number of commands, for engines that read programs by index.
+     *
+     * @return the number of commands.
+     * @throws IllegalStateException if the file holds more than {@link Integer#MAX_VALUE} commands.
+     */
+    @Override
+    public int size() {
+        checkIndexable();
+        return (int) commandCount;
+    }
+
+    /**
+     * Returns the 2-bit code of the command at the given index, validating it as it is read.
+     *
+     * @param index the index of the command, starting from 0.
+     * @return {@link #FORWARD}, {@link #LEFT} or {@link #RIGHT}.
+     * @throws IndexOutOfBoundsException if the index is outside the sequence.
+     * @throws IllegalArgumentException  if the file holds an invalid command at the index.
+     * @throws IllegalStateException     if the file holds more than {@link Integer#MAX_VALUE} commands.
+     */
+    @Override
+    public int codeAt(int index) {
+        Objects.checkIndex(index, size());
+        return encode(Character.toUpperCase(byteAt(chunks, index)));
+    }
+
+    /**
+     * Checks if the file holds few enough commands to be read by index.
+     *
+     * @return true if the file holds at most {@link Integer#MAX_VALUE} commands; false otherwise.
+     */
+    @Override
+    public boolean isIndexable() {
+        return commandCount <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the position of the cursor, for engines that read programs by index.
+     *
+     * @return the current command index.
+     * @throws IllegalStateException if the cursor is past {@link Integer#MAX_VALUE}.
+     */
+    @Override
+    public int getCurrentCommandIndex() {
+        if (position > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Command index does not fit in an int: " + position);
+        }
+        return (int) position;
+    }
+
+    /**
+     * Returns the list of commands in the file.
+     *
+     * @return a copy of the list of commands.
+     * @throws IllegalStateException if the file holds more than {@link Integer#MAX_VALUE} commands.
+     */
+    @Override
+    public List<Character> getCommands() {
+        checkIndexable();
+        return super.getCommands();
+    }
+
+    /**
+     * Checks that the commands can be read by index.
+     *
+     * @throws IllegalStateException if the file holds more than {@link Integer#MAX_VALUE} commands.
+     */
+    private void checkIndexable() {
+        if (!isIndexable()) {
+            throw new IllegalStateException("Instruction file holds " + commandCount
+                    + " commands, too many to read by index.");
+        }
+    }
+
+    /**
+     * Reads a byte of the file as a character.
+     *
+     * @param chunks the mapped chunks of the file.
+     * @param index  the offset of the byte in the file.
+     * @return the character at the offset.
+     */
+    private static char byteAt(MappedByteBuffer[] chunks, long index) {
+        return (char) (chunks[(int) (index >>> CHUNK_SHIFT)].get((int) index & CHUNK_MASK) & 0xFF);
+    }
+}
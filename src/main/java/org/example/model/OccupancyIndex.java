@@ -0,0 +1,73 @@
+package org.example.model;
+
+/**
+ * Represents an index of which car occupies which cell of a board.
+ * Cars are identified by non-negative int ids so that implementations can store them in primitive arrays.
+ */
+public interface OccupancyIndex {
+
+    int EMPTY = -1;
+
+    /**
+     * Gets the id of the car at the specified position.
+     *
+     * @param x the x-coordinate of the position.
+     * @param y the y-coordinate of the position.
+     * @return the id of the car at the position, or {@link #EMPTY} if the position is free.
+     */
+    int get(int x, int y);
+
+    /**
+     * Checks if a car occupies the specified position.
+     *
+     * @param x the x-coordinate of the position.
+     * @param y the y-coordinate of the position.
+     * @return true if the position is occupied; false otherwise.
+     */
+    default boolean isOccupied(int x, int y) {
+        return get(x, y) != EMPTY;
+    }
+
+    /**
+     * Places a car at the specified position, replacing any car already recorded there.
+     *
+     * @param x     the x-coordinate of the position.
+     * @param y     the y-coordinate of the position.
+     * @param carId the id of the car, which must not be negative.
+     * @return the id of the car previously at the position, or {@link #EMPTY} if the position was free.
+     */
+    int put(int x, int y, int carId);
+
+    /**
+     * Removes the car at the specified position.
+     *
+     * @param x the x-coordinate of the position.
+     * @param y the y-coordinate of the position.
+     * @return the id of the removed car, or {@link #EMPTY} if the position was free.
+     */
+    int remove(int x, int y);
+
+    /**
+     * Moves the car recorded at one position to another position, unless the destination is already taken.
+     * If the destination is occupied, nothing changes and the occupant is reported.
+     *
+     * @param fromX the x-coordinate of the car's current position.
+     * @param fromY the y-coordinate of the car's current position.
+     * @param toX   the x-coordinate of the destination.
+     * @param toY   the y-coordinate of the destination.
+     * @return the id of the car occupying the destination, or {@link #EMPTY} if the move was made.
+     */
+    int move(int fromX, int fromY, int toX, int toY);
+
+    /**
+     * Gets the number of occupied positions.
+     *
+     * @return the number of cars in the index.
+     */
+    int size();
+
+    /**
+     * Removes every car from the index.
+     */
+    void clear();
+}
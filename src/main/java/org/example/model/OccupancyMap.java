@@ -0,0 +1,212 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents which car occupies which cell of a board, keyed by (x, y) coordinates packed into a long.
+ * The map uses open addressing with linear probing over primitive arrays, so lookups and moves neither box
+ * their keys nor allocate entry objects.
+ */
+public class OccupancyMap implements OccupancyIndex {
+
+    private static final int MINIMUM_CAPACITY = 16;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[] carIds;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Constructs an empty OccupancyMap.
+     */
+    public OccupancyMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty OccupancyMap sized to hold the expected number of cars without resizing.
+     *
+     * @param expectedSize the number of cars expected to be on the board.
+     */
+    public OccupancyMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    @Override
+    public int get(int x, int y) {
+        long key = pack(x, y);
+        int slot = indexFor(key);
+        while (carIds[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return carIds[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    @Override
+    public int put(int x, int y, int carId) {
+        ensureCapacityForInsert();
+        long key = pack(x, y);
+        int slot = findSlot(key);
+        int previousCarId = carIds[slot];
+        keys[slot] = key;
+        carIds[slot] = carId;
+        if (previousCarId == EMPTY) {
+            size += 1;
+        }
+        return previousCarId;
+    }
+
+    @Override
+    public int remove(int x, int y) {
+        int slot = findSlot(pack(x, y));
+        int removedCarId = carIds[slot];
+        if (removedCarId != EMPTY) {
+            deleteSlot(slot);
+        }
+        return removedCarId;
+    }
+
+    @Override
+    public int move(int fromX, int fromY, int toX, int toY) {
+        ensureCapacityForInsert();
+        long toKey = pack(toX, toY);
+        int toSlot = findSlot(toKey);
+        if (carIds[toSlot] != EMPTY) {
+            return carIds[toSlot];
+        }
+        int fromSlot = findSlot(pack(fromX, fromY));
+        int carId = carIds[fromSlot];
+        if (carId == EMPTY) {
+            throw new IllegalStateException("No car at " + fromX + " " + fromY);
+        }
+        keys[toSlot] = toKey;
+        carIds[toSlot] = carId;
+        size += 1;
+        // Deletes after inserting so that the backward shift cannot leave the destination unreachable
+        deleteSlot(fromSlot);
+        return EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(carIds, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Returns the slot holding the key, or the free slot where the key would be inserted.
+     *
+     * @param key the packed coordinates.
+     * @return the slot index.
+     */
+    private int findSlot(long key) {
+        int slot = indexFor(key);
+        while (carIds[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Frees a slot and shifts later entries of the same probe run back, so that no tombstones are needed.
+     *
+     * @param slot the slot to free.
+     */
+    private void deleteSlot(int slot) {
+        int freeSlot = slot;
+        int nextSlot = (freeSlot + 1) & mask;
+        while (carIds[nextSlot] != EMPTY) {
+            int homeSlot = indexFor(keys[nextSlot]);
+            // Moves the entry back only if its home slot does not lie cyclically between the free and next slots
+            if (((nextSlot - homeSlot) & mask) >= ((nextSlot - freeSlot) & mask)) {
+                keys[freeSlot] = keys[nextSlot];
+                carIds[freeSlot] = carIds[nextSlot];
+                freeSlot = nextSlot;
+            }
+            nextSlot = (nextSlot + 1) & mask;
+        }
+        carIds[freeSlot] = EMPTY;
+        size -= 1;
+    }
+
+    /**
+     * Doubles the table if one more insertion would exceed the load factor.
+     */
+    private void ensureCapacityForInsert() {
+        if (size < resizeThreshold) {
+            return;
+        }
+        long[] oldKeys = keys;
+        int[] oldCarIds = carIds;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldCarIds[slot] != EMPTY) {
+                int newSlot = findSlot(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                carIds[newSlot] = oldCarIds[slot];
+                size += 1;
+            }
+        }
+    }
+
+    /**
+     * Allocates empty tables of the given power-of-two capacity.
+     *
+     * @param capacity the number of slots.
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        carIds = new int[capacity];
+        Arrays.fill(carIds, EMPTY);
+        mask = capacity - 1;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        size = 0;
+        resizeThreshold = capacity / 2;
+    }
+
+    /**
+     * Returns the home slot of a key using Fibonacci hashing.
+     *
+     * @param key the packed coordinates.
+     * @return the home slot index.
+     */
+    private int indexFor(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    /**
+     * Returns the smallest power-of-two table size that keeps the expected size under half load.
+     *
+     * @param expectedSize the number of expected entries.
+     * @return the table size.
+     */
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity / 2 <= expectedSize && capacity < (1 << 30)) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * Packs a pair of coordinates into a single key.
+     *
+     * @param x the x-coordinate.
+     * @param y the y-coordinate.
+     * @return the packed key.
+     */
+    private static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
@@ -1,7 +1,5 @@
 package org.example.model;
 
-import java.util.Objects;
-
 /**
  * Represents a position on a 2D grid with x and y coordinates.
  * This class provides methods to move the position in a specified direction
@@ -96,7 +94,7 @@ public class Position {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(xCoordinate, yCoordinate);
+        return 31 * xCoordinate + yCoordinate;
     }
 
     /**
@@ -0,0 +1,77 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a complete simulation input: the part to run, the board, and the cars with their instructions.
+ * Part 1 scenarios hold exactly one car, Part 2 scenarios hold any number of cars.
+ */
+public class Scenario {
+
+    private final PartSelection partSelection;
+    private final Board board;
+    private final List<CarInstructionPair> carInstructionPairs;
+
+    /**
+     * Constructs a Scenario with the specified part, board and cars.
+     *
+     * @param partSelection       the part to run, either {@link PartSelection#ONE} or {@link PartSelection#TWO}.
+     * @param board               the board on which the cars are simulated.
+     * @param carInstructionPairs the cars and their instructions, in the order they are added.
+     * @throws IllegalArgumentException if the part is not runnable or a Part 1 scenario does not have exactly one car.
+     */
+    public Scenario(PartSelection partSelection, Board board, List<CarInstructionPair> carInstructionPairs) {
+        if (partSelection == PartSelection.EXIT) {
+            throw new IllegalArgumentException("Invalid part: " + partSelection);
+        }
+        if (partSelection == PartSelection.ONE && carInstructionPairs.size() != 1) {
+            throw new IllegalArgumentException("Part 1 needs exactly one car, got " + carInstructionPairs.size());
+        }
+        this.partSelection = partSelection;
+        this.board = board;
+        this.carInstructionPairs = Collections.unmodifiableList(new ArrayList<>(carInstructionPairs));
+    }
+
+    /**
+     * Gets the part this scenario runs.
+     *
+     * @return the part selection.
+     */
+    public PartSelection getPartSelection() {
+        return partSelection;
+    }
+
+    /**
+     * Gets the board of this scenario.
+     *
+     * @return the board.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the cars and their instructions.
+     *
+     * @return an unmodifiable list of the cars and their instructions.
+     */
+    public List<CarInstructionPair> getCarInstructionPairs() {
+        return carInstructionPairs;
+    }
+
+    /**
+     * Estimates the cost of running this scenario as the longest instruction times the number of cars,
+     * which is the number of car steps a multi-car simulation may execute.
+     *
+     * @return the estimated cost, at least 1.
+     */
+    public long getEstimatedCost() {
+        long longestInstruction = 0;
+        for (CarInstructionPair carInstructionPair : carInstructionPairs) {
+            longestInstruction = Math.max(longestInstruction, carInstructionPair.getInstruction().size());
+        }
+        return Math.max(1, longestInstruction * carInstructionPairs.size());
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Represents an instruction whose commands arrive while it is being executed, for example from a live feed.
+ * Commands are kept in a bounded ring buffer, so an endless stream runs in constant memory. A producer blocks in
+ * {@link #put(char)} while the buffer is full, and the simulation blocks in {@link #hasNextCommand()} while it is
+ * empty, until the producer adds a command or calls {@link #close()} to end the stream.
+ * <p>
+ * Executed commands are discarded, so only the commands still in the buffer can be read with {@link #codeAt(int)}.
+ * A streaming instruction is therefore not {@linkplain #isIndexable() indexable}: engines that read the program by
+ * index, such as {@code FleetSimulation} or {@code CommandRuns}, reject it, while {@code Simulation.runCommands()}
+ * and {@code SimulateMultipleCars} pull one command at a time and work with either.
+ */
+public class StreamingInstruction extends Instruction {
+
+    private final byte[] buffer;
+    private final int mask;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+    private long consumedCount;
+    private long producedCount;
+    private boolean isClosed;
+
+    /**
+     * Constructs an empty StreamingInstruction with a buffer of at least the given capacity.
+     *
+     * @param capacity the number of commands the buffer can hold before the producer is blocked.
+     * @throws IllegalArgumentException if the capacity is not positive or too large.
+     */
+    public StreamingInstruction(int capacity) {
+        super(0);
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new byte[size];
+        this.mask = size - 1;
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.notFull = lock.newCondition();
+        this.consumedCount = 0;
+        this.producedCount = 0;
+        this.isClosed = false;
+    }
+
+    /**
+     * Adds a command to the end of the stream, waiting while the buffer is full.
+     * Lowercase commands are accepted in the same way as typed instructions.
+     *
+     * @param command the command to add.
+     * @throws InterruptedException     if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if the command is not one of the allowed commands.
+     * @throws IllegalStateException    if the stream has been closed, including while waiting for room.
+     */
+    public void put(char command) throws InterruptedException {
+        byte code = (byte) encode(Character.toUpperCase(command));
+        lock.lockInterruptibly();
+        try {
+            while (!isClosed && producedCount - consumedCount == buffer.length) {
+                notFull.await();
+            }
+            if (isClosed) {
+                throw new IllegalStateException("The command stream is closed.");
+            }
+            buffer[(int) producedCount & mask] = code;
+            producedCount += 1;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds every command of a sequence to the end of the stream, waiting whenever the buffer is full.
+     *
+     * @param commandSequence the commands to add.
+     * @throws InterruptedException     if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if the sequence contains a command that is not allowed, in which case the
+     *                                  commands before it have already been added.
+     * @throws IllegalStateException    if the stream has been closed.
+     */
+    public void putAll(CharSequence commandSequence) throws InterruptedException {
+        for (int index = 0; index < commandSequence.length(); index++) {
+            put(commandSequence.charAt(index));
+        }
+    }
+
+    /**
+     * Ends the stream. Commands already in the buffer are still executed, after which
+     * {@link #hasNextCommand()} returns false. A producer waiting for room in the buffer is woken and fails, so it
+     * is not left blocked once the simulation stops consuming.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            isClosed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if there are more commands left in the stream, waiting until a command arrives or the stream is closed.
+     * If the thread is interrupted while waiting, the stream is treated as ended and the interrupt is kept.
+     *
+     * @return true if there are more commands; false if the stream is closed and every command was executed.
+     */
+    @Override
+    public boolean hasNextCommand() {
+        lock.lock();
+        try {
+            while (producedCount == consumedCount && !isClosed) {
+                notEmpty.await();
+            }
+            return producedCount > consumedCount;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the next command in the stream, waiting for it if needed, and frees its place in the buffer.
+     *
+     * @return the next command character.
+     * @throws IndexOutOfBoundsException if the stream is closed and every command was executed.
+     */
+    @Override
+    public Character nextCommand() {
+        lock.lock();
+        try {
+            if (!hasNextCommand()) {
+                throw new IndexOutOfBoundsException("No more commands available.");
+            }
+            char command = decode(buffer[(int) consumedCount & mask]);
+            consumedCount += 1;
+            notFull.signalAll();
+            return command;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Skips over commands without returning them, waiting for them to arrive if needed.
+     *
+     * @param count the number of commands to skip.
+     * @throws IndexOutOfBoundsException if the stream ends before {@code count} commands.
+     */
+    @Override
+    public void skipCommands(int count) {
+        if (count < 0) {
+            throw new IndexOutOfBoundsException("Cannot skip " + count + " commands.");
+        }
+        for (int skipped = 0; skipped < count; skipped++) {
+            nextCommand();
+        }
+    }
+
+    /**
+     * Returns the number of commands received so far, including those already executed.
+     *
+     * @return the number of commands received.
+     */
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return (int) Math.min(producedCount, Integer.MAX_VALUE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the 2-bit code of a command that is still in the buffer, without executing it.
+     *
+     * @param index the index of the command in the whole stream, starting from 0.
+     * @return {@link #FORWARD}, {@link #LEFT} or {@link #RIGHT}.
+     * @throws IndexOutOfBoundsException if the command has already been executed or has not arrived yet.
+     */
+    @Override
+    public int codeAt(int index) {
+        lock.lock();
+        try {
+            if (index < consumedCount || index >= producedCount) {
+                throw new IndexOutOfBoundsException("Command " + index + " is not in the buffer.");
+            }
+            return buffer[index & mask];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of commands executed so far, which is the index of the next command in the stream.
+     *
+     * @return the current command index.
+     */
+    @Override
+    public int getCurrentCommandIndex() {
+        lock.lock();
+        try {
+            return (int) Math.min(consumedCount, Integer.MAX_VALUE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns false, since executed commands are discarded and later commands have not arrived yet.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isIndexable() {
+        return false;
+    }
+
+    /**
+     * Returns the commands that have arrived but not been executed yet, since executed commands are discarded.
+     *
+     * @return a copy of the list of buffered commands, in stream order.
+     */
+    @Override
+    public List<Character> getCommands() {
+        lock.lock();
+        try {
+            List<Character> commandList = new ArrayList<>((int) (producedCount - consumedCount));
+            for (long index = consumedCount; index < producedCount; index++) {
+                commandList.add(decode(buffer[(int) index & mask]));
+            }
+            return commandList;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
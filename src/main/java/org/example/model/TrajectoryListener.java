@@ -0,0 +1,20 @@
+package org.example.model;
+
+/**
+ * Represents a receiver of the state of each car after every step it executes.
+ * States are passed as primitives, so engines can report every step without creating any objects.
+ */
+public interface TrajectoryListener {
+
+    /**
+     * Receives the state of a car after a step.
+     * Within a step, cars are reported in the order they were added, and steps are reported in increasing order.
+     *
+     * @param carId     the id of the car, in the order the cars were added.
+     * @param step      the step that was just executed, starting from 1.
+     * @param x         the x-coordinate of the car.
+     * @param y         the y-coordinate of the car.
+     * @param direction the ordinal of the direction the car is facing.
+     */
+    void recordStep(int carId, int step, int x, int y, int direction);
+}
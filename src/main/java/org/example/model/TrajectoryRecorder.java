@@ -0,0 +1,209 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a recorder of the states cars pass through during a simulation, kept in preallocated primitive ring
+ * buffers. Once the buffers are full, the oldest samples are overwritten, so memory stays fixed however long the
+ * simulation runs.
+ * <p>
+ * Each car is sampled either every k steps or only on the steps where its direction changes. A default applies to
+ * every car and can be overridden for single cars with {@link #setSamplingInterval(int, int)}.
+ */
+public class TrajectoryRecorder implements TrajectoryListener {
+
+    /**
+     * Is the sampling interval that records a car only when its direction changes.
+     */
+    public static final int DIRECTION_CHANGES = 0;
+
+    private static final int INITIAL_CAR_CAPACITY = 16;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int[] carIds;
+    private final int[] steps;
+    private final int[] xCoordinates;
+    private final int[] yCoordinates;
+    private final byte[] directions;
+    private final int defaultInterval;
+    private int[] carIntervals;
+    private byte[] lastDirections;
+    private long recordedCount;
+
+    /**
+     * Constructs a TrajectoryRecorder that samples every car with the same interval.
+     *
+     * @param capacity        the number of samples kept before the oldest are overwritten.
+     * @param defaultInterval the number of steps between samples, or {@link #DIRECTION_CHANGES}.
+     * @throws IllegalArgumentException if the capacity is not positive or the interval is negative.
+     */
+    public TrajectoryRecorder(int capacity, int defaultInterval) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        checkInterval(defaultInterval);
+        this.carIds = new int[capacity];
+        this.steps = new int[capacity];
+        this.xCoordinates = new int[capacity];
+        this.yCoordinates = new int[capacity];
+        this.directions = new byte[capacity];
+        this.defaultInterval = defaultInterval;
+        this.carIntervals = new int[0];
+        this.lastDirections = new byte[0];
+        this.recordedCount = 0;
+    }
+
+    /**
+     * Sets the sampling interval of a single car, overriding the default.
+     *
+     * @param carId    the id of the car, in the order the cars were added.
+     * @param interval the number of steps between samples, or {@link #DIRECTION_CHANGES}.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    public void setSamplingInterval(int carId, int interval) {
+        checkInterval(interval);
+        ensureCarCapacity(carId);
+        // Intervals are stored shifted by one so that 0 can mean "use the default"
+        carIntervals[carId] = interval + 1;
+    }
+
+    @Override
+    public void recordStep(int carId, int step, int x, int y, int direction) {
+        if (carId >= lastDirections.length) {
+            ensureCarCapacity(carId);
+        }
+        int interval = carIntervals[carId] == 0 ? defaultInterval : carIntervals[carId] - 1;
+        boolean isSampled = interval == DIRECTION_CHANGES
+                ? lastDirections[carId] - 1 != direction
+                : step % interval == 0;
+        // Directions are stored shifted by one so that 0 can mean "not recorded yet"
+        lastDirections[carId] = (byte) (direction + 1);
+        if (!isSampled) {
+            return;
+        }
+        int slot = (int) (recordedCount % carIds.length);
+        carIds[slot] = carId;
+        steps[slot] = step;
+        xCoordinates[slot] = x;
+        yCoordinates[slot] = y;
+        directions[slot] = (byte) direction;
+        recordedCount += 1;
+    }
+
+    /**
+     * Gets the number of samples currently kept.
+     *
+     * @return the number of samples, at most the capacity.
+     */
+    public int size() {
+        return (int) Math.min(recordedCount, carIds.length);
+    }
+
+    /**
+     * Gets the number of samples that were overwritten because the buffers were full.
+     *
+     * @return the number of lost samples.
+     */
+    public long getOverwrittenCount() {
+        return recordedCount - size();
+    }
+
+    /**
+     * Gets the id of the car of a sample.
+     *
+     * @param index the index of the sample, from 0 for the oldest kept sample.
+     * @return the id of the car.
+     */
+    public int getCarId(int index) {
+        return carIds[toSlot(index)];
+    }
+
+    /**
+     * Gets the step of a sample.
+     *
+     * @param index the index of the sample, from 0 for the oldest kept sample.
+     * @return the step, starting from 1.
+     */
+    public int getStep(int index) {
+        return steps[toSlot(index)];
+    }
+
+    /**
+     * Gets the x-coordinate of a sample.
+     *
+     * @param index the index of the sample, from 0 for the oldest kept sample.
+     * @return the x-coordinate.
+     */
+    public int getX(int index) {
+        return xCoordinates[toSlot(index)];
+    }
+
+    /**
+     * Gets the y-coordinate of a sample.
+     *
+     * @param index the index of the sample, from 0 for the oldest kept sample.
+     * @return the y-coordinate.
+     */
+    public int getY(int index) {
+        return yCoordinates[toSlot(index)];
+    }
+
+    /**
+     * Gets the direction of a sample.
+     *
+     * @param index the index of the sample, from 0 for the oldest kept sample.
+     * @return the direction.
+     */
+    public Direction getDirection(int index) {
+        return DIRECTIONS[directions[toSlot(index)]];
+    }
+
+    /**
+     * Removes every sample and forgets the last direction of every car, keeping the buffers and intervals.
+     */
+    public void clear() {
+        recordedCount = 0;
+        Arrays.fill(lastDirections, (byte) 0);
+    }
+
+    /**
+     * Converts the index of a kept sample to its slot in the ring buffers.
+     *
+     * @param index the index of the sample, from 0 for the oldest kept sample.
+     * @return the slot of the sample.
+     * @throws IndexOutOfBoundsException if no sample is kept at the index.
+     */
+    private int toSlot(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid sample index: " + index);
+        }
+        return (int) ((recordedCount - size + index) % carIds.length);
+    }
+
+    /**
+     * Grows the per-car arrays so that they hold the given car.
+     *
+     * @param carId the id of the car.
+     */
+    private void ensureCarCapacity(int carId) {
+        if (carId < lastDirections.length) {
+            return;
+        }
+        int newCapacity = Math.max(INITIAL_CAR_CAPACITY, Math.max(carId + 1, lastDirections.length * 2));
+        carIntervals = Arrays.copyOf(carIntervals, newCapacity);
+        lastDirections = Arrays.copyOf(lastDirections, newCapacity);
+    }
+
+    /**
+     * Checks that a sampling interval is valid.
+     *
+     * @param interval the interval to check.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    private static void checkInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Invalid sampling interval: " + interval);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.example.model.CarInstructionPair;
+import org.example.model.PartSelection;
+import org.example.model.Scenario;
+
+/**
+ * Services class that runs many independent scenarios in parallel on a work-stealing pool.
+ * Scenarios are ordered by estimated cost and split into tasks of roughly equal cost, so that a few expensive
+ * scenarios do not leave the other workers idle. Results are returned in the order the scenarios were given.
+ */
+public class BatchRunner implements AutoCloseable {
+
+    private static final long SEQUENTIAL_COST_THRESHOLD = 1L << 16;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a BatchRunner that uses one worker per available processor.
+     */
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a BatchRunner with the specified number of workers.
+     *
+     * @param parallelism the number of worker threads.
+     */
+    public BatchRunner(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Runs every scenario and collects their results.
+     * Each scenario's instructions are executed, so a scenario should only be run once.
+     *
+     * @param scenarios the scenarios to run.
+     * @return the result of each scenario, in the same order as the scenarios.
+     */
+    public List<String> runAll(List<Scenario> scenarios) {
+        int scenarioCount = scenarios.size();
+        long[] costs = new long[scenarioCount];
+        for (int index = 0; index < scenarioCount; index++) {
+            costs[index] = scenarios.get(index).getEstimatedCost();
+        }
+        Integer[] order = new Integer[scenarioCount];
+        for (int index = 0; index < scenarioCount; index++) {
+            order[index] = index;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer index) -> costs[index]).reversed());
+
+        long[] costPrefix = new long[scenarioCount + 1];
+        for (int position = 0; position < scenarioCount; position++) {
+            costPrefix[position + 1] = costPrefix[position] + costs[order[position]];
+        }
+        String[] results = new String[scenarioCount];
+        pool.invoke(new ScenarioTask(scenarios, order, costPrefix, results, 0, scenarioCount));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Runs a single scenario on the calling thread.
+     * Part 1 scenarios run through {@link Simulation#runCommandsInRuns()}, Part 2 scenarios through
+     * {@link FleetSimulation#runCommands()}. Cars that cannot be placed are skipped, as in the interactive mode.
+     *
+     * @param scenario the scenario to run.
+     * @return the result of the scenario.
+     */
+    public static String runScenario(Scenario scenario) {
+        return runScenario(scenario, SimulationEngine.FLEET, 1);
+    }
+
+    /**
+     * Runs a single scenario, using the given engine for Part 2 scenarios.
+     * Part 1 scenarios always run through {@link Simulation#runCommandsInRuns()}.
+     *
+     * @param scenario    the scenario to run.
+     * @param engine      the engine that runs a Part 2 scenario.
+     * @param threadCount the number of worker threads for engines that run in parallel.
+     * @return the result of the scenario.
+     */
+    public static String runScenario(Scenario scenario, SimulationEngine engine, int threadCount) {
+        return runScenario(scenario, engine, threadCount, false);
+    }
+
+    /**
+     * Runs a single scenario, using the given engine for Part 2 scenarios, and optionally registers the run's
+     * {@link SimulationMetrics} with JMX for as long as it takes.
+     * Metrics are recorded by the {@link SimulationEngine#STANDARD} and {@link SimulationEngine#FLEET} engines;
+     * other engines and Part 1 scenarios run without them.
+     *
+     * @param scenario    the scenario to run.
+     * @param engine      the engine that runs a Part 2 scenario.
+     * @param threadCount the number of worker threads for engines that run in parallel.
+     * @param isMonitored whether the run's metrics are registered, so it can be watched with a JMX client.
+     * @return the result of the scenario.
+     */
+    public static String runScenario(Scenario scenario, SimulationEngine engine, int threadCount,
+            boolean isMonitored) {
+        List<CarInstructionPair> carInstructionPairs = scenario.getCarInstructionPairs();
+        if (scenario.getPartSelection() == PartSelection.ONE) {
+            CarInstructionPair carInstructionPair = carInstructionPairs.get(0);
+            Simulation simulation = new Simulation(scenario.getBoard(), carInstructionPair.getCar(),
+                    carInstructionPair.getInstruction());
+            return simulation.runCommandsInRuns();
+        }
+        switch (engine) {
+        case STANDARD:
+            SimulateMultipleCars simulateMultipleCars = new SimulateMultipleCars(scenario.getBoard());
+            for (CarInstructionPair carInstructionPair : carInstructionPairs) {
+                simulateMultipleCars.addCarInstructionPair(carInstructionPair.getCar(),
+                        carInstructionPair.getInstruction());
+            }
+            try (SimulationMetrics metrics = registerMetrics("SimulateMultipleCars", isMonitored)) {
+                simulateMultipleCars.setMetrics(metrics);
+                return simulateMultipleCars.runCommands();
+            }
+        case FLEET:
+            FleetSimulation fleetSimulation = new FleetSimulation(scenario.getBoard());
+            for (CarInstructionPair carInstructionPair : carInstructionPairs) {
+                fleetSimulation.addCarInstructionPair(carInstructionPair.getCar(), carInstructionPair.getInstruction());
+            }
+            try (SimulationMetrics metrics = registerMetrics("FleetSimulation", isMonitored)) {
+                fleetSimulation.setMetrics(metrics);
+                return fleetSimulation.runCommands();
+            }
+        case SEGMENT:
+            SegmentFleetSimulation segmentFleetSimulation = new SegmentFleetSimulation(scenario.getBoard());
+            for (CarInstructionPair carInstructionPair : carInstructionPairs) {
+                segmentFleetSimulation.addCarInstructionPair(carInstructionPair.getCar(),
+                        carInstructionPair.getInstruction());
+            }
+            return segmentFleetSimulation.runCommands();
+        case TILED:
+            try (TiledFleetSimulation tiledFleetSimulation = new TiledFleetSimulation(scenario.getBoard(),
+                    threadCount, threadCount, threadCount)) {
+                for (CarInstructionPair carInstructionPair : carInstructionPairs) {
+                    tiledFleetSimulation.addCarInstructionPair(carInstructionPair.getCar(),
+                            carInstructionPair.getInstruction());
+                }
+                return tiledFleetSimulation.runCommands();
+            }
+        default:
+            throw new IllegalArgumentException("Invalid engine: " + engine);
+        }
+    }
+
+    /**
+     * Registers the metrics of a run if it is monitored.
+     *
+     * @param engineName  the name of the engine running the scenario.
+     * @param isMonitored whether the run is monitored.
+     * @return the registered metrics, or null if the run is not monitored.
+     */
+    private static SimulationMetrics registerMetrics(String engineName, boolean isMonitored) {
+        return isMonitored ? SimulationMetrics.register(engineName) : null;
+    }
+
+    /**
+     * Shuts down the worker threads once submitted work has finished.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Represents a range of scenarios, in cost order, that is either run directly or split in two halves of
+     * roughly equal cost.
+     */
+    @SuppressWarnings("serial")
+    private static class ScenarioTask extends RecursiveAction {
+
+        private final List<Scenario> scenarios;
+        private final Integer[] order;
+        private final long[] costPrefix;
+        private final String[] results;
+        private final int start;
+        private final int end;
+
+        ScenarioTask(List<Scenario> scenarios, Integer[] order, long[] costPrefix, String[] results, int start,
+                int end) {
+            this.scenarios = scenarios;
+            this.order = order;
+            this.costPrefix = costPrefix;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1 || costPrefix[end] - costPrefix[start] <= SEQUENTIAL_COST_THRESHOLD) {
+                for (int position = start; position < end; position++) {
+                    int index = order[position];
+                    results[index] = runScenario(scenarios.get(index));
+                }
+                return;
+            }
+            int middle = findCostMiddle();
+            invokeAll(new ScenarioTask(scenarios, order, costPrefix, results, start, middle),
+                    new ScenarioTask(scenarios, order, costPrefix, results, middle, end));
+        }
+
+        /**
+         * Finds the split point that divides the range's cost most evenly, keeping both halves non-empty.
+         *
+         * @return the first position of the second half.
+         */
+        private int findCostMiddle() {
+            long halfCost = (costPrefix[start] + costPrefix[end]) / 2;
+            int index = Arrays.binarySearch(costPrefix, start + 1, end, halfCost);
+            int middle = index >= 0 ? index : -index - 1;
+            return Math.max(start + 1, Math.min(end - 1, middle));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Represents a Java Flight Recorder event for a collision found by a simulation engine.
+ */
+@Name("org.example.Collision")
+@Label("Collision")
+@Category("Car Simulation")
+@Description("A car moved into a cell held by another car.")
+@StackTrace(false)
+class CollisionEvent extends Event {
+
+    @Label("Engine")
+    private String engine;
+
+    @Label("First Car")
+    @Description("The id of the car that held the cell.")
+    private int firstCarId;
+
+    @Label("Second Car")
+    @Description("The id of the car that moved into the cell.")
+    private int secondCarId;
+
+    @Label("X")
+    private int x;
+
+    @Label("Y")
+    private int y;
+
+    @Label("Step")
+    private int step;
+
+    /**
+     * Writes a collision event if the event is enabled.
+     *
+     * @param engine      the name of the engine.
+     * @param firstCarId  the id of the car that held the cell.
+     * @param secondCarId the id of the car that moved into the cell.
+     * @param x           the x-coordinate of the cell.
+     * @param y           the y-coordinate of the cell.
+     * @param step        the step of the collision, starting from 1.
+     */
+    static void record(String engine, int firstCarId, int secondCarId, int x, int y, int step) {
+        CollisionEvent event = new CollisionEvent();
+        if (event.shouldCommit()) {
+            event.engine = engine;
+            event.firstCarId = firstCarId;
+            event.secondCarId = secondCarId;
+            event.x = x;
+            event.y = y;
+            event.step = step;
+            event.commit();
+        }
+    }
+}
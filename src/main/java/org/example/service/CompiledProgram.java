@@ -0,0 +1,270 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CommandRuns;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.Position;
+
+/**
+ * Services class that precompiles an instruction on a board so that the state of a car after any number of
+ * commands can be found without replaying them.
+ * A run of forward moves along one axis is a clamp-and-add function of the coordinate, and such functions compose
+ * into another clamp-and-add function. The runs of the instruction are therefore kept in a segment tree whose nodes
+ * hold, for each of the four starting directions, the composed function of their whole range.
+ * A query then combines O(log n) nodes.
+ */
+public class CompiledProgram {
+
+    private static final int DIRECTION_COUNT = 4;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] X_OFFSETS = {0, 1, 0, -1};
+    private static final int[] Y_OFFSETS = {1, 0, -1, 0};
+
+    private final Board board;
+    private final CommandRuns commandRuns;
+    private final int[] runStarts;
+    private final int leafCount;
+    private final int[] rotations;
+    private final int[] xShifts;
+    private final int[] xLows;
+    private final int[] xHighs;
+    private final int[] yShifts;
+    private final int[] yLows;
+    private final int[] yHighs;
+
+    /**
+     * Constructs a CompiledProgram from the runs of an instruction.
+     *
+     * @param board       the board on which the instruction is executed.
+     * @param commandRuns the runs of the instruction.
+     */
+    private CompiledProgram(Board board, CommandRuns commandRuns) {
+        this.board = board;
+        this.commandRuns = commandRuns;
+        int runCount = commandRuns.getRunCount();
+        this.runStarts = new int[runCount + 1];
+        for (int runIndex = 0; runIndex < runCount; runIndex++) {
+            runStarts[runIndex + 1] = runStarts[runIndex] + commandRuns.getLength(runIndex);
+        }
+        int size = 1;
+        while (size < runCount) {
+            size *= 2;
+        }
+        this.leafCount = size;
+        int nodeCount = 2 * size;
+        this.rotations = new int[nodeCount];
+        this.xShifts = new int[nodeCount * DIRECTION_COUNT];
+        this.xLows = new int[nodeCount * DIRECTION_COUNT];
+        this.xHighs = new int[nodeCount * DIRECTION_COUNT];
+        this.yShifts = new int[nodeCount * DIRECTION_COUNT];
+        this.yLows = new int[nodeCount * DIRECTION_COUNT];
+        this.yHighs = new int[nodeCount * DIRECTION_COUNT];
+        Arrays.fill(xHighs, board.getWidth() - 1);
+        Arrays.fill(yHighs, board.getHeight() - 1);
+        for (int runIndex = 0; runIndex < runCount; runIndex++) {
+            setLeaf(leafCount + runIndex, commandRuns.getCode(runIndex), commandRuns.getLength(runIndex));
+        }
+        for (int node = leafCount - 1; node >= 1; node--) {
+            combine(node);
+        }
+    }
+
+    /**
+     * Compiles the commands of an instruction that have not been executed yet.
+     * The instruction's current index is not moved, so the same instruction can still be executed afterwards.
+     *
+     * @param board       the board on which the instruction is executed.
+     * @param instruction the instruction to compile.
+     * @return the compiled program.
+     * @throws IllegalArgumentException if the instruction cannot be read by index.
+     */
+    public static CompiledProgram compile(Board board, Instruction instruction) {
+        return new CompiledProgram(board, CommandRuns.of(instruction));
+    }
+
+    /**
+     * Gets the number of commands in the compiled program.
+     *
+     * @return the number of commands.
+     */
+    public int getCommandCount() {
+        return runStarts[runStarts.length - 1];
+    }
+
+    /**
+     * Returns the state of a car after executing every command of the program.
+     *
+     * @param start the car in its starting state, which is not modified.
+     * @return a new car with the same name in its final state.
+     */
+    public Car finalState(Car start) {
+        return stateAfter(start, getCommandCount());
+    }
+
+    /**
+     * Returns the state of a car after executing the first {@code commandCount} commands of the program.
+     * The result is the same as running a {@link Simulation} on those commands, but takes O(log n) time.
+     *
+     * @param start        the car in its starting state, which is not modified.
+     * @param commandCount the number of commands to execute, from 0 to {@link #getCommandCount()}.
+     * @return a new car with the same name in the resulting state.
+     * @throws IllegalArgumentException  if the car does not start within the board.
+     * @throws IndexOutOfBoundsException if the number of commands is outside the program.
+     */
+    public Car stateAfter(Car start, int commandCount) {
+        Position position = start.getPosition();
+        if (!board.isWithinBounds(position.getX(), position.getY())) {
+            throw new IllegalArgumentException("Car must start within the board: " + position);
+        }
+        if (commandCount < 0 || commandCount > getCommandCount()) {
+            throw new IndexOutOfBoundsException("Invalid command count: " + commandCount);
+        }
+        // Counts the runs that are fully executed within the requested number of commands
+        int fullRunCount = Arrays.binarySearch(runStarts, commandCount);
+        if (fullRunCount < 0) {
+            fullRunCount = -fullRunCount - 2;
+        }
+
+        long[] state = {position.getX(), position.getY(), start.getDirection().ordinal()};
+        applyPrefix(fullRunCount, state);
+        int remainingCommands = commandCount - runStarts[fullRunCount];
+        if (remainingCommands > 0) {
+            applyRun(commandRuns.getCode(fullRunCount), remainingCommands, state);
+        }
+        return new Car(start.getName(), (int) state[0], (int) state[1], DIRECTIONS[(int) state[2]]);
+    }
+
+    /**
+     * Applies the first runs of the program to a state, from left to right, walking down from the root.
+     *
+     * @param runCount the number of runs to apply.
+     * @param state    the x-coordinate, y-coordinate and direction ordinal, updated in place.
+     */
+    private void applyPrefix(int runCount, long[] state) {
+        int node = 1;
+        int low = 0;
+        int high = leafCount;
+        while (runCount > low) {
+            if (runCount >= high) {
+                applyNode(node, state);
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            if (runCount <= middle) {
+                node = 2 * node;
+                high = middle;
+            } else {
+                applyNode(2 * node, state);
+                node = 2 * node + 1;
+                low = middle;
+            }
+        }
+    }
+
+    /**
+     * Applies the composed function of a node to a state.
+     *
+     * @param node  the node of the segment tree.
+     * @param state the x-coordinate, y-coordinate and direction ordinal, updated in place.
+     */
+    private void applyNode(int node, long[] state) {
+        int slot = node * DIRECTION_COUNT + (int) state[2];
+        state[0] = clamp(state[0] + xShifts[slot], xLows[slot], xHighs[slot]);
+        state[1] = clamp(state[1] + yShifts[slot], yLows[slot], yHighs[slot]);
+        state[2] = (state[2] + rotations[node]) & 3;
+    }
+
+    /**
+     * Applies part of a run directly to a state.
+     *
+     * @param code   the 2-bit code of the run's command.
+     * @param length the number of commands of the run to apply.
+     * @param state  the x-coordinate, y-coordinate and direction ordinal, updated in place.
+     */
+    private void applyRun(int code, int length, long[] state) {
+        int direction = (int) state[2];
+        switch (code) {
+        case Instruction.LEFT:
+            state[2] = (direction + 3L * (length & 3)) & 3;
+            break;
+        case Instruction.RIGHT:
+            state[2] = (direction + (long) length) & 3;
+            break;
+        case Instruction.FORWARD:
+            state[0] = clamp(state[0] + (long) X_OFFSETS[direction] * length, 0, board.getWidth() - 1);
+            state[1] = clamp(state[1] + (long) Y_OFFSETS[direction] * length, 0, board.getHeight() - 1);
+            break;
+        default:
+            throw new IllegalArgumentException("Invalid command code: " + code);
+        }
+    }
+
+    /**
+     * Sets a leaf of the segment tree to the function of a single run.
+     * Every leaf clamps to the whole board, so only its shift depends on the run.
+     *
+     * @param node   the leaf node.
+     * @param code   the 2-bit code of the run's command.
+     * @param length the length of the run.
+     */
+    private void setLeaf(int node, int code, int length) {
+        switch (code) {
+        case Instruction.LEFT:
+            rotations[node] = (3 * (length & 3)) & 3;
+            break;
+        case Instruction.RIGHT:
+            rotations[node] = length & 3;
+            break;
+        case Instruction.FORWARD:
+            for (int direction = 0; direction < DIRECTION_COUNT; direction++) {
+                xShifts[node * DIRECTION_COUNT + direction] = X_OFFSETS[direction] * length;
+                yShifts[node * DIRECTION_COUNT + direction] = Y_OFFSETS[direction] * length;
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Invalid command code: " + code);
+        }
+    }
+
+    /**
+     * Sets a node to the composition of its children, applying the left child first.
+     *
+     * @param node the inner node.
+     */
+    private void combine(int node) {
+        int left = 2 * node;
+        int right = 2 * node + 1;
+        rotations[node] = (rotations[left] + rotations[right]) & 3;
+        for (int direction = 0; direction < DIRECTION_COUNT; direction++) {
+            int slot = node * DIRECTION_COUNT + direction;
+            int leftSlot = left * DIRECTION_COUNT + direction;
+            int rightSlot = right * DIRECTION_COUNT + ((direction + rotations[left]) & 3);
+            xShifts[slot] = xShifts[leftSlot] + xShifts[rightSlot];
+            xLows[slot] = (int) clamp((long) xLows[leftSlot] + xShifts[rightSlot], xLows[rightSlot],
+                    xHighs[rightSlot]);
+            xHighs[slot] = (int) clamp((long) xHighs[leftSlot] + xShifts[rightSlot], xLows[rightSlot],
+                    xHighs[rightSlot]);
+            yShifts[slot] = yShifts[leftSlot] + yShifts[rightSlot];
+            yLows[slot] = (int) clamp((long) yLows[leftSlot] + yShifts[rightSlot], yLows[rightSlot],
+                    yHighs[rightSlot]);
+            yHighs[slot] = (int) clamp((long) yHighs[leftSlot] + yShifts[rightSlot], yLows[rightSlot],
+                    yHighs[rightSlot]);
+        }
+    }
+
+    /**
+     * Restricts a value to a closed range.
+     *
+     * @param value the value to restrict.
+     * @param low   the lowest allowed value.
+     * @param high  the highest allowed value.
+     * @return the value, moved into the range if needed.
+     */
+    private static long clamp(long value, long low, long high) {
+        return Math.max(low, Math.min(high, value));
+    }
+}
@@ -0,0 +1,663 @@
+package org.example.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CollisionListener;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.OccupancyIndex;
+import org.example.model.TrajectoryListener;
+
+/**
+ * Services class that simulates a large fleet of cars on a board, handling collisions and commands.
+ * Unlike {@link SimulateMultipleCars}, the state of every car is kept in parallel primitive arrays indexed by car id,
+ * so a step walks memory in order and does not create a new object per move.
+ * The report returned by {@link #runCommands()} and the collision rules are the same as in
+ * {@link SimulateMultipleCars}.
+ */
+public class FleetSimulation {
+
+    private static final String ENGINE_NAME = "FleetSimulation";
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int CHECKPOINT_MAGIC = 0x464C5431;
+    private static final int COMMANDS_PER_WORD = 32;
+    private static final int FROZEN_FLAG = 1;
+    private static final int HOLDS_CELL_FLAG = 2;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] X_OFFSETS = {0, 1, 0, -1};
+    private static final int[] Y_OFFSETS = {1, 0, -1, 0};
+
+    private final Board board;
+    private final OccupancyIndex carPositions;
+    private String[] names;
+    private int[] xCoordinates;
+    private int[] yCoordinates;
+    private byte[] directions;
+    private Instruction[] instructions;
+    private int[] cursors;
+    private int carCount;
+    private int[] activeCarIds;
+    private int activeCarCount;
+    private boolean[] frozenCars;
+    private boolean isScheduleStale;
+    private boolean isStoppedByCollision;
+    private int stepCount;
+    private TrajectoryListener trajectoryListener;
+    private SimulationMetrics metrics;
+    private int lookupCount;
+
+    /**
+     * Constructs a FleetSimulation object with the specified board.
+     *
+     * @param board the board on which the cars will be simulated.
+     */
+    public FleetSimulation(Board board) {
+        this(board, Board.DEFAULT_DENSE_CELL_BUDGET);
+    }
+
+    /**
+     * Constructs a FleetSimulation object with the specified board, choosing how cars' positions are indexed.
+     * Boards with at most {@code denseCellBudget} cells use a dense grid, larger boards use a hash-based index.
+     *
+     * @param board           the board on which the cars will be simulated.
+     * @param denseCellBudget the largest number of cells for which a dense grid is allocated.
+     */
+    public FleetSimulation(Board board, long denseCellBudget) {
+        this.board = board;
+        this.carPositions = board.createOccupancyIndex(denseCellBudget);
+        this.names = new String[INITIAL_CAPACITY];
+        this.xCoordinates = new int[INITIAL_CAPACITY];
+        this.yCoordinates = new int[INITIAL_CAPACITY];
+        this.directions = new byte[INITIAL_CAPACITY];
+        this.instructions = new Instruction[INITIAL_CAPACITY];
+        this.cursors = new int[INITIAL_CAPACITY];
+        this.frozenCars = new boolean[INITIAL_CAPACITY];
+        this.carCount = 0;
+        this.activeCarIds = new int[0];
+        this.activeCarCount = 0;
+        this.isScheduleStale = true;
+        this.isStoppedByCollision = false;
+        this.stepCount = 0;
+    }
+
+    /**
+     * Adds a car and its associated instructions to the simulation.
+     * Only the name, position and direction of the car are copied, so the car object itself is not updated by
+     * the simulation. The instruction is read through its own index and is not consumed.
+     *
+     * @param car         the car to be added.
+     * @param instruction the instructions to be executed by the car.
+     * @return true if the car and instructions were successfully added; false if car's position is out of bounds or
+     *         already occupied.
+     * @throws IllegalArgumentException if the instruction cannot be read by index, such as a
+     *                                  {@link org.example.model.StreamingInstruction}.
+     */
+    public boolean addCarInstructionPair(Car car, Instruction instruction) {
+        checkIndexable(instruction);
+        int x = car.getPosition().getX();
+        int y = car.getPosition().getY();
+        int direction = car.getDirection().ordinal();
+        if (!board.isWithinBounds(x, y)) {
+            return false;
+        }
+        if (carPositions.isOccupied(x, y)) {
+            return false;
+        }
+        if (!isNextPositionWithinBounds(x, y, direction)) {
+            return false;
+        }
+        ensureCapacity(carCount + 1);
+        names[carCount] = car.getName();
+        xCoordinates[carCount] = x;
+        yCoordinates[carCount] = y;
+        directions[carCount] = (byte) direction;
+        instructions[carCount] = instruction;
+        cursors[carCount] = instruction.getCurrentCommandIndex();
+        carPositions.put(x, y, carCount);
+        carCount += 1;
+        isScheduleStale = true;
+        return true;
+    }
+
+    /**
+     * Runs the simulation by executing all commands for each car until all commands are completed or a collision
+     * occurs.
+     *
+     * @return a string reporting the result of the simulation, including any collision details.
+     */
+    public String runCommands() {
+        CollisionLog collisionLog = new CollisionLog();
+        if (runCommands(CollisionPolicy.STOP, collisionLog) == 0) {
+            return "No collisions\n";
+        }
+        return names[collisionLog.getFirstCarId(0)] + " " + names[collisionLog.getSecondCarId(0)] + "\n"
+                + collisionLog.getX(0) + " " + collisionLog.getY(0) + "\n"
+                + collisionLog.getStep(0) + "\n";
+    }
+
+    /**
+     * Runs the simulation, reporting every collision to a listener instead of stopping at the first one when the
+     * policy allows it.
+     * Collisions are reported as car ids, in the order the cars were added.
+     *
+     * @param collisionPolicy   what to do with the cars involved in a collision.
+     * @param collisionListener the listener receiving each collision as it occurs.
+     * @return the number of collisions that occurred.
+     */
+    public int runCommands(CollisionPolicy collisionPolicy, CollisionListener collisionListener) {
+        return runSteps(Integer.MAX_VALUE, collisionPolicy, collisionListener);
+    }
+
+    /**
+     * Runs at most the given number of steps, continuing from where the previous run stopped.
+     * This allows a long simulation to be paused, for example to write a checkpoint, and continued later.
+     * A run that stopped at a collision under {@link CollisionPolicy#STOP} is over and cannot be continued.
+     *
+     * @param stepLimit         the largest number of steps to run.
+     * @param collisionPolicy   what to do with the cars involved in a collision.
+     * @param collisionListener the listener receiving each collision as it occurs.
+     * @return the number of collisions that occurred.
+     * @throws IllegalStateException if an earlier run stopped at a collision.
+     */
+    public int runSteps(int stepLimit, CollisionPolicy collisionPolicy, CollisionListener collisionListener) {
+        checkNotStopped();
+        if (isScheduleStale) {
+            scheduleActiveCars();
+        }
+        SimulationRunEvent runEvent = new SimulationRunEvent(ENGINE_NAME, board, carCount);
+        int firstStep = stepCount;
+        int collisionCount = 0;
+        for (int runStepCount = 0; runStepCount < stepLimit && activeCarCount > 0; runStepCount++) {
+            stepCount += 1;
+            long tickStart = metrics == null ? 0 : System.nanoTime();
+            SimulationTickEvent tickEvent = SimulationTickEvent.beginSampled(stepCount);
+            int stepCollisionCount = simulateStep(stepCount, collisionPolicy, collisionListener);
+            if (tickEvent != null) {
+                tickEvent.complete(ENGINE_NAME, stepCount, activeCarCount, stepCollisionCount);
+            }
+            if (metrics != null) {
+                metrics.recordTick(tickStart, System.nanoTime(), activeCarCount, lookupCount, carPositions.size(),
+                        stepCollisionCount);
+                lookupCount = 0;
+            }
+            collisionCount += stepCollisionCount;
+            if (stepCollisionCount > 0 && collisionPolicy == CollisionPolicy.STOP) {
+                break;
+            }
+        }
+        runEvent.complete(stepCount - firstStep, collisionCount);
+        return collisionCount;
+    }
+
+    /**
+     * Gets the number of steps run so far.
+     *
+     * @return the number of the last step run, or 0 if the simulation has not started.
+     */
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Checks if every car has either completed its commands or been frozen.
+     *
+     * @return true if running more steps would not change the simulation, or the simulation stopped at a collision;
+     *         false otherwise.
+     */
+    public boolean isFinished() {
+        if (isStoppedByCollision) {
+            return true;
+        }
+        if (isScheduleStale) {
+            scheduleActiveCars();
+        }
+        return activeCarCount == 0;
+    }
+
+    /**
+     * Writes the full state of the simulation to a stream, so that it can be continued later with
+     * {@link #readCheckpoint(InputStream)}.
+     * Cars are written one at a time and each distinct instruction is written once, so the checkpoint does not need
+     * a second copy of the fleet in memory. The stream is flushed but not closed.
+     *
+     * @param outputStream the stream to write the checkpoint to.
+     * @throws IOException           if the checkpoint cannot be written.
+     * @throws IllegalStateException if the simulation stopped at a collision, leaving the colliding car on the
+     *                               occupant's cell.
+     */
+    public void writeCheckpoint(OutputStream outputStream) throws IOException {
+        checkNotStopped();
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(CHECKPOINT_MAGIC);
+        output.writeInt(board.getWidth());
+        output.writeInt(board.getHeight());
+        output.writeInt(stepCount);
+        output.writeInt(carCount);
+
+        Map<Instruction, Integer> instructionIds = new IdentityHashMap<>();
+        for (int carId = 0; carId < carCount; carId++) {
+            Integer instructionId = instructionIds.get(instructions[carId]);
+            if (instructionId == null) {
+                // A new instruction is written inline, just before the first car that uses it
+                instructionId = instructionIds.size();
+                instructionIds.put(instructions[carId], instructionId);
+                output.writeInt(-1);
+                writeInstruction(output, instructions[carId]);
+            } else {
+                output.writeInt(instructionId);
+            }
+            int flags = frozenCars[carId] ? FROZEN_FLAG : 0;
+            if (carPositions.get(xCoordinates[carId], yCoordinates[carId]) == carId) {
+                flags |= HOLDS_CELL_FLAG;
+            }
+            writeName(output, names[carId]);
+            output.writeInt(xCoordinates[carId]);
+            output.writeInt(yCoordinates[carId]);
+            output.writeByte(directions[carId]);
+            output.writeByte(flags);
+            output.writeInt(cursors[carId]);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a simulation from a checkpoint written by {@link #writeCheckpoint(OutputStream)}.
+     * Running the returned simulation gives the same results, including step numbers, as running the original one
+     * would have.
+     *
+     * @param inputStream the stream to read the checkpoint from, which is buffered and therefore may be read past the
+     *                    end of the checkpoint, but is not closed.
+     * @return the restored simulation.
+     * @throws IOException if the checkpoint cannot be read or is not a valid checkpoint.
+     */
+    public static FleetSimulation readCheckpoint(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != CHECKPOINT_MAGIC) {
+            throw new IOException("Not a fleet checkpoint.");
+        }
+        FleetSimulation simulation = new FleetSimulation(new Board(input.readInt(), input.readInt()));
+        simulation.stepCount = input.readInt();
+        int carCount = input.readInt();
+        if (carCount < 0) {
+            throw new IOException("Invalid car count: " + carCount);
+        }
+        simulation.ensureCapacity(carCount);
+
+        Instruction[] instructionTable = new Instruction[INITIAL_CAPACITY];
+        int instructionCount = 0;
+        for (int carId = 0; carId < carCount; carId++) {
+            int instructionId = input.readInt();
+            Instruction instruction;
+            if (instructionId == -1) {
+                instruction = readInstruction(input);
+                if (instructionCount == instructionTable.length) {
+                    instructionTable = Arrays.copyOf(instructionTable, instructionCount * 2);
+                }
+                instructionTable[instructionCount] = instruction;
+                instructionCount += 1;
+            } else if (instructionId >= 0 && instructionId < instructionCount) {
+                instruction = instructionTable[instructionId];
+            } else {
+                throw new IOException("Invalid instruction id: " + instructionId);
+            }
+            simulation.names[carId] = readName(input);
+            int x = input.readInt();
+            int y = input.readInt();
+            int direction = input.readByte();
+            int flags = input.readByte();
+            int cursor = input.readInt();
+            if (!simulation.board.isWithinBounds(x, y) || direction < 0 || direction >= DIRECTIONS.length
+                    || cursor < 0 || cursor > instruction.size()) {
+                throw new IOException("Invalid state for car " + carId);
+            }
+            simulation.xCoordinates[carId] = x;
+            simulation.yCoordinates[carId] = y;
+            simulation.directions[carId] = (byte) direction;
+            simulation.instructions[carId] = instruction;
+            simulation.cursors[carId] = cursor;
+            simulation.frozenCars[carId] = (flags & FROZEN_FLAG) != 0;
+            if ((flags & HOLDS_CELL_FLAG) != 0) {
+                simulation.carPositions.put(x, y, carId);
+            }
+        }
+        simulation.carCount = carCount;
+        return simulation;
+    }
+
+    /**
+     * Sets the listener that receives the state of each car after every step it executes, such as a
+     * {@link org.example.model.TrajectoryRecorder}.
+     *
+     * @param trajectoryListener the listener, or null to stop recording.
+     */
+    public void setTrajectoryListener(TrajectoryListener trajectoryListener) {
+        this.trajectoryListener = trajectoryListener;
+    }
+
+    /**
+     * Sets the metrics that record every step, such as ones registered with JMX through
+     * {@link SimulationMetrics#register(String)}.
+     *
+     * @param metrics the metrics, or null to stop recording.
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Checks if a car was frozen after a collision.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return true if the car is frozen; false otherwise.
+     */
+    public boolean isFrozen(int carId) {
+        return frozenCars[carId];
+    }
+
+    /**
+     * Gets the number of cars in the simulation.
+     *
+     * @return the number of cars.
+     */
+    public int getCarCount() {
+        return carCount;
+    }
+
+    /**
+     * Gets the name of a car.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the name of the car.
+     */
+    public String getName(int carId) {
+        return names[carId];
+    }
+
+    /**
+     * Gets the current x-coordinate of a car.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the x-coordinate of the car.
+     */
+    public int getX(int carId) {
+        return xCoordinates[carId];
+    }
+
+    /**
+     * Gets the current y-coordinate of a car.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the y-coordinate of the car.
+     */
+    public int getY(int carId) {
+        return yCoordinates[carId];
+    }
+
+    /**
+     * Gets the direction a car is currently facing.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the direction of the car.
+     */
+    public Direction getDirection(int carId) {
+        return DIRECTIONS[directions[carId]];
+    }
+
+    /**
+     * Collects the ids of the cars that still have commands to execute, in the order the cars were added.
+     */
+    private void scheduleActiveCars() {
+        if (activeCarIds.length < carCount) {
+            activeCarIds = new int[carCount];
+        }
+        activeCarCount = 0;
+        isScheduleStale = false;
+        for (int carId = 0; carId < carCount; carId++) {
+            if (!frozenCars[carId] && cursors[carId] < instructions[carId].size()) {
+                activeCarIds[activeCarCount] = carId;
+                activeCarCount += 1;
+            }
+        }
+    }
+
+    /**
+     * Simulates a single step for the active cars, executing their next command.
+     * Cars that complete all of their commands or are frozen are removed from the active cars, keeping the others in
+     * order, so the cost of a step depends on the number of cars still running rather than the size of the fleet.
+     *
+     * @param stepCount         the number of the step, starting from 1.
+     * @param collisionPolicy   what to do with the cars involved in a collision.
+     * @param collisionListener the listener receiving each collision as it occurs.
+     * @return the number of collisions in this step.
+     */
+    private int simulateStep(int stepCount, CollisionPolicy collisionPolicy, CollisionListener collisionListener) {
+        int remainingCarCount = 0;
+        int collisionCount = 0;
+        for (int index = 0; index < activeCarCount; index++) {
+            int carId = activeCarIds[index];
+            if (frozenCars[carId]) {
+                continue;
+            }
+            Instruction instruction = instructions[carId];
+            int cursor = cursors[carId];
+            int oldX = xCoordinates[carId];
+            int oldY = yCoordinates[carId];
+            int occupantId = executeCommand(carId, instruction.codeAt(cursor));
+            cursor += 1;
+            cursors[carId] = cursor;
+            if (trajectoryListener != null) {
+                trajectoryListener.recordStep(carId, stepCount, xCoordinates[carId], yCoordinates[carId],
+                        directions[carId]);
+            }
+            if (occupantId != OccupancyIndex.EMPTY) {
+                collisionCount += 1;
+                collisionListener.onCollision(occupantId, carId, xCoordinates[carId], yCoordinates[carId], stepCount);
+                CollisionEvent.record(ENGINE_NAME, occupantId, carId, xCoordinates[carId], yCoordinates[carId],
+                        stepCount);
+                if (collisionPolicy == CollisionPolicy.STOP) {
+                    // The mover is left on the occupant's cell for the report, so the run cannot go on from here
+                    isStoppedByCollision = true;
+                    activeCarCount = 0;
+                    return collisionCount;
+                }
+                // The cell stays recorded as the occupant's, so the frozen mover no longer holds its old cell
+                carPositions.remove(oldX, oldY);
+                frozenCars[carId] = true;
+                frozenCars[occupantId] = true;
+            } else if (cursor < instruction.size()) {
+                activeCarIds[remainingCarCount] = carId;
+                remainingCarCount += 1;
+            }
+        }
+        activeCarCount = remainingCarCount;
+        return collisionCount;
+    }
+
+    /**
+     * Checks that an instruction can be read through the engine's own cursor.
+     * Package-private so that the other engines that index their programs apply the same rule.
+     *
+     * @param instruction the instruction to check.
+     * @throws IllegalArgumentException if the instruction cannot be read by index.
+     */
+    static void checkIndexable(Instruction instruction) {
+        if (!instruction.isIndexable()) {
+            throw new IllegalArgumentException("Instruction cannot be read by index: " + instruction.getClass()
+                    .getSimpleName() + "; use Simulation or SimulateMultipleCars instead.");
+        }
+    }
+
+    /**
+     * Checks that the simulation can still be run or checkpointed.
+     *
+     * @throws IllegalStateException if a run stopped at a collision.
+     */
+    private void checkNotStopped() {
+        if (isStoppedByCollision) {
+            throw new IllegalStateException("The simulation stopped at a collision in step " + stepCount);
+        }
+    }
+
+    /**
+     * Executes a given command for a car, checking for collisions when moving forward.
+     *
+     * @param carId the id of the car on which the command is executed.
+     * @param code  the 2-bit code of the command to execute.
+     * @return the id of the car it collided with, or {@link OccupancyIndex#EMPTY} if there was no collision.
+     */
+    private int executeCommand(int carId, int code) {
+        int direction = directions[carId];
+        switch (code) {
+        case Instruction.LEFT:
+            directions[carId] = (byte) ((direction + 3) & 3);
+            return OccupancyIndex.EMPTY;
+        case Instruction.RIGHT:
+            directions[carId] = (byte) ((direction + 1) & 3);
+            return OccupancyIndex.EMPTY;
+        case Instruction.FORWARD:
+            break;
+        default:
+            throw new IllegalArgumentException("Invalid command code: " + code);
+        }
+
+        int x = xCoordinates[carId];
+        int y = yCoordinates[carId];
+        if (!isNextPositionWithinBounds(x, y, direction)) {
+            return OccupancyIndex.EMPTY;
+        }
+        int nextX = x + X_OFFSETS[direction];
+        int nextY = y + Y_OFFSETS[direction];
+        lookupCount += 1;
+        int occupantId = carPositions.move(x, y, nextX, nextY);
+        xCoordinates[carId] = nextX;
+        yCoordinates[carId] = nextY;
+        return occupantId;
+    }
+
+    /**
+     * Writes the commands of an instruction, packed at 2 bits each.
+     *
+     * @param output      the stream to write to.
+     * @param instruction the instruction to write.
+     * @throws IOException if the instruction cannot be written.
+     */
+    private static void writeInstruction(DataOutputStream output, Instruction instruction) throws IOException {
+        int size = instruction.size();
+        output.writeInt(size);
+        for (int wordStart = 0; wordStart < size; wordStart += COMMANDS_PER_WORD) {
+            long word = 0;
+            for (int offset = 0; offset < COMMANDS_PER_WORD && wordStart + offset < size; offset++) {
+                word |= (long) instruction.codeAt(wordStart + offset) << (offset << 1);
+            }
+            output.writeLong(word);
+        }
+    }
+
+    /**
+     * Writes the name of a car as a presence flag followed by its length and UTF-8 bytes, so that cars without a
+     * name and names of any length can be written.
+     *
+     * @param output the stream to write to.
+     * @param name   the name, or null.
+     * @throws IOException if the name cannot be written.
+     */
+    private static void writeName(DataOutputStream output, String name) throws IOException {
+        output.writeBoolean(name != null);
+        if (name != null) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Reads the name of a car written by {@link #writeName(DataOutputStream, String)}.
+     *
+     * @param input the stream to read from.
+     * @return the name, or null if the car has no name.
+     * @throws IOException if the name cannot be read.
+     */
+    private static String readName(DataInputStream input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid name length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the commands of an instruction written by {@link #writeInstruction(DataOutputStream, Instruction)}.
+     *
+     * @param input the stream to read from.
+     * @return the instruction, with its index at the first command.
+     * @throws IOException if the instruction cannot be read or holds an invalid command.
+     */
+    private static Instruction readInstruction(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid instruction size: " + size);
+        }
+        char[] commands = new char[size];
+        for (int wordStart = 0; wordStart < size; wordStart += COMMANDS_PER_WORD) {
+            long word = input.readLong();
+            for (int offset = 0; offset < COMMANDS_PER_WORD && wordStart + offset < size; offset++) {
+                int code = (int) (word >>> (offset << 1)) & 3;
+                if (code > Instruction.RIGHT) {
+                    throw new IOException("Invalid command code: " + code);
+                }
+                commands[wordStart + offset] = Instruction.decode(code);
+            }
+        }
+        return new Instruction(new String(commands));
+    }
+
+    /**
+     * Validates whether the next position of a car facing the given direction is within the board's boundaries.
+     *
+     * @param x         the x-coordinate of the car.
+     * @param y         the y-coordinate of the car.
+     * @param direction the ordinal of the direction the car is facing.
+     * @return true if the next position is within bounds; false otherwise.
+     */
+    private boolean isNextPositionWithinBounds(int x, int y, int direction) {
+        return board.isWithinBounds(x + X_OFFSETS[direction], y + Y_OFFSETS[direction]);
+    }
+
+    /**
+     * Grows the per-car arrays so that they can hold at least the given number of cars.
+     *
+     * @param requiredCapacity the number of cars that must fit.
+     */
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity <= names.length) {
+            return;
+        }
+        int newCapacity = Math.max(requiredCapacity, names.length * 2);
+        names = Arrays.copyOf(names, newCapacity);
+        xCoordinates = Arrays.copyOf(xCoordinates, newCapacity);
+        yCoordinates = Arrays.copyOf(yCoordinates, newCapacity);
+        directions = Arrays.copyOf(directions, newCapacity);
+        instructions = Arrays.copyOf(instructions, newCapacity);
+        cursors = Arrays.copyOf(cursors, newCapacity);
+        frozenCars = Arrays.copyOf(frozenCars, newCapacity);
+    }
+}
@@ -0,0 +1,290 @@
+package org.example.service;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CarInstructionPair;
+import org.example.model.Instruction;
+import org.example.model.Scenario;
+
+/**
+ * Represents a cache of scenario results, so that a scenario that was already run is answered without simulating it
+ * again. Results are kept in least recently used order and evicted once either the number of entries or their
+ * estimated size in bytes goes over its bound.
+ * <p>
+ * A scenario is keyed by a SHA-256 hash of a canonical encoding of its part, board and, in order, each car's name,
+ * starting position, direction and commands. Only the 32-byte hash is kept, not the scenario. The engine is not part
+ * of the key, as every engine gives the same result for the same scenario.
+ * <p>
+ * The cache is safe to use from many threads. Scenarios are run outside the lock, so two threads that miss on the
+ * same scenario at once both run it.
+ */
+public class ResultCache implements ResultCacheMBean, AutoCloseable {
+
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 10_000;
+    public static final long DEFAULT_MAXIMUM_BYTES = 64L << 20;
+
+    // Covers the map entry, the key buffer and hash, and the result string's header; the ASCII characters of the
+    // result take one byte each on top of this
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    private static final int ENCODING_BUFFER_SIZE = 1 << 12;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final AtomicLong CACHE_COUNTER = new AtomicLong();
+
+    private final int maximumEntries;
+    private final long maximumBytes;
+    private final LinkedHashMap<ByteBuffer, String> results;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private long byteCount;
+    private ObjectName objectName;
+
+    /**
+     * Constructs a ResultCache that is not registered with JMX.
+     *
+     * @param maximumEntries the largest number of results kept.
+     * @param maximumBytes   the largest estimated size of the results kept, in bytes.
+     * @throws IllegalArgumentException if a bound is not positive.
+     */
+    public ResultCache(int maximumEntries, long maximumBytes) {
+        if (maximumEntries <= 0 || maximumBytes <= 0) {
+            throw new IllegalArgumentException("Invalid cache bounds: " + maximumEntries + " " + maximumBytes);
+        }
+        this.maximumEntries = maximumEntries;
+        this.maximumBytes = maximumBytes;
+        this.results = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.byteCount = 0;
+    }
+
+    /**
+     * Creates a cache and registers it with the platform MBean server, named
+     * {@code org.example:type=ResultCache,cache=<n>}.
+     *
+     * @param maximumEntries the largest number of results kept.
+     * @param maximumBytes   the largest estimated size of the results kept, in bytes.
+     * @return the registered cache, which is unregistered when closed.
+     * @throws IllegalStateException if the cache cannot be registered.
+     */
+    public static ResultCache register(int maximumEntries, long maximumBytes) {
+        ResultCache cache = new ResultCache(maximumEntries, maximumBytes);
+        try {
+            ObjectName name = new ObjectName(SimulationMetrics.DOMAIN + ":type=ResultCache,cache="
+                    + CACHE_COUNTER.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(cache, name);
+            cache.objectName = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register the result cache.", e);
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the result of a scenario from the cache, or runs it and caches the result.
+     * A scenario that fails to run is not cached.
+     *
+     * @param scenario  the scenario, whose instructions are only executed on a miss.
+     * @param simulator the function that runs a scenario, such as {@link BatchRunner#runScenario(Scenario)}.
+     * @return the result of the scenario.
+     * @throws IllegalArgumentException if an instruction of the scenario cannot be read by index.
+     */
+    public String getResult(Scenario scenario, Function<Scenario, String> simulator) {
+        ByteBuffer key = computeKey(scenario);
+        String result;
+        synchronized (this) {
+            result = results.get(key);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        result = simulator.apply(scenario);
+        put(key, result);
+        return result;
+    }
+
+    /**
+     * Removes every cached result, keeping the hit and miss counts.
+     */
+    public synchronized void clear() {
+        results.clear();
+        byteCount = 0;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long lookupCount = hitCount + misses.sum();
+        return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public synchronized int getEntryCount() {
+        return results.size();
+    }
+
+    @Override
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Unregisters the cache if it was registered, keeping its results and counts.
+     * Closing a cache that is not registered has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (objectName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            // Already unregistered by someone else
+        }
+        objectName = null;
+    }
+
+    /**
+     * Caches a result and evicts the least recently used results until the cache is within its bounds again.
+     * A result that alone is larger than the byte bound is not cached.
+     *
+     * @param key    the key of the scenario.
+     * @param result the result of the scenario.
+     */
+    private synchronized void put(ByteBuffer key, String result) {
+        long entryBytes = estimateBytes(result);
+        if (entryBytes > maximumBytes) {
+            return;
+        }
+        String previous = results.put(key, result);
+        byteCount += entryBytes;
+        if (previous != null) {
+            // Another thread ran the same scenario at the same time
+            byteCount -= estimateBytes(previous);
+        }
+        Iterator<String> eldest = results.values().iterator();
+        while (results.size() > maximumEntries || byteCount > maximumBytes) {
+            byteCount -= estimateBytes(eldest.next());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Estimates the memory held by a cached result.
+     *
+     * @param result the result.
+     * @return the estimate in bytes.
+     */
+    private static long estimateBytes(String result) {
+        return ENTRY_OVERHEAD_BYTES + result.length();
+    }
+
+    /**
+     * Computes the key of a scenario by hashing its canonical encoding. Every variable-length field is preceded by
+     * its length, and a car's name by whether it has one, so no two different scenarios have the same encoding.
+     *
+     * @param scenario the scenario.
+     * @return the SHA-256 hash, wrapped so that it can be compared by content.
+     * @throws IllegalArgumentException if an instruction cannot be read by index, such as a
+     *                                  {@link org.example.model.StreamingInstruction}.
+     */
+    private static ByteBuffer computeKey(Scenario scenario) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODING_BUFFER_SIZE);
+        Board board = scenario.getBoard();
+        List<CarInstructionPair> carInstructionPairs = scenario.getCarInstructionPairs();
+        buffer.put((byte) scenario.getPartSelection().ordinal());
+        buffer.putInt(board.getWidth());
+        buffer.putInt(board.getHeight());
+        buffer.putInt(carInstructionPairs.size());
+        for (CarInstructionPair carInstructionPair : carInstructionPairs) {
+            Car car = carInstructionPair.getCar();
+            Instruction instruction = carInstructionPair.getInstruction();
+            if (!instruction.isIndexable()) {
+                throw new IllegalArgumentException("Instruction cannot be read by index for the cache key.");
+            }
+            // Part 1 cars have no name, which is encoded apart from an empty one
+            String name = car.getName();
+            ensureRemaining(digest, buffer, 1 + Integer.BYTES);
+            buffer.put((byte) (name == null ? 0 : 1));
+            if (name != null) {
+                byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(nameBytes.length);
+                for (byte character : nameBytes) {
+                    ensureRemaining(digest, buffer, 1);
+                    buffer.put(character);
+                }
+            }
+            ensureRemaining(digest, buffer, 4 * Integer.BYTES + 1);
+            buffer.putInt(car.getPosition().getX());
+            buffer.putInt(car.getPosition().getY());
+            buffer.put((byte) car.getDirection().ordinal());
+            int commandCount = instruction.size();
+            buffer.putInt(commandCount);
+            for (int index = 0; index < commandCount; index++) {
+                ensureRemaining(digest, buffer, 1);
+                buffer.put((byte) instruction.codeAt(index));
+            }
+        }
+        buffer.flip();
+        digest.update(buffer);
+        return ByteBuffer.wrap(digest.digest());
+    }
+
+    /**
+     * Hashes and empties the encoding buffer if it does not have room for the given number of bytes.
+     *
+     * @param digest    the digest to update.
+     * @param buffer    the encoding buffer.
+     * @param byteCount the number of bytes about to be encoded, at most the buffer size.
+     */
+    private static void ensureRemaining(MessageDigest digest, ByteBuffer buffer, int byteCount) {
+        if (buffer.remaining() < byteCount) {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+    }
+}
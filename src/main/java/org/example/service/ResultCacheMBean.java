@@ -0,0 +1,49 @@
+package org.example.service;
+
+/**
+ * Represents the management interface of {@link ResultCache}, read through JMX while the cache is in use.
+ */
+public interface ResultCacheMBean {
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the number of hits.
+     */
+    long getHitCount();
+
+    /**
+     * Gets the number of lookups that had to run the scenario.
+     *
+     * @return the number of misses.
+     */
+    long getMissCount();
+
+    /**
+     * Gets the fraction of lookups answered from the cache.
+     *
+     * @return the hit ratio, or 0 before any lookup.
+     */
+    double getHitRatio();
+
+    /**
+     * Gets the number of results removed to keep the cache within its bounds.
+     *
+     * @return the number of evictions.
+     */
+    long getEvictionCount();
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the number of entries.
+     */
+    int getEntryCount();
+
+    /**
+     * Gets the estimated memory held by the cached results.
+     *
+     * @return the estimate in bytes.
+     */
+    long getByteCount();
+}
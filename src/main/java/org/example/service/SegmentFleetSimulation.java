@@ -0,0 +1,438 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CommandRuns;
+import org.example.model.Instruction;
+import org.example.model.OccupancyIndex;
+
+/**
+ * Services class that finds the first collision of a fleet without stepping through every tick.
+ * Each car's program is turned into time-stamped, axis-aligned segments: a run of 'F' commands becomes one moving
+ * segment up to the board's edge, and turns, moves blocked by the edge and the time after the last command become
+ * stationary segments. Segments are placed in coarse spatial buckets and swept in order of start time, and every
+ * pair that shares a bucket and overlaps in time is solved exactly for the earliest tick at which one car enters
+ * the other's cell.
+ * <p>
+ * The collision rule is the one of {@link SimulateMultipleCars}, where cars move one after another within a tick:
+ * a car entering a cell collides with a car added before it that ends the tick there, or with a car added after it
+ * that starts the tick there. The report is therefore the same as {@link SimulateMultipleCars#runCommands()}.
+ */
+public class SegmentFleetSimulation {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int STATIONARY = -1;
+    private static final int[] X_OFFSETS = {0, 1, 0, -1};
+    private static final int[] Y_OFFSETS = {1, 0, -1, 0};
+
+    private final Board board;
+    private final OccupancyIndex startPositions;
+    private String[] names;
+    private int[] startXCoordinates;
+    private int[] startYCoordinates;
+    private byte[] startDirections;
+    private Instruction[] instructions;
+    private int carCount;
+
+    private int segmentCount;
+    private int[] segmentCarIds;
+    private int[] segmentStarts;
+    private int[] segmentEnds;
+    private int[] segmentXCoordinates;
+    private int[] segmentYCoordinates;
+    private int[] segmentDirections;
+
+    private long earliestStep;
+    private int colliderId;
+    private int occupantId;
+    private int collisionX;
+    private int collisionY;
+
+    /**
+     * Constructs a SegmentFleetSimulation object with the specified board.
+     *
+     * @param board the board on which the cars will be simulated.
+     */
+    public SegmentFleetSimulation(Board board) {
+        this.board = board;
+        this.startPositions = board.createOccupancyIndex(Board.DEFAULT_DENSE_CELL_BUDGET);
+        this.names = new String[INITIAL_CAPACITY];
+        this.startXCoordinates = new int[INITIAL_CAPACITY];
+        this.startYCoordinates = new int[INITIAL_CAPACITY];
+        this.startDirections = new byte[INITIAL_CAPACITY];
+        this.instructions = new Instruction[INITIAL_CAPACITY];
+        this.carCount = 0;
+    }
+
+    /**
+     * Adds a car and its associated instructions to the simulation, with the same rules as
+     * {@link FleetSimulation#addCarInstructionPair(Car, Instruction)}.
+     * The instruction is read from its current index and is not consumed.
+     *
+     * @param car         the car to be added.
+     * @param instruction the instructions to be executed by the car.
+     * @return true if the car and instructions were successfully added; false if car's position is out of bounds or
+     *         already occupied.
+     * @throws IllegalArgumentException if the instruction cannot be read by index, such as a
+     *                                  {@link org.example.model.StreamingInstruction}.
+     */
+    public boolean addCarInstructionPair(Car car, Instruction instruction) {
+        FleetSimulation.checkIndexable(instruction);
+        int x = car.getPosition().getX();
+        int y = car.getPosition().getY();
+        int direction = car.getDirection().ordinal();
+        if (!board.isWithinBounds(x, y) || startPositions.isOccupied(x, y)) {
+            return false;
+        }
+        if (!board.isWithinBounds(x + X_OFFSETS[direction], y + Y_OFFSETS[direction])) {
+            return false;
+        }
+        if (carCount == names.length) {
+            int newCapacity = carCount * 2;
+            names = Arrays.copyOf(names, newCapacity);
+            startXCoordinates = Arrays.copyOf(startXCoordinates, newCapacity);
+            startYCoordinates = Arrays.copyOf(startYCoordinates, newCapacity);
+            startDirections = Arrays.copyOf(startDirections, newCapacity);
+            instructions = Arrays.copyOf(instructions, newCapacity);
+        }
+        names[carCount] = car.getName();
+        startXCoordinates[carCount] = x;
+        startYCoordinates[carCount] = y;
+        startDirections[carCount] = (byte) direction;
+        instructions[carCount] = instruction;
+        startPositions.put(x, y, carCount);
+        carCount += 1;
+        return true;
+    }
+
+    /**
+     * Runs the simulation and reports the first collision, if any.
+     *
+     * @return a string reporting the result of the simulation, in the same format as
+     *         {@link SimulateMultipleCars#runCommands()}.
+     */
+    public String runCommands() {
+        CommandRuns[] commandRuns = new CommandRuns[carCount];
+        int lastStep = 0;
+        for (int carId = 0; carId < carCount; carId++) {
+            commandRuns[carId] = CommandRuns.of(instructions[carId]);
+            lastStep = Math.max(lastStep, commandRuns[carId].getCommandCount());
+        }
+        buildSegments(commandRuns, lastStep);
+
+        earliestStep = Long.MAX_VALUE;
+        sweepBuckets();
+        if (earliestStep == Long.MAX_VALUE) {
+            return "No collisions\n";
+        }
+        return names[occupantId] + " " + names[colliderId] + "\n" + collisionX + " " + collisionY + "\n"
+                + earliestStep + "\n";
+    }
+
+    /**
+     * Gets the number of cars in the simulation.
+     *
+     * @return the number of cars.
+     */
+    public int getCarCount() {
+        return carCount;
+    }
+
+    /**
+     * Turns every car's program into segments covering every tick from 0 to the last step.
+     *
+     * @param commandRuns the runs of each car's remaining commands.
+     * @param lastStep    the step at which the longest program finishes.
+     */
+    private void buildSegments(CommandRuns[] commandRuns, int lastStep) {
+        segmentCount = 0;
+        int capacity = INITIAL_CAPACITY;
+        for (CommandRuns runs : commandRuns) {
+            capacity += 2 * runs.getRunCount() + 1;
+        }
+        segmentCarIds = new int[capacity];
+        segmentStarts = new int[capacity];
+        segmentEnds = new int[capacity];
+        segmentXCoordinates = new int[capacity];
+        segmentYCoordinates = new int[capacity];
+        segmentDirections = new int[capacity];
+
+        for (int carId = 0; carId < carCount; carId++) {
+            CommandRuns runs = commandRuns[carId];
+            int x = startXCoordinates[carId];
+            int y = startYCoordinates[carId];
+            int direction = startDirections[carId];
+            int time = 0;
+            for (int runIndex = 0; runIndex < runs.getRunCount(); runIndex++) {
+                int length = runs.getLength(runIndex);
+                int code = runs.getCode(runIndex);
+                if (code == Instruction.LEFT) {
+                    direction = (direction + 3 * (length & 3)) & 3;
+                    addStationarySegment(carId, time, time + length, x, y);
+                } else if (code == Instruction.RIGHT) {
+                    direction = (direction + length) & 3;
+                    addStationarySegment(carId, time, time + length, x, y);
+                } else {
+                    int moveCount = Math.min(length, distanceToEdge(x, y, direction));
+                    if (moveCount > 0) {
+                        addSegment(carId, time, time + moveCount, x, y, direction);
+                        x += X_OFFSETS[direction] * moveCount;
+                        y += Y_OFFSETS[direction] * moveCount;
+                    }
+                    if (moveCount < length) {
+                        addStationarySegment(carId, time + moveCount, time + length, x, y);
+                    }
+                }
+                time += length;
+            }
+            addStationarySegment(carId, time, lastStep, x, y);
+        }
+    }
+
+    /**
+     * Adds a stationary segment, extending the car's previous segment instead if it is stationary at the same
+     * position.
+     *
+     * @param carId the id of the car.
+     * @param start the first tick of the segment.
+     * @param end   the last tick of the segment.
+     * @param x     the x-coordinate of the car.
+     * @param y     the y-coordinate of the car.
+     */
+    private void addStationarySegment(int carId, int start, int end, int x, int y) {
+        int last = segmentCount - 1;
+        if (last >= 0 && segmentCarIds[last] == carId && segmentDirections[last] == STATIONARY
+                && segmentEnds[last] == start && segmentXCoordinates[last] == x && segmentYCoordinates[last] == y) {
+            segmentEnds[last] = end;
+            return;
+        }
+        addSegment(carId, start, end, x, y, STATIONARY);
+    }
+
+    /**
+     * Adds a segment in which the car is at {@code (x, y)} at tick {@code start} and moves one cell per tick in the
+     * given direction until tick {@code end}.
+     *
+     * @param carId     the id of the car.
+     * @param start     the first tick of the segment.
+     * @param end       the last tick of the segment.
+     * @param x         the x-coordinate of the car at the first tick.
+     * @param y         the y-coordinate of the car at the first tick.
+     * @param direction the ordinal of the direction of travel, or -1 if the car does not move.
+     */
+    private void addSegment(int carId, int start, int end, int x, int y, int direction) {
+        if (segmentCount == segmentCarIds.length) {
+            int newCapacity = segmentCount * 2;
+            segmentCarIds = Arrays.copyOf(segmentCarIds, newCapacity);
+            segmentStarts = Arrays.copyOf(segmentStarts, newCapacity);
+            segmentEnds = Arrays.copyOf(segmentEnds, newCapacity);
+            segmentXCoordinates = Arrays.copyOf(segmentXCoordinates, newCapacity);
+            segmentYCoordinates = Arrays.copyOf(segmentYCoordinates, newCapacity);
+            segmentDirections = Arrays.copyOf(segmentDirections, newCapacity);
+        }
+        segmentCarIds[segmentCount] = carId;
+        segmentStarts[segmentCount] = start;
+        segmentEnds[segmentCount] = end;
+        segmentXCoordinates[segmentCount] = x;
+        segmentYCoordinates[segmentCount] = y;
+        segmentDirections[segmentCount] = direction;
+        segmentCount += 1;
+    }
+
+    /**
+     * Places every segment in the square buckets it passes through, then sweeps each bucket in order of start time,
+     * solving every pair of segments whose time ranges overlap.
+     */
+    private void sweepBuckets() {
+        long cellCount = board.getCellCount();
+        int bucketSize = (int) Math.max(1, Math.ceil(Math.sqrt((double) cellCount / Math.max(1, segmentCount))));
+        int bucketColumns = (board.getWidth() + bucketSize - 1) / bucketSize;
+        int bucketRows = (board.getHeight() + bucketSize - 1) / bucketSize;
+        int bucketCount = bucketColumns * bucketRows;
+
+        // Orders the segments by start time so that every bucket is filled in that order
+        long[] startOrder = new long[segmentCount];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            startOrder[segment] = ((long) segmentStarts[segment] << 32) | segment;
+        }
+        Arrays.sort(startOrder);
+
+        int[] bucketStarts = new int[bucketCount + 1];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            forEachBucket(segment, bucketSize, bucketColumns, bucketStarts, null);
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            bucketStarts[bucket + 1] += bucketStarts[bucket];
+        }
+        int[] bucketEntries = new int[bucketStarts[bucketCount]];
+        int[] bucketFill = Arrays.copyOf(bucketStarts, bucketCount);
+        for (long orderedSegment : startOrder) {
+            forEachBucket((int) orderedSegment, bucketSize, bucketColumns, bucketFill, bucketEntries);
+        }
+
+        int[] active = new int[INITIAL_CAPACITY];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            int activeCount = 0;
+            for (int entry = bucketStarts[bucket]; entry < bucketStarts[bucket + 1]; entry++) {
+                int segment = bucketEntries[entry];
+                if (segmentStarts[segment] > earliestStep) {
+                    break;
+                }
+                // Drops segments that ended too long ago to meet this or any later segment
+                int keptCount = 0;
+                for (int index = 0; index < activeCount; index++) {
+                    if (segmentEnds[active[index]] + 1 >= segmentStarts[segment]) {
+                        solvePair(segment, active[index]);
+                        solvePair(active[index], segment);
+                        active[keptCount] = active[index];
+                        keptCount += 1;
+                    }
+                }
+                activeCount = keptCount;
+                if (activeCount == active.length) {
+                    active = Arrays.copyOf(active, activeCount * 2);
+                }
+                active[activeCount] = segment;
+                activeCount += 1;
+            }
+        }
+    }
+
+    /**
+     * Visits the buckets a segment passes through, either counting the segment in each bucket or recording it.
+     *
+     * @param segment       the segment.
+     * @param bucketSize    the width and height of a bucket in cells.
+     * @param bucketColumns the number of buckets across the board's width.
+     * @param bucketFill    the count, or the next free entry, of each bucket.
+     * @param bucketEntries the entries to record the segment in, or null to only count it.
+     */
+    private void forEachBucket(int segment, int bucketSize, int bucketColumns, int[] bucketFill,
+            int[] bucketEntries) {
+        int direction = segmentDirections[segment];
+        int length = segmentEnds[segment] - segmentStarts[segment];
+        int startX = segmentXCoordinates[segment];
+        int startY = segmentYCoordinates[segment];
+        int endX = direction == STATIONARY ? startX : startX + X_OFFSETS[direction] * length;
+        int endY = direction == STATIONARY ? startY : startY + Y_OFFSETS[direction] * length;
+        for (int bucketY = Math.min(startY, endY) / bucketSize; bucketY <= Math.max(startY, endY) / bucketSize;
+                bucketY++) {
+            for (int bucketX = Math.min(startX, endX) / bucketSize; bucketX <= Math.max(startX, endX) / bucketSize;
+                    bucketX++) {
+                int bucket = bucketY * bucketColumns + bucketX;
+                if (bucketEntries == null) {
+                    bucketFill[bucket + 1] += 1;
+                } else {
+                    bucketEntries[bucketFill[bucket]] = segment;
+                    bucketFill[bucket] += 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the earliest tick at which the car of a moving segment enters a cell held by the car of another
+     * segment, and keeps it if it comes before the earliest collision found so far.
+     *
+     * @param moverSegment the segment of the car that may enter a cell.
+     * @param otherSegment the segment of the car that may be in that cell.
+     */
+    private void solvePair(int moverSegment, int otherSegment) {
+        int moverId = segmentCarIds[moverSegment];
+        int otherId = segmentCarIds[otherSegment];
+        int moverDirection = segmentDirections[moverSegment];
+        if (moverDirection == STATIONARY || moverId == otherId) {
+            return;
+        }
+        // A car added later has not moved yet when the mover enters the cell, so its previous tick is compared
+        int delay = otherId < moverId ? 0 : 1;
+        long low = Math.max(segmentStarts[moverSegment] + 1L, (long) segmentStarts[otherSegment] + delay);
+        long high = Math.min(segmentEnds[moverSegment], (long) segmentEnds[otherSegment] + delay);
+        if (low > high || low > earliestStep) {
+            return;
+        }
+        int otherDirection = segmentDirections[otherSegment];
+        int otherXOffset = otherDirection == STATIONARY ? 0 : X_OFFSETS[otherDirection];
+        int otherYOffset = otherDirection == STATIONARY ? 0 : Y_OFFSETS[otherDirection];
+        long xSolution = solveAxis(segmentXCoordinates[moverSegment], segmentStarts[moverSegment],
+                X_OFFSETS[moverDirection], segmentXCoordinates[otherSegment],
+                (long) segmentStarts[otherSegment] + delay, otherXOffset);
+        long ySolution = solveAxis(segmentYCoordinates[moverSegment], segmentStarts[moverSegment],
+                Y_OFFSETS[moverDirection], segmentYCoordinates[otherSegment],
+                (long) segmentStarts[otherSegment] + delay, otherYOffset);
+        long step;
+        if (xSolution == Long.MIN_VALUE || ySolution == Long.MIN_VALUE) {
+            return;
+        } else if (xSolution == Long.MAX_VALUE && ySolution == Long.MAX_VALUE) {
+            step = low;
+        } else if (xSolution == Long.MAX_VALUE || ySolution == Long.MAX_VALUE) {
+            step = Math.min(xSolution, ySolution);
+        } else if (xSolution == ySolution) {
+            step = xSolution;
+        } else {
+            return;
+        }
+        if (step < low || step > high) {
+            return;
+        }
+        if (step < earliestStep || (step == earliestStep && moverId < colliderId)) {
+            earliestStep = step;
+            colliderId = moverId;
+            occupantId = otherId;
+            int travelled = (int) (step - segmentStarts[moverSegment]);
+            collisionX = segmentXCoordinates[moverSegment] + X_OFFSETS[moverDirection] * travelled;
+            collisionY = segmentYCoordinates[moverSegment] + Y_OFFSETS[moverDirection] * travelled;
+        }
+    }
+
+    /**
+     * Solves {@code moverStart + (t - moverTime) * moverOffset == otherStart + (t - otherTime) * otherOffset}
+     * for the tick t along one axis.
+     *
+     * @param moverStart  the mover's coordinate at its segment's first tick.
+     * @param moverTime   the first tick of the mover's segment.
+     * @param moverOffset the mover's change in coordinate per tick.
+     * @param otherStart  the other car's coordinate at its segment's first tick.
+     * @param otherTime   the tick at which the other car's coordinate is {@code otherStart}, shifted by the delay.
+     * @param otherOffset the other car's change in coordinate per tick.
+     * @return the only solution, {@link Long#MAX_VALUE} if every tick is a solution, or {@link Long#MIN_VALUE} if
+     *         there is none.
+     */
+    private static long solveAxis(long moverStart, long moverTime, int moverOffset, long otherStart, long otherTime,
+            int otherOffset) {
+        long coefficient = moverOffset - otherOffset;
+        long constant = moverStart - moverTime * moverOffset - otherStart + otherTime * otherOffset;
+        if (coefficient == 0) {
+            return constant == 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        if (constant % coefficient != 0) {
+            return Long.MIN_VALUE;
+        }
+        return -constant / coefficient;
+    }
+
+    /**
+     * Returns how many cells a car can move before reaching the board's edge.
+     *
+     * @param x         the x-coordinate of the car.
+     * @param y         the y-coordinate of the car.
+     * @param direction the ordinal of the direction the car is facing.
+     * @return the number of free cells ahead of the car.
+     */
+    private int distanceToEdge(int x, int y, int direction) {
+        switch (direction) {
+        case 0:
+            return board.getHeight() - 1 - y;
+        case 1:
+            return board.getWidth() - 1 - x;
+        case 2:
+            return y;
+        case 3:
+            return x;
+        default:
+            throw new IllegalArgumentException("Invalid direction: " + direction);
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package org.example.service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 
-import org.example.exception.CollisionException;
 import org.example.model.Board;
 import org.example.model.Car;
 import org.example.model.CarInstructionPair;
+import org.example.model.CollisionListener;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
 import org.example.model.Instruction;
+import org.example.model.OccupancyIndex;
 import org.example.model.Position;
+import org.example.model.TrajectoryListener;
 
 /**
  * Services class that simulates the movement of multiple cars on a board, handling collisions and commands.
  */
 public class SimulateMultipleCars {
 
+    private static final String ENGINE_NAME = "SimulateMultipleCars";
+
     private final Board board;
     private final ArrayList<CarInstructionPair> carInstructionPairs;
-    private final HashMap<Position, Car> carPositions;
+    private final OccupancyIndex carPositions;
+    private int[] activeCarIds;
+    private int activeCarCount;
+    private boolean[] frozenCars;
+    private TrajectoryListener trajectoryListener;
+    private SimulationMetrics metrics;
+    private int lookupCount;
 
     /**
      * Constructs a SimulateMultipleCars object with the specified board.
@@ -25,9 +37,23 @@ public class SimulateMultipleCars {
      * @param board the board on which the cars will be simulated.
      */
     public SimulateMultipleCars(Board board) {
+        this(board, Board.DEFAULT_DENSE_CELL_BUDGET);
+    }
+
+    /**
+     * Constructs a SimulateMultipleCars object with the specified board, choosing how cars' positions are indexed.
+     * Boards with at most {@code denseCellBudget} cells use a dense grid, larger boards use a hash-based index.
+     *
+     * @param board           the board on which the cars will be simulated.
+     * @param denseCellBudget the largest number of cells for which a dense grid is allocated.
+     */
+    public SimulateMultipleCars(Board board, long denseCellBudget) {
         this.board = board;
-        this.carPositions = new HashMap<>();
+        this.carPositions = board.createOccupancyIndex(denseCellBudget);
         this.carInstructionPairs = new ArrayList<>();
+        this.activeCarIds = new int[0];
+        this.activeCarCount = 0;
+        this.frozenCars = new boolean[0];
     }
 
     /**
@@ -35,15 +61,20 @@ public class SimulateMultipleCars {
      *
      * @param car         the car to be added.
      * @param instruction the instructions to be executed by the car.
-     * @return true if the car and instructions were successfully added; false if car's position is already occupied.
+     * @return true if the car and instructions were successfully added; false if car's position is out of bounds or
+     *         already occupied.
      */
     public boolean addCarInstructionPair(Car car, Instruction instruction) {
-        if (carPositions.containsKey(car.getPosition())) {
+        Position position = car.getPosition();
+        if (!board.isWithinBounds(position.getX(), position.getY())) {
+            return false;
+        }
+        if (carPositions.isOccupied(position.getX(), position.getY())) {
             return false;
         }
         if (checkValidPosition(car)) {
+            carPositions.put(position.getX(), position.getY(), carInstructionPairs.size());
             carInstructionPairs.add(new CarInstructionPair(car, instruction));
-            carPositions.put(car.getPosition(), car);
             return true;
         }
         return false;
@@ -56,105 +87,181 @@ public class SimulateMultipleCars {
      * @return a string reporting the result of the simulation, including any collision details.
      */
     public String runCommands() {
+        CollisionLog collisionLog = new CollisionLog();
+        if (runCommands(CollisionPolicy.STOP, collisionLog) == 0) {
+            return "No collisions\n";
+        }
+        return carInstructionPairs.get(collisionLog.getFirstCarId(0)).getCar().getName() + " "
+                + carInstructionPairs.get(collisionLog.getSecondCarId(0)).getCar().getName() + "\n"
+                + collisionLog.getX(0) + " " + collisionLog.getY(0) + "\n"
+                + collisionLog.getStep(0) + "\n";
+    }
+
+    /**
+     * Runs the simulation, reporting every collision to a listener instead of stopping at the first one when the
+     * policy allows it.
+     * Collisions are reported as car ids, which follow the order the cars were added and can be looked up with
+     * {@link #getCar(int)}.
+     *
+     * @param collisionPolicy   what to do with the cars involved in a collision.
+     * @param collisionListener the listener receiving each collision as it occurs.
+     * @return the number of collisions that occurred.
+     */
+    public int runCommands(CollisionPolicy collisionPolicy, CollisionListener collisionListener) {
+        scheduleActiveCars();
+        SimulationRunEvent runEvent = new SimulationRunEvent(ENGINE_NAME, board, carInstructionPairs.size());
         int stepCount = 0;
-        int completedCarCount = 0;
-        while (completedCarCount != carInstructionPairs.size()) {
+        int collisionCount = 0;
+        while (activeCarCount > 0) {
             stepCount += 1;
-            try {
-                completedCarCount = simulateStep();
-            } catch (CollisionException e) {
-                return e.getCollisionReport() + "\n" + stepCount + "\n";
+            long tickStart = metrics == null ? 0 : System.nanoTime();
+            SimulationTickEvent tickEvent = SimulationTickEvent.beginSampled(stepCount);
+            int stepCollisionCount = simulateStep(stepCount, collisionPolicy, collisionListener);
+            if (tickEvent != null) {
+                tickEvent.complete(ENGINE_NAME, stepCount, activeCarCount, stepCollisionCount);
+            }
+            if (metrics != null) {
+                metrics.recordTick(tickStart, System.nanoTime(), activeCarCount, lookupCount, carPositions.size(),
+                        stepCollisionCount);
+                lookupCount = 0;
+            }
+            collisionCount += stepCollisionCount;
+            if (stepCollisionCount > 0 && collisionPolicy == CollisionPolicy.STOP) {
+                break;
             }
         }
-        return "No collisions\n";
+        runEvent.complete(stepCount, collisionCount);
+        return collisionCount;
     }
 
     /**
-     * Updates the position of a car on the board.
+     * Sets the listener that receives the state of each car after every step it executes, such as a
+     * {@link org.example.model.TrajectoryRecorder}.
      *
-     * @param oldPosition the previous position of the car.
-     * @param newPosition the new position of the car.
-     * @param car         the car being moved.
+     * @param trajectoryListener the listener, or null to stop recording.
      */
-    private void updateCarPosition(Position oldPosition, Position newPosition, Car car) {
-        carPositions.remove(oldPosition);
-        carPositions.put(newPosition, car);
+    public void setTrajectoryListener(TrajectoryListener trajectoryListener) {
+        this.trajectoryListener = trajectoryListener;
     }
 
     /**
-     * Checks if there is a collision at the given position.
+     * Sets the metrics that record every step, such as ones registered with JMX through
+     * {@link SimulationMetrics#register(String)}.
      *
-     * @param position the position to check for a collision.
-     * @return true if there is a collision; false otherwise.
+     * @param metrics the metrics, or null to stop recording.
      */
-    private boolean isCollision(Position position) {
-        return carPositions.containsKey(position);
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
-     * Retrieves the car located at the specified position.
+     * Gets a car of the simulation.
      *
-     * @param position the position to check.
-     * @return the car at the specified position, or null if no car is present.
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the car, in its current state.
      */
-    private Car getCarAtPosition(Position position) {
-        return carPositions.get(position);
+    public Car getCar(int carId) {
+        return carInstructionPairs.get(carId).getCar();
     }
 
     /**
-     * Simulates a single step for all cars, executing their next command.
+     * Gets the number of cars in the simulation.
      *
-     * @return the number of cars that have completed all of their commands.
+     * @return the number of cars.
+     */
+    public int getCarCount() {
+        return carInstructionPairs.size();
+    }
+
+    /**
+     * Collects the ids of the cars that still have commands to execute, in the order the cars were added.
      */
-    private int simulateStep() {
-        int completedPairs = 0;
-        for (CarInstructionPair currentPair : carInstructionPairs) {
-            boolean isCompleted = simulateCarInstructions(currentPair);
-            if (isCompleted) {
-                completedPairs += 1;
+    private void scheduleActiveCars() {
+        if (activeCarIds.length < carInstructionPairs.size()) {
+            activeCarIds = new int[carInstructionPairs.size()];
+        }
+        if (frozenCars.length < carInstructionPairs.size()) {
+            frozenCars = Arrays.copyOf(frozenCars, carInstructionPairs.size());
+        }
+        activeCarCount = 0;
+        for (int carId = 0; carId < carInstructionPairs.size(); carId++) {
+            if (!frozenCars[carId] && carInstructionPairs.get(carId).getInstruction().hasNextCommand()) {
+                activeCarIds[activeCarCount] = carId;
+                activeCarCount += 1;
             }
         }
-        return completedPairs;
     }
 
     /**
-     * Simulates the execution of the next command for a specific car.
+     * Simulates a single step for the active cars, executing their next command.
+     * Cars that complete all of their commands or are frozen are removed from the active cars, keeping the others in
+     * order, so later steps only visit cars that still have commands. Completed and frozen cars stay on the board.
      *
-     * @param carInstructionPair the car and its associated instructions to simulate.
-     * @return true if the car has completed all its commands; false otherwise.
+     * @param stepCount         the number of the step, starting from 1.
+     * @param collisionPolicy   what to do with the cars involved in a collision.
+     * @param collisionListener the listener receiving each collision as it occurs.
+     * @return the number of collisions in this step.
      */
-    private boolean simulateCarInstructions(CarInstructionPair carInstructionPair) {
-        if (!carInstructionPair.getInstruction().hasNextCommand()) {
-            return true;
+    private int simulateStep(int stepCount, CollisionPolicy collisionPolicy, CollisionListener collisionListener) {
+        int remainingCarCount = 0;
+        int collisionCount = 0;
+        for (int index = 0; index < activeCarCount; index++) {
+            int carId = activeCarIds[index];
+            if (frozenCars[carId]) {
+                continue;
+            }
+            CarInstructionPair carInstructionPair = carInstructionPairs.get(carId);
+            Car car = carInstructionPair.getCar();
+            Instruction instruction = carInstructionPair.getInstruction();
+            Position oldPosition = car.getPosition();
+            int occupantId = executeCommand(instruction.nextCommand(), car);
+            if (trajectoryListener != null) {
+                Position position = car.getPosition();
+                trajectoryListener.recordStep(carId, stepCount, position.getX(), position.getY(),
+                        car.getDirection().ordinal());
+            }
+            if (occupantId != OccupancyIndex.EMPTY) {
+                collisionCount += 1;
+                Position position = car.getPosition();
+                collisionListener.onCollision(occupantId, carId, position.getX(), position.getY(), stepCount);
+                CollisionEvent.record(ENGINE_NAME, occupantId, carId, position.getX(), position.getY(), stepCount);
+                if (collisionPolicy == CollisionPolicy.STOP) {
+                    return collisionCount;
+                }
+                // The cell stays recorded as the occupant's, so the frozen mover no longer holds its old cell
+                carPositions.remove(oldPosition.getX(), oldPosition.getY());
+                frozenCars[carId] = true;
+                frozenCars[occupantId] = true;
+            } else if (instruction.hasNextCommand()) {
+                activeCarIds[remainingCarCount] = carId;
+                remainingCarCount += 1;
+            }
         }
-
-        Car car = carInstructionPair.getCar();
-        Position oldPosition = car.getPosition();
-        Instruction instruction = carInstructionPair.getInstruction();
-
-        executeCommand(instruction.nextCommand(), car);
-
-        updateCarPosition(oldPosition, car.getPosition(), car);
-        return !instruction.hasNextCommand();
+        activeCarCount = remainingCarCount;
+        return collisionCount;
     }
 
     /**
-     * Executes a given command for a car, checking for collisions when moving forward.
+     * Executes a given command for a car, checking for collisions and updating the car's recorded position when
+     * moving forward.
      *
      * @param command the command to execute.
      * @param car     the car on which the command is executed.
+     * @return the id of the car it collided with, or {@link OccupancyIndex#EMPTY} if there was no collision.
      */
-    private void executeCommand(char command, Car car) {
+    private int executeCommand(char command, Car car) {
         if (command != 'F') {
             car.executeCommand(command);
-            return;
+            return OccupancyIndex.EMPTY;
         }
-        if (checkValidPosition(car)) {
-            car.executeCommand(command);
-            if (isCollision(car.getPosition())) {
-                throw new CollisionException("Collision Detected", getCarAtPosition(car.getPosition()), car);
-            }
+        if (!checkValidPosition(car)) {
+            return OccupancyIndex.EMPTY;
         }
+        Position oldPosition = car.getPosition();
+        car.executeCommand(command);
+        Position newPosition = car.getPosition();
+        lookupCount += 1;
+        return carPositions.move(oldPosition.getX(), oldPosition.getY(), newPosition.getX(), newPosition.getY());
     }
 
     /**
@@ -3,16 +3,23 @@ package org.example.service;
 import org.example.model.Board;
 import org.example.model.Car;
 import org.example.model.CarInstructionPair;
+import org.example.model.CommandRuns;
+import org.example.model.Direction;
 import org.example.model.Instruction;
 import org.example.model.Position;
+import org.example.model.TrajectoryListener;
 
 /**
  * Services class that handles the simulation of a car moving on a board according to a set of instructions.
  */
 public class Simulation {
 
+    private static final String ENGINE_NAME = "Simulation";
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     private final Board board;
     private final CarInstructionPair carInstructionPair;
+    private TrajectoryListener trajectoryListener;
 
     /**
      * Constructs a Simulation with the specified board, car, and instruction set.
@@ -34,14 +41,119 @@ public class Simulation {
     public String runCommands() {
         Car car = carInstructionPair.getCar();
         Instruction instruction = carInstructionPair.getInstruction();
+        SimulationRunEvent runEvent = new SimulationRunEvent(ENGINE_NAME, board, 1);
 
+        int stepCount = 0;
         while (instruction.hasNextCommand()) {
             checkAndExecute(instruction.nextCommand(), car);
+            stepCount += 1;
+            if (trajectoryListener != null) {
+                Position position = car.getPosition();
+                trajectoryListener.recordStep(0, stepCount, position.getX(), position.getY(),
+                        car.getDirection().ordinal());
+            }
         }
+        runEvent.complete(stepCount, 0);
 
         return car.toString() + "\n";
     }
 
+    /**
+     * Sets the listener that receives the state of each car after every step it executes, such as a
+     * {@link org.example.model.TrajectoryRecorder}.
+     * Only {@link #runCommands()} records steps; the car is recorded with id 0.
+     *
+     * @param trajectoryListener the listener, or null to stop recording.
+     */
+    public void setTrajectoryListener(TrajectoryListener trajectoryListener) {
+        this.trajectoryListener = trajectoryListener;
+    }
+
+    /**
+     * Runs the simulation one run of repeated commands at a time instead of one command at a time.
+     * A run of 'F' commands is a single move clamped to the board's edge and a run of turns is folded modulo 4,
+     * so the simulation itself costs one step per direction change rather than one per command. Finding the runs still
+     * reads the packed program once, a word of 32 commands at a time.
+     * The final state of the car and the returned string are the same as with {@link #runCommands()}, which is also
+     * used for instructions that cannot be read by index, such as streaming ones.
+     *
+     * @return a string representing the final position and direction of the car.
+     */
+    public String runCommandsInRuns() {
+        Car car = carInstructionPair.getCar();
+        Instruction instruction = carInstructionPair.getInstruction();
+        Position position = car.getPosition();
+        if (!board.isWithinBounds(position.getX(), position.getY()) || !instruction.isIndexable()) {
+            // A car off the board can only be moved one checked step at a time
+            return runCommands();
+        }
+
+        SimulationRunEvent runEvent = new SimulationRunEvent(ENGINE_NAME, board, 1);
+        CommandRuns commandRuns = CommandRuns.of(instruction);
+        long x = position.getX();
+        long y = position.getY();
+        int direction = car.getDirection().ordinal();
+        for (int runIndex = 0; runIndex < commandRuns.getRunCount(); runIndex++) {
+            int length = commandRuns.getLength(runIndex);
+            switch (commandRuns.getCode(runIndex)) {
+            case Instruction.LEFT:
+                direction = (direction + 3 * (length & 3)) & 3;
+                break;
+            case Instruction.RIGHT:
+                direction = (direction + length) & 3;
+                break;
+            case Instruction.FORWARD:
+                x = moveAlongX(x, direction, length);
+                y = moveAlongY(y, direction, length);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid command: " + commandRuns.getCommand(runIndex));
+            }
+        }
+        instruction.skipCommands(commandRuns.getCommandCount());
+        runEvent.complete(commandRuns.getCommandCount(), 0);
+
+        car.setPosition(new Position((int) x, (int) y));
+        car.setDirection(DIRECTIONS[direction]);
+        return car.toString() + "\n";
+    }
+
+    /**
+     * Moves an x-coordinate forward a number of times, stopping at the board's left or right edge.
+     *
+     * @param x         the x-coordinate before the moves.
+     * @param direction the ordinal of the direction the car is facing.
+     * @param length    the number of forward moves.
+     * @return the x-coordinate after the moves.
+     */
+    private long moveAlongX(long x, int direction, int length) {
+        if (direction == Direction.EAST.ordinal()) {
+            return Math.min(x + length, board.getWidth() - 1);
+        }
+        if (direction == Direction.WEST.ordinal()) {
+            return Math.max(x - length, 0);
+        }
+        return x;
+    }
+
+    /**
+     * Moves a y-coordinate forward a number of times, stopping at the board's top or bottom edge.
+     *
+     * @param y         the y-coordinate before the moves.
+     * @param direction the ordinal of the direction the car is facing.
+     * @param length    the number of forward moves.
+     * @return the y-coordinate after the moves.
+     */
+    private long moveAlongY(long y, int direction, int length) {
+        if (direction == Direction.NORTH.ordinal()) {
+            return Math.min(y + length, board.getHeight() - 1);
+        }
+        if (direction == Direction.SOUTH.ordinal()) {
+            return Math.max(y - length, 0);
+        }
+        return y;
+    }
+
     /**
      * Checks if a command can be executed and then executes it if valid.
      * For a 'F' (move forward) command, it checks if the next position is within bounds.
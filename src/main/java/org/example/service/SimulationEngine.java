@@ -0,0 +1,44 @@
+package org.example.service;
+
+/**
+ * Enums representing the engines that can run a Part 2 scenario.
+ * Every engine returns the same report, so the choice only affects speed and memory use.
+ */
+public enum SimulationEngine {
+
+    /**
+     * Represents {@link SimulateMultipleCars}, which keeps one car object per car.
+     */
+    STANDARD,
+
+    /**
+     * Represents {@link FleetSimulation}, which keeps the fleet in primitive arrays.
+     */
+    FLEET,
+
+    /**
+     * Represents {@link SegmentFleetSimulation}, which solves straight segments instead of stepping every tick.
+     */
+    SEGMENT,
+
+    /**
+     * Represents {@link TiledFleetSimulation}, which steps the tiles of the board in parallel.
+     */
+    TILED;
+
+    /**
+     * Converts a string to the corresponding SimulationEngine, ignoring case.
+     *
+     * @param engine the name of the engine, such as "fleet".
+     * @return the corresponding SimulationEngine.
+     * @throws IllegalArgumentException if the string does not name an engine.
+     */
+    public static SimulationEngine fromString(String engine) {
+        for (SimulationEngine simulationEngine : values()) {
+            if (simulationEngine.name().equalsIgnoreCase(engine.trim())) {
+                return simulationEngine;
+            }
+        }
+        throw new IllegalArgumentException("Invalid engine: " + engine);
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Represents the runtime metrics of a single simulation run, which can be registered as an MBean to be watched with
+ * any JMX client while the run is in progress.
+ * An engine records each step with a handful of {@link LongAdder} updates and two clock reads, so a run with metrics
+ * attached is only slightly slower than one without. Counters may be read from any thread at any time.
+ */
+public class SimulationMetrics implements SimulationMetricsMBean, AutoCloseable {
+
+    public static final String DOMAIN = "org.example";
+
+    private static final int BUCKET_COUNT = Long.SIZE;
+    private static final AtomicLong RUN_COUNTER = new AtomicLong();
+
+    private final String engine;
+    private final LongAdder stepsExecuted;
+    private final LongAdder occupancyLookups;
+    private final LongAdder collisionsFound;
+    private final LongAdder[] tickLatencyBuckets;
+    private final LongAccumulator maxTickLatency;
+    private volatile int activeCars;
+    private volatile int occupancySize;
+    private volatile long firstTickStart;
+    private volatile long lastTickEnd;
+    private ObjectName objectName;
+
+    /**
+     * Constructs SimulationMetrics that are not registered with JMX.
+     *
+     * @param engine the name of the engine running the simulation.
+     */
+    public SimulationMetrics(String engine) {
+        this.engine = engine;
+        this.stepsExecuted = new LongAdder();
+        this.occupancyLookups = new LongAdder();
+        this.collisionsFound = new LongAdder();
+        this.tickLatencyBuckets = new LongAdder[BUCKET_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            tickLatencyBuckets[bucket] = new LongAdder();
+        }
+        this.maxTickLatency = new LongAccumulator(Math::max, 0);
+        this.activeCars = 0;
+        this.occupancySize = 0;
+        this.firstTickStart = 0;
+        this.lastTickEnd = 0;
+    }
+
+    /**
+     * Creates metrics for a new run and registers them with the platform MBean server, named
+     * {@code org.example:type=SimulationRun,engine=<engine>,run=<n>}.
+     *
+     * @param engine the name of the engine running the simulation.
+     * @return the registered metrics, which are unregistered when closed.
+     * @throws IllegalStateException if the metrics cannot be registered.
+     */
+    public static SimulationMetrics register(String engine) {
+        SimulationMetrics metrics = new SimulationMetrics(engine);
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=SimulationRun,engine=" + ObjectName.quote(engine)
+                    + ",run=" + RUN_COUNTER.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+            metrics.objectName = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register simulation metrics.", e);
+        }
+        return metrics;
+    }
+
+    /**
+     * Gets the name the metrics are registered under.
+     *
+     * @return the name, or null if the metrics are not registered.
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Records a finished step.
+     *
+     * @param tickStart      the {@link System#nanoTime()} at the start of the step.
+     * @param tickEnd        the {@link System#nanoTime()} at the end of the step.
+     * @param activeCars     the number of cars that still have commands.
+     * @param lookupCount    the number of occupancy index lookups made during the step.
+     * @param occupancySize  the number of occupied cells.
+     * @param collisionCount the number of collisions found during the step.
+     */
+    void recordTick(long tickStart, long tickEnd, int activeCars, int lookupCount, int occupancySize,
+            int collisionCount) {
+        if (firstTickStart == 0) {
+            firstTickStart = tickStart;
+        }
+        long duration = Math.max(1, tickEnd - tickStart);
+        stepsExecuted.increment();
+        occupancyLookups.add(lookupCount);
+        if (collisionCount > 0) {
+            collisionsFound.add(collisionCount);
+        }
+        tickLatencyBuckets[BUCKET_COUNT - 1 - Long.numberOfLeadingZeros(duration)].increment();
+        maxTickLatency.accumulate(duration);
+        this.activeCars = activeCars;
+        this.occupancySize = occupancySize;
+        lastTickEnd = tickEnd;
+    }
+
+    @Override
+    public String getEngine() {
+        return engine;
+    }
+
+    @Override
+    public long getStepsExecuted() {
+        return stepsExecuted.sum();
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        long elapsed = lastTickEnd - firstTickStart;
+        if (firstTickStart == 0 || elapsed <= 0) {
+            return 0;
+        }
+        return stepsExecuted.sum() * 1e9 / elapsed;
+    }
+
+    @Override
+    public int getActiveCars() {
+        return activeCars;
+    }
+
+    @Override
+    public long getOccupancyLookups() {
+        return occupancyLookups.sum();
+    }
+
+    @Override
+    public int getOccupancySize() {
+        return occupancySize;
+    }
+
+    @Override
+    public long getCollisionsFound() {
+        return collisionsFound.sum();
+    }
+
+    @Override
+    public long[] getTickLatencyBuckets() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] = tickLatencyBuckets[bucket].sum();
+        }
+        return counts;
+    }
+
+    @Override
+    public long getTickLatencyP50Nanos() {
+        return percentile(0.5);
+    }
+
+    @Override
+    public long getTickLatencyP99Nanos() {
+        return percentile(0.99);
+    }
+
+    @Override
+    public long getMaxTickLatencyNanos() {
+        return maxTickLatency.get();
+    }
+
+    /**
+     * Unregisters the metrics if they were registered, keeping their values readable.
+     * Closing metrics that are not registered has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (objectName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            // Already unregistered by someone else
+        }
+        objectName = null;
+    }
+
+    /**
+     * Estimates a percentile of step durations as the upper bound of the histogram bucket that holds it.
+     *
+     * @param fraction the percentile as a fraction, from 0 to 1.
+     * @return the duration in nanoseconds, or 0 before any step has finished.
+     */
+    private long percentile(double fraction) {
+        long[] counts = getTickLatencyBuckets();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return bucket >= BUCKET_COUNT - 2 ? Long.MAX_VALUE : (2L << bucket) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.service;
+
+/**
+ * Represents the management interface of {@link SimulationMetrics}, read through JMX while a simulation runs.
+ */
+public interface SimulationMetricsMBean {
+
+    /**
+     * Gets the name of the engine running the simulation.
+     *
+     * @return the engine name.
+     */
+    String getEngine();
+
+    /**
+     * Gets the number of steps executed so far.
+     *
+     * @return the number of steps.
+     */
+    long getStepsExecuted();
+
+    /**
+     * Gets the average number of steps executed per second, from the start of the first step to the end of the
+     * latest one.
+     *
+     * @return the steps per second, or 0 before any step has finished.
+     */
+    double getTicksPerSecond();
+
+    /**
+     * Gets the number of cars that still had commands after the latest step.
+     *
+     * @return the number of active cars.
+     */
+    int getActiveCars();
+
+    /**
+     * Gets the number of lookups made in the occupancy index to move cars, one for each move forward.
+     *
+     * @return the number of lookups.
+     */
+    long getOccupancyLookups();
+
+    /**
+     * Gets the number of cells recorded in the occupancy index after the latest step.
+     *
+     * @return the number of occupied cells.
+     */
+    int getOccupancySize();
+
+    /**
+     * Gets the number of collisions found so far.
+     *
+     * @return the number of collisions.
+     */
+    long getCollisionsFound();
+
+    /**
+     * Gets the histogram of step durations, where bucket i counts the steps that took from 2^i up to 2^(i+1)
+     * nanoseconds.
+     *
+     * @return the count of each bucket.
+     */
+    long[] getTickLatencyBuckets();
+
+    /**
+     * Gets an upper bound of the median step duration, taken from the histogram.
+     *
+     * @return the duration in nanoseconds, or 0 before any step has finished.
+     */
+    long getTickLatencyP50Nanos();
+
+    /**
+     * Gets an upper bound of the 99th percentile of step durations, taken from the histogram.
+     *
+     * @return the duration in nanoseconds, or 0 before any step has finished.
+     */
+    long getTickLatencyP99Nanos();
+
+    /**
+     * Gets the longest step duration.
+     *
+     * @return the duration in nanoseconds, or 0 before any step has finished.
+     */
+    long getMaxTickLatencyNanos();
+}
@@ -0,0 +1,71 @@
+package org.example.service;
+
+import org.example.model.Board;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Represents a Java Flight Recorder event spanning a run of a simulation engine, from before its first step to after
+ * its last one. Its start and end mark the simulation phases of a recording, to line them up with GC and allocation
+ * events.
+ */
+@Name("org.example.SimulationRun")
+@Label("Simulation Run")
+@Category("Car Simulation")
+@Description("A run of a simulation engine, from its first step to its last.")
+@StackTrace(false)
+@Threshold("0 ms")
+class SimulationRunEvent extends Event {
+
+    @Label("Engine")
+    private final String engine;
+
+    @Label("Board Width")
+    private final int boardWidth;
+
+    @Label("Board Height")
+    private final int boardHeight;
+
+    @Label("Car Count")
+    private final int carCount;
+
+    @Label("Steps")
+    @Description("The number of steps executed in this run.")
+    private int stepCount;
+
+    @Label("Collisions")
+    private int collisionCount;
+
+    /**
+     * Constructs a SimulationRunEvent and starts timing it.
+     *
+     * @param engine   the name of the engine.
+     * @param board    the board of the simulation.
+     * @param carCount the number of cars in the simulation.
+     */
+    SimulationRunEvent(String engine, Board board, int carCount) {
+        this.engine = engine;
+        this.boardWidth = board.getWidth();
+        this.boardHeight = board.getHeight();
+        this.carCount = carCount;
+        begin();
+    }
+
+    /**
+     * Stops timing the run and writes the event if it is enabled and above its threshold.
+     *
+     * @param stepCount      the number of steps executed.
+     * @param collisionCount the number of collisions found.
+     */
+    void complete(int stepCount, int collisionCount) {
+        this.stepCount = stepCount;
+        this.collisionCount = collisionCount;
+        commit();
+    }
+}
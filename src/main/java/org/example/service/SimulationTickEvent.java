@@ -0,0 +1,73 @@
+package org.example.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Represents a Java Flight Recorder event timing a single step of a simulation engine.
+ * Only one step in every {@link #SAMPLE_INTERVAL} is timed, and nothing is created for a step while the event is
+ * disabled, so a recording of millions of steps stays small. By default only sampled steps slower than 1 ms are
+ * written; a recording can lower the threshold to see every sampled step.
+ */
+@Name("org.example.SimulationTick")
+@Label("Simulation Tick")
+@Category("Car Simulation")
+@Description("A sampled step of a simulation engine.")
+@StackTrace(false)
+@Threshold("1 ms")
+class SimulationTickEvent extends Event {
+
+    static final int SAMPLE_INTERVAL = 64;
+
+    @Label("Engine")
+    private String engine;
+
+    @Label("Step")
+    private int step;
+
+    @Label("Active Cars")
+    @Description("The number of cars that still had commands after the step.")
+    private int activeCarCount;
+
+    @Label("Collisions")
+    private int collisionCount;
+
+    /**
+     * Starts timing a step if it is sampled and the event is enabled.
+     *
+     * @param step the number of the step, starting from 1.
+     * @return the started event, or null if the step is not timed.
+     */
+    static SimulationTickEvent beginSampled(int step) {
+        if (step % SAMPLE_INTERVAL != 0) {
+            return null;
+        }
+        SimulationTickEvent event = new SimulationTickEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing the step and writes the event if it is above its threshold.
+     *
+     * @param engine         the name of the engine.
+     * @param step           the number of the step, starting from 1.
+     * @param activeCarCount the number of cars that still have commands.
+     * @param collisionCount the number of collisions found during the step.
+     */
+    void complete(String engine, int step, int activeCarCount, int collisionCount) {
+        this.engine = engine;
+        this.step = step;
+        this.activeCarCount = activeCarCount;
+        this.collisionCount = collisionCount;
+        commit();
+    }
+}
@@ -0,0 +1,458 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.OccupancyIndex;
+import org.example.model.OccupancyMap;
+
+/**
+ * Services class that simulates a very large fleet of cars in parallel by splitting the board into tiles.
+ * Each tile is stepped by its own task and owns the cars currently inside it; a car that crosses a tile edge is
+ * handed off to the neighbouring tile at the end of the tick.
+ * <p>
+ * A tick runs in two phases separated by a barrier. First every car computes its next position from its command
+ * alone. Then every tile checks the cells it covers for collisions. In {@link SimulateMultipleCars} cars move one
+ * after another, so a car moving into a cell collides with a car added before it that ends the tick there, or with
+ * a car added after it that starts the tick there. Checking exactly that rule and reporting the lowest colliding
+ * car finds the same first collision, at the same step, as the sequential engines.
+ */
+public class TiledFleetSimulation implements AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] X_OFFSETS = {0, 1, 0, -1};
+    private static final int[] Y_OFFSETS = {1, 0, -1, 0};
+
+    private final Board board;
+    private final ForkJoinPool pool;
+    private final int tileColumns;
+    private final int tileRows;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final Tile[] tiles;
+    private String[] names;
+    private int[] xCoordinates;
+    private int[] yCoordinates;
+    private int[] nextXCoordinates;
+    private int[] nextYCoordinates;
+    private byte[] directions;
+    private Instruction[] instructions;
+    private int[] cursors;
+    private int carCount;
+
+    /**
+     * Constructs a TiledFleetSimulation object that splits the board into a grid of tiles.
+     *
+     * @param board       the board on which the cars will be simulated.
+     * @param tileColumns the number of tiles across the board's width.
+     * @param tileRows    the number of tiles across the board's height.
+     * @param parallelism the number of worker threads.
+     * @throws IllegalArgumentException if the number of tile columns or rows is not positive.
+     */
+    public TiledFleetSimulation(Board board, int tileColumns, int tileRows, int parallelism) {
+        if (tileColumns <= 0 || tileRows <= 0) {
+            throw new IllegalArgumentException("Tile grid must be positive: " + tileColumns + " " + tileRows);
+        }
+        this.board = board;
+        this.pool = new ForkJoinPool(parallelism);
+        this.tileColumns = Math.min(tileColumns, board.getWidth());
+        this.tileRows = Math.min(tileRows, board.getHeight());
+        this.tileWidth = (board.getWidth() + this.tileColumns - 1) / this.tileColumns;
+        this.tileHeight = (board.getHeight() + this.tileRows - 1) / this.tileRows;
+        this.tiles = new Tile[this.tileColumns * this.tileRows];
+        for (int tileIndex = 0; tileIndex < tiles.length; tileIndex++) {
+            tiles[tileIndex] = new Tile(tileIndex);
+        }
+        this.names = new String[INITIAL_CAPACITY];
+        this.xCoordinates = new int[INITIAL_CAPACITY];
+        this.yCoordinates = new int[INITIAL_CAPACITY];
+        this.nextXCoordinates = new int[INITIAL_CAPACITY];
+        this.nextYCoordinates = new int[INITIAL_CAPACITY];
+        this.directions = new byte[INITIAL_CAPACITY];
+        this.instructions = new Instruction[INITIAL_CAPACITY];
+        this.cursors = new int[INITIAL_CAPACITY];
+        this.carCount = 0;
+    }
+
+    /**
+     * Adds a car and its associated instructions to the simulation, with the same rules as
+     * {@link FleetSimulation#addCarInstructionPair(Car, Instruction)}.
+     *
+     * @param car         the car to be added.
+     * @param instruction the instructions to be executed by the car.
+     * @return true if the car and instructions were successfully added; false if car's position is out of bounds or
+     *         already occupied.
+     * @throws IllegalArgumentException if the instruction cannot be read by index, such as a
+     *                                  {@link org.example.model.StreamingInstruction}.
+     */
+    public boolean addCarInstructionPair(Car car, Instruction instruction) {
+        FleetSimulation.checkIndexable(instruction);
+        int x = car.getPosition().getX();
+        int y = car.getPosition().getY();
+        int direction = car.getDirection().ordinal();
+        if (!board.isWithinBounds(x, y)) {
+            return false;
+        }
+        Tile tile = tiles[tileOf(x, y)];
+        if (tile.currentOccupancy.isOccupied(x, y)) {
+            return false;
+        }
+        if (!board.isWithinBounds(x + X_OFFSETS[direction], y + Y_OFFSETS[direction])) {
+            return false;
+        }
+        ensureCapacity(carCount + 1);
+        names[carCount] = car.getName();
+        xCoordinates[carCount] = x;
+        yCoordinates[carCount] = y;
+        directions[carCount] = (byte) direction;
+        instructions[carCount] = instruction;
+        cursors[carCount] = instruction.getCurrentCommandIndex();
+        tile.currentOccupancy.put(x, y, carCount);
+        tile.add(carCount);
+        carCount += 1;
+        return true;
+    }
+
+    /**
+     * Runs the simulation by executing all commands for each car until all commands are completed or a collision
+     * occurs.
+     *
+     * @return a string reporting the result of the simulation, in the same format as
+     *         {@link SimulateMultipleCars#runCommands()}.
+     */
+    public String runCommands() {
+        long stepTotal = 0;
+        for (int carId = 0; carId < carCount; carId++) {
+            stepTotal = Math.max(stepTotal, instructions[carId].size() - cursors[carId]);
+        }
+        List<ForkJoinTask<?>> moveTasks = new ArrayList<>(tiles.length);
+        List<ForkJoinTask<?>> checkTasks = new ArrayList<>(tiles.length);
+        for (Tile tile : tiles) {
+            moveTasks.add(new TilePhase(tile, true));
+            checkTasks.add(new TilePhase(tile, false));
+        }
+        for (int stepCount = 1; stepCount <= stepTotal; stepCount++) {
+            pool.invoke(new PhaseBarrier(moveTasks));
+            pool.invoke(new PhaseBarrier(checkTasks));
+
+            Tile collisionTile = null;
+            for (Tile tile : tiles) {
+                if (tile.colliderId != OccupancyIndex.EMPTY
+                        && (collisionTile == null || tile.colliderId < collisionTile.colliderId)) {
+                    collisionTile = tile;
+                }
+            }
+            if (collisionTile != null) {
+                int colliderId = collisionTile.colliderId;
+                return names[collisionTile.occupantId] + " " + names[colliderId] + "\n"
+                        + nextXCoordinates[colliderId] + " " + nextYCoordinates[colliderId] + "\n"
+                        + stepCount + "\n";
+            }
+            commitStep();
+        }
+        return "No collisions\n";
+    }
+
+    /**
+     * Gets the number of cars in the simulation.
+     *
+     * @return the number of cars.
+     */
+    public int getCarCount() {
+        return carCount;
+    }
+
+    /**
+     * Gets the x-coordinate of a car after the last completed step.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the x-coordinate of the car.
+     */
+    public int getX(int carId) {
+        return xCoordinates[carId];
+    }
+
+    /**
+     * Gets the y-coordinate of a car after the last completed step.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the y-coordinate of the car.
+     */
+    public int getY(int carId) {
+        return yCoordinates[carId];
+    }
+
+    /**
+     * Gets the direction a car is facing after the last completed step.
+     *
+     * @param carId the id of the car, in the order the cars were added.
+     * @return the direction of the car.
+     */
+    public Direction getDirection(int carId) {
+        return DIRECTIONS[directions[carId]];
+    }
+
+    /**
+     * Shuts down the worker threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Makes the positions computed in the last step the current positions.
+     */
+    private void commitStep() {
+        int[] swap = xCoordinates;
+        xCoordinates = nextXCoordinates;
+        nextXCoordinates = swap;
+        swap = yCoordinates;
+        yCoordinates = nextYCoordinates;
+        nextYCoordinates = swap;
+        for (Tile tile : tiles) {
+            OccupancyMap occupancy = tile.currentOccupancy;
+            tile.currentOccupancy = tile.nextOccupancy;
+            tile.nextOccupancy = occupancy;
+        }
+    }
+
+    /**
+     * Returns the index of the tile covering a position.
+     *
+     * @param x the x-coordinate of the position.
+     * @param y the y-coordinate of the position.
+     * @return the tile index.
+     */
+    private int tileOf(int x, int y) {
+        return (y / tileHeight) * tileColumns + x / tileWidth;
+    }
+
+    /**
+     * Grows the per-car arrays so that they can hold at least the given number of cars.
+     *
+     * @param requiredCapacity the number of cars that must fit.
+     */
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity <= names.length) {
+            return;
+        }
+        int newCapacity = Math.max(requiredCapacity, names.length * 2);
+        names = Arrays.copyOf(names, newCapacity);
+        xCoordinates = Arrays.copyOf(xCoordinates, newCapacity);
+        yCoordinates = Arrays.copyOf(yCoordinates, newCapacity);
+        nextXCoordinates = Arrays.copyOf(nextXCoordinates, newCapacity);
+        nextYCoordinates = Arrays.copyOf(nextYCoordinates, newCapacity);
+        directions = Arrays.copyOf(directions, newCapacity);
+        instructions = Arrays.copyOf(instructions, newCapacity);
+        cursors = Arrays.copyOf(cursors, newCapacity);
+    }
+
+    /**
+     * Represents one tile of the board, the cars inside it and the cars leaving it in the current step.
+     */
+    private class Tile {
+
+        private final int tileIndex;
+        private final int[][] outboxes;
+        private final int[] outboxSizes;
+        private int[] carIds;
+        private int size;
+        private OccupancyMap currentOccupancy;
+        private OccupancyMap nextOccupancy;
+        private int colliderId;
+        private int occupantId;
+
+        Tile(int tileIndex) {
+            this.tileIndex = tileIndex;
+            this.outboxes = new int[DIRECTIONS.length][INITIAL_CAPACITY];
+            this.outboxSizes = new int[DIRECTIONS.length];
+            this.carIds = new int[INITIAL_CAPACITY];
+            this.size = 0;
+            this.currentOccupancy = new OccupancyMap();
+            this.nextOccupancy = new OccupancyMap();
+            this.colliderId = OccupancyIndex.EMPTY;
+        }
+
+        /**
+         * Adds a car to the cars owned by this tile.
+         *
+         * @param carId the id of the car.
+         */
+        void add(int carId) {
+            if (size == carIds.length) {
+                carIds = Arrays.copyOf(carIds, size * 2);
+            }
+            carIds[size] = carId;
+            size += 1;
+        }
+
+        /**
+         * Computes the next position of every car in the tile and moves the cars that leave the tile to the
+         * outbox facing their neighbouring tile.
+         */
+        void moveCars() {
+            Arrays.fill(outboxSizes, 0);
+            int keptCount = 0;
+            for (int index = 0; index < size; index++) {
+                int carId = carIds[index];
+                int direction = directions[carId];
+                int x = xCoordinates[carId];
+                int y = yCoordinates[carId];
+                Instruction instruction = instructions[carId];
+                if (cursors[carId] < instruction.size()) {
+                    int code = instruction.codeAt(cursors[carId]);
+                    cursors[carId] += 1;
+                    if (code == Instruction.LEFT) {
+                        directions[carId] = (byte) ((direction + 3) & 3);
+                    } else if (code == Instruction.RIGHT) {
+                        directions[carId] = (byte) ((direction + 1) & 3);
+                    } else if (board.isWithinBounds(x + X_OFFSETS[direction], y + Y_OFFSETS[direction])) {
+                        x += X_OFFSETS[direction];
+                        y += Y_OFFSETS[direction];
+                    }
+                }
+                nextXCoordinates[carId] = x;
+                nextYCoordinates[carId] = y;
+                if (tileOf(x, y) == tileIndex) {
+                    carIds[keptCount] = carId;
+                    keptCount += 1;
+                } else {
+                    addToOutbox(direction, carId);
+                }
+            }
+            size = keptCount;
+        }
+
+        /**
+         * Takes in the cars handed off by neighbouring tiles, then finds the lowest car that collides within the
+         * cells of this tile.
+         */
+        void checkCollisions() {
+            int column = tileIndex % tileColumns;
+            int row = tileIndex / tileColumns;
+            receiveFrom(column, row - 1, Direction.NORTH);
+            receiveFrom(column - 1, row, Direction.EAST);
+            receiveFrom(column, row + 1, Direction.SOUTH);
+            receiveFrom(column + 1, row, Direction.WEST);
+
+            // Records, for every cell, the lowest car that ends the step there
+            nextOccupancy.clear();
+            for (int index = 0; index < size; index++) {
+                int carId = carIds[index];
+                int lowestCarId = nextOccupancy.get(nextXCoordinates[carId], nextYCoordinates[carId]);
+                if (lowestCarId == OccupancyIndex.EMPTY || carId < lowestCarId) {
+                    nextOccupancy.put(nextXCoordinates[carId], nextYCoordinates[carId], carId);
+                }
+            }
+
+            colliderId = OccupancyIndex.EMPTY;
+            for (int index = 0; index < size; index++) {
+                int carId = carIds[index];
+                int x = nextXCoordinates[carId];
+                int y = nextYCoordinates[carId];
+                if (x == xCoordinates[carId] && y == yCoordinates[carId]) {
+                    continue;
+                }
+                if (colliderId != OccupancyIndex.EMPTY && colliderId < carId) {
+                    continue;
+                }
+                int startingCarId = currentOccupancy.get(x, y);
+                int endingCarId = nextOccupancy.get(x, y);
+                if (startingCarId > carId) {
+                    colliderId = carId;
+                    occupantId = startingCarId;
+                } else if (endingCarId < carId) {
+                    colliderId = carId;
+                    occupantId = endingCarId;
+                }
+            }
+        }
+
+        /**
+         * Takes in the cars that a neighbouring tile handed off in the given direction.
+         *
+         * @param column    the column of the neighbouring tile.
+         * @param row       the row of the neighbouring tile.
+         * @param direction the direction in which the cars left the neighbouring tile.
+         */
+        private void receiveFrom(int column, int row, Direction direction) {
+            if (column < 0 || column >= tileColumns || row < 0 || row >= tileRows) {
+                return;
+            }
+            Tile neighbour = tiles[row * tileColumns + column];
+            int[] outbox = neighbour.outboxes[direction.ordinal()];
+            for (int index = 0; index < neighbour.outboxSizes[direction.ordinal()]; index++) {
+                add(outbox[index]);
+            }
+        }
+
+        /**
+         * Adds a car leaving the tile to the outbox for the given direction.
+         *
+         * @param direction the ordinal of the direction in which the car left.
+         * @param carId     the id of the car.
+         */
+        private void addToOutbox(int direction, int carId) {
+            if (outboxSizes[direction] == outboxes[direction].length) {
+                outboxes[direction] = Arrays.copyOf(outboxes[direction], outboxSizes[direction] * 2);
+            }
+            outboxes[direction][outboxSizes[direction]] = carId;
+            outboxSizes[direction] += 1;
+        }
+    }
+
+    /**
+     * Represents one phase of a step for a single tile.
+     */
+    @SuppressWarnings("serial")
+    private static class TilePhase extends RecursiveAction {
+
+        private final Tile tile;
+        private final boolean isMovePhase;
+
+        TilePhase(Tile tile, boolean isMovePhase) {
+            this.tile = tile;
+            this.isMovePhase = isMovePhase;
+        }
+
+        @Override
+        protected void compute() {
+            if (isMovePhase) {
+                tile.moveCars();
+            } else {
+                tile.checkCollisions();
+            }
+        }
+    }
+
+    /**
+     * Represents one phase of a step for all tiles, which completes only when every tile has finished.
+     */
+    @SuppressWarnings("serial")
+    private static class PhaseBarrier extends RecursiveAction {
+
+        private final List<ForkJoinTask<?>> tilePhases;
+
+        PhaseBarrier(List<ForkJoinTask<?>> tilePhases) {
+            this.tilePhases = tilePhases;
+        }
+
+        @Override
+        protected void compute() {
+            for (ForkJoinTask<?> tilePhase : tilePhases) {
+                tilePhase.reinitialize();
+            }
+            invokeAll(tilePhases);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.service;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a reader of trajectory files written by {@link TrajectoryFileWriter}.
+ * The state of every car at a step is read by looking up the last keyframe at or before the step in the index and
+ * replaying the steps after it, so only a small slice of the file is read however long the run was.
+ * A reader is not thread-safe, as every read moves the position of the same channel.
+ */
+public class TrajectoryFileReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final int carCount;
+    private final int keyframeInterval;
+    private final int stepCount;
+    private final long indexOffset;
+
+    /**
+     * Constructs a TrajectoryFileReader from an open channel and the values of the header and footer.
+     *
+     * @param channel          the channel of the file.
+     * @param carCount         the number of cars.
+     * @param keyframeInterval the number of steps between keyframes.
+     * @param stepCount        the number of recorded steps.
+     * @param indexOffset      the offset of the keyframe index.
+     */
+    private TrajectoryFileReader(FileChannel channel, int carCount, int keyframeInterval, int stepCount,
+            long indexOffset) {
+        this.channel = channel;
+        this.carCount = carCount;
+        this.keyframeInterval = keyframeInterval;
+        this.stepCount = stepCount;
+        this.indexOffset = indexOffset;
+    }
+
+    /**
+     * Opens a trajectory file, reading only its header and footer.
+     *
+     * @param path the path of the file.
+     * @return the reader, which must be closed.
+     * @throws IOException if the file cannot be read or is not a complete trajectory file.
+     */
+    public static TrajectoryFileReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < TrajectoryFileWriter.HEADER_SIZE + TrajectoryFileWriter.FOOTER_SIZE) {
+                throw new IOException("Not a trajectory file: " + path);
+            }
+            ByteBuffer header = readFully(channel, 0, TrajectoryFileWriter.HEADER_SIZE);
+            ByteBuffer footer = readFully(channel, size - TrajectoryFileWriter.FOOTER_SIZE,
+                    TrajectoryFileWriter.FOOTER_SIZE);
+            if (header.getInt() != TrajectoryFileWriter.MAGIC || footer.getInt(12) != TrajectoryFileWriter.MAGIC) {
+                throw new IOException("Not a complete trajectory file: " + path);
+            }
+            int carCount = header.getInt();
+            int keyframeInterval = header.getInt();
+            long indexOffset = footer.getLong();
+            int stepCount = footer.getInt();
+            long keyframeCount = stepCount / Math.max(keyframeInterval, 1) + 1L;
+            if (carCount < 0 || keyframeInterval <= 0 || stepCount < 0 || indexOffset < 0
+                    || indexOffset + keyframeCount * Long.BYTES != size - TrajectoryFileWriter.FOOTER_SIZE) {
+                throw new IOException("Invalid trajectory file: " + path);
+            }
+            return new TrajectoryFileReader(channel, carCount, keyframeInterval, stepCount, indexOffset);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of cars.
+     *
+     * @return the number of cars.
+     */
+    public int getCarCount() {
+        return carCount;
+    }
+
+    /**
+     * Gets the number of recorded steps.
+     *
+     * @return the last step, or 0 if no car executed a command.
+     */
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Reads the state of every car after a step into the given arrays, indexed by car id.
+     *
+     * @param step         the step, from 0 for the starting state up to {@link #getStepCount()}.
+     * @param xCoordinates the array receiving the x-coordinates.
+     * @param yCoordinates the array receiving the y-coordinates.
+     * @param directions   the array receiving the direction ordinals.
+     * @throws IOException               if the file cannot be read or is corrupt.
+     * @throws IndexOutOfBoundsException if the step was not recorded.
+     * @throws IllegalArgumentException  if an array is shorter than the number of cars.
+     */
+    public void readStep(int step, int[] xCoordinates, int[] yCoordinates, byte[] directions) throws IOException {
+        if (step < 0 || step > stepCount) {
+            throw new IndexOutOfBoundsException("Invalid step: " + step);
+        }
+        if (xCoordinates.length < carCount || yCoordinates.length < carCount || directions.length < carCount) {
+            throw new IllegalArgumentException("Arrays must hold " + carCount + " cars.");
+        }
+        int keyframeIndex = step / keyframeInterval;
+        long keyframeOffset = readFully(channel, indexOffset + (long) keyframeIndex * Long.BYTES, Long.BYTES)
+                .getLong();
+        if (keyframeOffset < TrajectoryFileWriter.HEADER_SIZE || keyframeOffset >= indexOffset) {
+            throw new IOException("Invalid keyframe offset: " + keyframeOffset);
+        }
+
+        // The stream is not closed, as that would close the shared channel
+        InputStream input = new BufferedInputStream(Channels.newInputStream(channel.position(keyframeOffset)));
+        for (int carId = 0; carId < carCount; carId++) {
+            xCoordinates[carId] = (int) readVarint(input);
+            yCoordinates[carId] = (int) readVarint(input);
+            int direction = readByte(input);
+            if (direction > 3) {
+                throw new IOException("Invalid direction: " + direction);
+            }
+            directions[carId] = (byte) direction;
+        }
+        for (int replayedStep = keyframeIndex * keyframeInterval + 1; replayedStep <= step; replayedStep++) {
+            long changeCount = readVarint(input);
+            long carId = -1;
+            for (long index = 0; index < changeCount; index++) {
+                long change = readVarint(input);
+                carId += (change >>> 2) + 1;
+                if (carId >= carCount) {
+                    throw new IOException("Invalid car id in step " + replayedStep);
+                }
+                applyChange((int) carId, (int) (change & 3), xCoordinates, yCoordinates, directions);
+            }
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Applies a single change to the state of a car.
+     *
+     * @param carId        the id of the car.
+     * @param code         the change code.
+     * @param xCoordinates the x-coordinates of the cars.
+     * @param yCoordinates the y-coordinates of the cars.
+     * @param directions   the direction ordinals of the cars.
+     * @throws IOException if the change code is invalid.
+     */
+    private static void applyChange(int carId, int code, int[] xCoordinates, int[] yCoordinates, byte[] directions)
+            throws IOException {
+        int direction = directions[carId];
+        switch (code) {
+        case TrajectoryFileWriter.FORWARD:
+            xCoordinates[carId] += TrajectoryFileWriter.X_OFFSETS[direction];
+            yCoordinates[carId] += TrajectoryFileWriter.Y_OFFSETS[direction];
+            break;
+        case TrajectoryFileWriter.LEFT:
+            directions[carId] = (byte) ((direction + 3) & 3);
+            break;
+        case TrajectoryFileWriter.RIGHT:
+            directions[carId] = (byte) ((direction + 1) & 3);
+            break;
+        default:
+            throw new IOException("Invalid change code: " + code);
+        }
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @param input the stream to read from.
+     * @return the number.
+     * @throws IOException if the stream ends or the varint is too long.
+     */
+    private static long readVarint(InputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int group = readByte(input);
+            value |= (long) (group & 0x7F) << shift;
+            if (group < 0x80) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid varint.");
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @param input the stream to read from.
+     * @return the byte, from 0 to 255.
+     * @throws IOException if the stream ends.
+     */
+    private static int readByte(InputStream input) throws IOException {
+        int value = input.read();
+        if (value < 0) {
+            throw new EOFException("Unexpected end of trajectory file.");
+        }
+        return value;
+    }
+
+    /**
+     * Reads a range of the file.
+     *
+     * @param channel  the channel of the file.
+     * @param position the offset of the range.
+     * @param length   the number of bytes to read.
+     * @return a buffer holding the bytes, ready to be read.
+     * @throws IOException if the file ends before the range does.
+     */
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of trajectory file.");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.example.model.Car;
+import org.example.model.Position;
+import org.example.model.TrajectoryListener;
+
+/**
+ * Represents a writer of the full trajectory of a {@link SimulateMultipleCars} run to a compact binary file, which
+ * {@link TrajectoryFileReader} reads back.
+ * <p>
+ * A car changes by at most one move or one turn per step, so each step is stored as the list of cars that changed,
+ * each encoded as a single varint holding the gap to the previous car id and a 2-bit change code. Cars that were
+ * blocked, have finished or are frozen take no space. Every {@code keyframeInterval} steps the positions and
+ * directions of all cars are written in full, and the offsets of these keyframes are written as an index at the end
+ * of the file, so a reader can jump to any step by decoding one keyframe and fewer than {@code keyframeInterval}
+ * steps.
+ * <p>
+ * File layout, with integers big-endian and varints in 7-bit groups, least significant first:
+ * <pre>
+ * header:   int magic, int carCount, int keyframeInterval
+ * keyframe: per car, varint x, varint y, byte direction    (for step 0)
+ * step:     varint changeCount, per change varint (carIdGap &lt;&lt; 2 | code)
+ *           ... followed by a keyframe after every step that is a multiple of keyframeInterval
+ * index:    long offset per keyframe, in step order
+ * footer:   long indexOffset, int stepCount, int magic
+ * </pre>
+ */
+public class TrajectoryFileWriter implements TrajectoryListener, AutoCloseable {
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 256;
+
+    static final int MAGIC = 0x54524A31;
+    static final int HEADER_SIZE = 12;
+    static final int FOOTER_SIZE = 16;
+    static final int FORWARD = 0;
+    static final int LEFT = 1;
+    static final int RIGHT = 2;
+    static final int[] X_OFFSETS = {0, 1, 0, -1};
+    static final int[] Y_OFFSETS = {1, 0, -1, 0};
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final OutputStream output;
+    private final int keyframeInterval;
+    private final int[] xCoordinates;
+    private final int[] yCoordinates;
+    private final byte[] directions;
+    private long[] changes;
+    private int changeCount;
+    private boolean isSorted;
+    private long[] keyframeOffsets;
+    private int keyframeCount;
+    private long offset;
+    private int openStep;
+    private int lastRecordedStep;
+    private boolean isClosed;
+
+    /**
+     * Constructs a TrajectoryFileWriter with the default keyframe interval.
+     *
+     * @param outputStream the stream to write the file to, which is closed with the writer.
+     * @param simulation   the simulation to record, before it is run.
+     * @throws IOException if the header cannot be written.
+     */
+    public TrajectoryFileWriter(OutputStream outputStream, SimulateMultipleCars simulation) throws IOException {
+        this(outputStream, simulation, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Constructs a TrajectoryFileWriter, writes the starting state of every car and starts listening to the
+     * simulation. Cars added to the simulation afterwards are not supported.
+     *
+     * @param outputStream     the stream to write the file to, which is closed with the writer.
+     * @param simulation       the simulation to record, before it is run.
+     * @param keyframeInterval the number of steps between keyframes; smaller intervals give faster seeks and larger
+     *                         files.
+     * @throws IOException              if the header cannot be written.
+     * @throws IllegalArgumentException if the keyframe interval is not positive.
+     */
+    public TrajectoryFileWriter(OutputStream outputStream, SimulateMultipleCars simulation, int keyframeInterval)
+            throws IOException {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Invalid keyframe interval: " + keyframeInterval);
+        }
+        int carCount = simulation.getCarCount();
+        this.output = new BufferedOutputStream(outputStream);
+        this.keyframeInterval = keyframeInterval;
+        this.xCoordinates = new int[carCount];
+        this.yCoordinates = new int[carCount];
+        this.directions = new byte[carCount];
+        for (int carId = 0; carId < carCount; carId++) {
+            Car car = simulation.getCar(carId);
+            Position position = car.getPosition();
+            xCoordinates[carId] = position.getX();
+            yCoordinates[carId] = position.getY();
+            directions[carId] = (byte) car.getDirection().ordinal();
+        }
+        this.changes = new long[INITIAL_CAPACITY];
+        this.changeCount = 0;
+        this.isSorted = true;
+        this.keyframeOffsets = new long[INITIAL_CAPACITY];
+        this.keyframeCount = 0;
+        this.offset = 0;
+        this.openStep = 1;
+        this.lastRecordedStep = 0;
+        this.isClosed = false;
+
+        writeInt(MAGIC);
+        writeInt(carCount);
+        writeInt(keyframeInterval);
+        writeKeyframe();
+        simulation.setTrajectoryListener(this);
+    }
+
+    /**
+     * Receives the state of a car after a step and stores how it changed.
+     *
+     * @throws IllegalStateException if the step is earlier than a step already written, or the car changed by more
+     *                               than a single move or turn.
+     * @throws UncheckedIOException  if an earlier step could not be written.
+     */
+    @Override
+    public void recordStep(int carId, int step, int x, int y, int direction) {
+        if (isClosed || step < openStep) {
+            throw new IllegalStateException("Step " + step + " can no longer be recorded.");
+        }
+        try {
+            while (openStep < step) {
+                writeStep();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastRecordedStep = step;
+
+        int oldDirection = directions[carId];
+        int code;
+        if (direction != oldDirection) {
+            if (direction == ((oldDirection + 3) & 3)) {
+                code = LEFT;
+            } else if (direction == ((oldDirection + 1) & 3)) {
+                code = RIGHT;
+            } else {
+                throw new IllegalStateException("Car " + carId + " turned more than once in step " + step);
+            }
+            directions[carId] = (byte) direction;
+        } else if (x != xCoordinates[carId] || y != yCoordinates[carId]) {
+            if (x != xCoordinates[carId] + X_OFFSETS[oldDirection]
+                    || y != yCoordinates[carId] + Y_OFFSETS[oldDirection]) {
+                throw new IllegalStateException("Car " + carId + " moved more than once in step " + step);
+            }
+            code = FORWARD;
+            xCoordinates[carId] = x;
+            yCoordinates[carId] = y;
+        } else {
+            // A blocked move leaves nothing to store
+            return;
+        }
+        if (changeCount == changes.length) {
+            changes = Arrays.copyOf(changes, changeCount * 2);
+        }
+        long change = ((long) carId << 2) | code;
+        isSorted &= changeCount == 0 || changes[changeCount - 1] < change;
+        changes[changeCount] = change;
+        changeCount += 1;
+    }
+
+    /**
+     * Writes the remaining steps, the keyframe index and the footer, then closes the stream.
+     * Closing an already closed writer has no effect.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        try {
+            while (openStep <= lastRecordedStep) {
+                writeStep();
+            }
+            long indexOffset = offset;
+            for (int index = 0; index < keyframeCount; index++) {
+                writeLong(keyframeOffsets[index]);
+            }
+            writeLong(indexOffset);
+            writeInt(lastRecordedStep);
+            writeInt(MAGIC);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Writes the changes of the open step, followed by a keyframe when one is due, and opens the next step.
+     *
+     * @throws IOException if the step cannot be written.
+     */
+    private void writeStep() throws IOException {
+        if (!isSorted) {
+            Arrays.sort(changes, 0, changeCount);
+        }
+        writeVarint(changeCount);
+        long previousCarId = -1;
+        for (int index = 0; index < changeCount; index++) {
+            long carId = changes[index] >>> 2;
+            writeVarint(((carId - previousCarId - 1) << 2) | (changes[index] & 3));
+            previousCarId = carId;
+        }
+        changeCount = 0;
+        isSorted = true;
+        if (openStep % keyframeInterval == 0) {
+            writeKeyframe();
+        }
+        openStep += 1;
+    }
+
+    /**
+     * Writes the state of every car and adds its offset to the index.
+     *
+     * @throws IOException if the keyframe cannot be written.
+     */
+    private void writeKeyframe() throws IOException {
+        if (keyframeCount == keyframeOffsets.length) {
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+        }
+        keyframeOffsets[keyframeCount] = offset;
+        keyframeCount += 1;
+        for (int carId = 0; carId < xCoordinates.length; carId++) {
+            writeVarint(xCoordinates[carId]);
+            writeVarint(yCoordinates[carId]);
+            output.write(directions[carId]);
+            offset += 1;
+        }
+    }
+
+    /**
+     * Writes a non-negative number as a varint.
+     *
+     * @param value the number to write.
+     * @throws IOException if the number cannot be written.
+     */
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+            offset += 1;
+        }
+        output.write((int) value);
+        offset += 1;
+    }
+
+    /**
+     * Writes an int in big-endian order.
+     *
+     * @param value the number to write.
+     * @throws IOException if the number cannot be written.
+     */
+    private void writeInt(int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            output.write(value >>> shift);
+        }
+        offset += Integer.BYTES;
+    }
+
+    /**
+     * Writes a long in big-endian order.
+     *
+     * @param value the number to write.
+     * @throws IOException if the number cannot be written.
+     */
+    private void writeLong(long value) throws IOException {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+}
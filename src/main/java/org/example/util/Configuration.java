@@ -0,0 +1,452 @@
+package org.example.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.example.service.ResultCache;
+import org.example.service.SimulationEngine;
+
+/**
+ * Utilities class that holds the runtime settings of the application, resolved once rather than on every use.
+ * Each setting is taken from the first source that defines it, in this order: command line flags such as
+ * {@code --verbose=true}, system properties such as {@code -Dcarsim.verbose=true}, environment variables such as
+ * {@code CARSIM_VERBOSE=true}, and finally a properties file named by the {@code config} setting.
+ * When no file is named, the verbose setting is still read from the original {@code VerboseSetting.txt} if it exists.
+ * <p>
+ * The settings are immutable; {@link #current()} returns the latest ones, which {@link #watch()} replaces whenever
+ * the configuration file changes.
+ */
+public final class Configuration {
+
+    public static final String VERBOSE_KEY = "verbose";
+    public static final String ENGINE_KEY = "engine";
+    public static final String THREADS_KEY = "threads";
+    public static final String CONFIG_KEY = "config";
+    public static final String PORT_KEY = "port";
+    public static final String QUEUE_KEY = "queue";
+    public static final String MAX_BODY_KEY = "maxbody";
+    public static final String TIMEOUT_KEY = "timeout";
+    public static final String CACHE_ENTRIES_KEY = "cacheentries";
+    public static final String CACHE_BYTES_KEY = "cachebytes";
+    public static final String METRICS_KEY = "metrics";
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BODY_BYTES = 1 << 20;
+    public static final int DEFAULT_REQUEST_TIMEOUT_MILLIS = 10_000;
+
+    private static final Set<String> KEYS = Set.of(VERBOSE_KEY, ENGINE_KEY, THREADS_KEY, CONFIG_KEY, PORT_KEY,
+            QUEUE_KEY, MAX_BODY_KEY, TIMEOUT_KEY, CACHE_ENTRIES_KEY, CACHE_BYTES_KEY, METRICS_KEY);
+    private static final String FLAG_PREFIX = "--";
+    private static final String PROPERTY_PREFIX = "carsim.";
+    private static final String ENVIRONMENT_PREFIX = "CARSIM_";
+    private static final int MAXIMUM_PORT = 65535;
+    private static final Path LEGACY_VERBOSE_SETTING = Path.of("src/main/java/org/example/VerboseSetting.txt");
+
+    private static volatile Configuration current;
+    private static String[] currentArguments = new String[0];
+
+    private final boolean isVerbose;
+    private final boolean isMetricsEnabled;
+    private final SimulationEngine engine;
+    private final int threadCount;
+    private final int port;
+    private final int queueCapacity;
+    private final int maxBodyBytes;
+    private final int requestTimeoutMillis;
+    private final int cacheEntries;
+    private final long cacheBytes;
+    private final Path configFile;
+    private final List<String> arguments;
+
+    /**
+     * Constructs a Configuration with resolved settings.
+     *
+     * @param isVerbose            whether prompts and error messages are printed.
+     * @param isMetricsEnabled     whether scenario runs register their metrics with JMX.
+     * @param engine               the engine that runs Part 2 scenarios.
+     * @param threadCount          the number of worker threads for parallel engines and the service mode.
+     * @param port                 the port of the service mode, or 0 if the service mode is off.
+     * @param queueCapacity        the number of service requests that can wait for a worker.
+     * @param maxBodyBytes         the largest accepted service request body, in bytes.
+     * @param requestTimeoutMillis the longest the service mode waits for a request body, in milliseconds.
+     * @param cacheEntries         the largest number of results the service mode caches.
+     * @param cacheBytes           the largest estimated size of the results the service mode caches, in bytes.
+     * @param configFile           the configuration file, or null if none was named.
+     * @param arguments            the command line arguments that are not flags.
+     */
+    private Configuration(boolean isVerbose, boolean isMetricsEnabled, SimulationEngine engine, int threadCount,
+            int port, int queueCapacity, int maxBodyBytes, int requestTimeoutMillis, int cacheEntries, long cacheBytes,
+            Path configFile, List<String> arguments) {
+        this.isVerbose = isVerbose;
+        this.isMetricsEnabled = isMetricsEnabled;
+        this.engine = engine;
+        this.threadCount = threadCount;
+        this.port = port;
+        this.queueCapacity = queueCapacity;
+        this.maxBodyBytes = maxBodyBytes;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.cacheEntries = cacheEntries;
+        this.cacheBytes = cacheBytes;
+        this.configFile = configFile;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Resolves the settings for the given command line and makes them the current settings.
+     *
+     * @param args the command line arguments.
+     * @return the resolved settings.
+     * @throws IllegalArgumentException if a setting has an invalid value or the configuration file cannot be read.
+     */
+    public static Configuration initialize(String[] args) {
+        Configuration configuration = load(args, System.getenv(), System.getProperties());
+        synchronized (Configuration.class) {
+            currentArguments = args.clone();
+            current = configuration;
+        }
+        return configuration;
+    }
+
+    /**
+     * Gets the current settings, resolving them without command line arguments if they were never initialized.
+     *
+     * @return the current settings.
+     */
+    public static Configuration current() {
+        Configuration configuration = current;
+        if (configuration == null) {
+            synchronized (Configuration.class) {
+                if (current == null) {
+                    current = load(currentArguments, System.getenv(), System.getProperties());
+                }
+                configuration = current;
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * Resolves settings from the given sources without changing the current settings.
+     *
+     * @param args             the command line arguments.
+     * @param environment      the environment variables.
+     * @param systemProperties the system properties.
+     * @return the resolved settings.
+     * @throws IllegalArgumentException if a flag is unknown, a setting has an invalid value or the configuration file
+     *                                  cannot be read.
+     */
+    public static Configuration load(String[] args, Map<String, String> environment, Properties systemProperties) {
+        Properties flags = new Properties();
+        List<String> arguments = new ArrayList<>();
+        for (String argument : args) {
+            if (argument.startsWith(FLAG_PREFIX)) {
+                int separator = argument.indexOf('=');
+                String key = argument.substring(FLAG_PREFIX.length(), separator < 0 ? argument.length() : separator);
+                if (!KEYS.contains(key)) {
+                    throw new IllegalArgumentException("Unknown setting: " + argument);
+                }
+                flags.setProperty(key, separator < 0 ? "true" : argument.substring(separator + 1));
+            } else {
+                arguments.add(argument);
+            }
+        }
+
+        Properties fileSettings = new Properties();
+        String configSetting = lookUp(CONFIG_KEY, flags, systemProperties, environment, fileSettings);
+        Path configFile = configSetting == null ? null : Path.of(configSetting);
+        if (configFile != null) {
+            try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+                fileSettings.load(reader);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Unable to read configuration file: " + configFile, e);
+            }
+        } else if (Files.isRegularFile(LEGACY_VERBOSE_SETTING)) {
+            try {
+                fileSettings.setProperty(VERBOSE_KEY, Files.readString(LEGACY_VERBOSE_SETTING).trim());
+            } catch (IOException e) {
+                // An unreadable legacy file leaves verbose mode off, as before
+            }
+        }
+
+        String verboseSetting = lookUp(VERBOSE_KEY, flags, systemProperties, environment, fileSettings);
+        String metricsSetting = lookUp(METRICS_KEY, flags, systemProperties, environment, fileSettings);
+        String engineSetting = lookUp(ENGINE_KEY, flags, systemProperties, environment, fileSettings);
+        String threadsSetting = lookUp(THREADS_KEY, flags, systemProperties, environment, fileSettings);
+        String portSetting = lookUp(PORT_KEY, flags, systemProperties, environment, fileSettings);
+        String queueSetting = lookUp(QUEUE_KEY, flags, systemProperties, environment, fileSettings);
+        String maxBodySetting = lookUp(MAX_BODY_KEY, flags, systemProperties, environment, fileSettings);
+        String timeoutSetting = lookUp(TIMEOUT_KEY, flags, systemProperties, environment, fileSettings);
+        String cacheEntriesSetting = lookUp(CACHE_ENTRIES_KEY, flags, systemProperties, environment, fileSettings);
+        String cacheBytesSetting = lookUp(CACHE_BYTES_KEY, flags, systemProperties, environment, fileSettings);
+        boolean isVerbose = "true".equalsIgnoreCase(verboseSetting == null ? "" : verboseSetting.trim());
+        boolean isMetricsEnabled = "true".equalsIgnoreCase(metricsSetting == null ? "" : metricsSetting.trim());
+        SimulationEngine engine = engineSetting == null
+                ? SimulationEngine.FLEET
+                : SimulationEngine.fromString(engineSetting);
+        int threadCount = threadsSetting == null
+                ? Runtime.getRuntime().availableProcessors()
+                : parsePositive("thread count", threadsSetting);
+        int port = portSetting == null ? 0 : parsePositive("port", portSetting);
+        if (port > MAXIMUM_PORT) {
+            throw new IllegalArgumentException("Invalid port: " + portSetting);
+        }
+        int queueCapacity = queueSetting == null ? DEFAULT_QUEUE_CAPACITY : parsePositive("queue", queueSetting);
+        int maxBodyBytes = maxBodySetting == null
+                ? DEFAULT_MAX_BODY_BYTES
+                : parsePositive("request body limit", maxBodySetting);
+        int requestTimeoutMillis = timeoutSetting == null
+                ? DEFAULT_REQUEST_TIMEOUT_MILLIS
+                : parsePositive("request timeout", timeoutSetting);
+        int cacheEntries = cacheEntriesSetting == null
+                ? ResultCache.DEFAULT_MAXIMUM_ENTRIES
+                : parsePositive("cache size", cacheEntriesSetting);
+        long cacheBytes = cacheBytesSetting == null
+                ? ResultCache.DEFAULT_MAXIMUM_BYTES
+                : parsePositiveLong("cache byte limit", cacheBytesSetting);
+        return new Configuration(isVerbose, isMetricsEnabled, engine, threadCount, port, queueCapacity, maxBodyBytes,
+                requestTimeoutMillis, cacheEntries, cacheBytes, configFile, Collections.unmodifiableList(arguments));
+    }
+
+    /**
+     * Watches the current configuration file and reloads the settings whenever it changes, on a daemon thread.
+     * The file's directory is watched with a {@link WatchService}, so no polling takes place. Changes that make the
+     * file invalid are ignored and the previous settings are kept.
+     *
+     * @return a handle that stops watching when closed.
+     * @throws IOException           if the directory cannot be watched.
+     * @throws IllegalStateException if no configuration file was named.
+     */
+    public static AutoCloseable watch() throws IOException {
+        Path configFile = current().getConfigFile();
+        if (configFile == null) {
+            throw new IllegalStateException("No configuration file to watch.");
+        }
+        Path directory = configFile.toAbsolutePath().getParent();
+        Path fileName = configFile.getFileName();
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean isChanged = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        isChanged |= fileName.equals(event.context());
+                    }
+                    if (isChanged) {
+                        reload();
+                    }
+                    if (!key.reset()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Watching stops when the handle is closed
+            }
+        }, "configuration-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        return watchService::close;
+    }
+
+    /**
+     * Checks if verbose mode is enabled, in which prompts and error messages are printed.
+     *
+     * @return true if verbose mode is enabled; false otherwise.
+     */
+    public boolean isVerbose() {
+        return isVerbose;
+    }
+
+    /**
+     * Checks if a scenario file run registers its metrics with JMX, so it can be watched while it runs.
+     *
+     * @return true if metrics are registered; false otherwise.
+     */
+    public boolean isMetricsEnabled() {
+        return isMetricsEnabled;
+    }
+
+    /**
+     * Gets the engine that runs Part 2 scenarios.
+     *
+     * @return the engine.
+     */
+    public SimulationEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Gets the number of worker threads for engines that run in parallel, and for the service mode.
+     *
+     * @return the number of threads.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Gets the port the service mode listens on.
+     *
+     * @return the port, or 0 if the service mode is off.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Gets the number of service requests that can wait for a worker before new ones are turned away.
+     *
+     * @return the queue capacity.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Gets the largest service request body that is accepted.
+     *
+     * @return the limit in bytes.
+     */
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Gets the longest the service mode waits for a request body before answering with 408.
+     *
+     * @return the timeout in milliseconds.
+     */
+    public int getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+     * Gets the largest number of results the service mode keeps in its result cache.
+     *
+     * @return the number of entries.
+     */
+    public int getCacheEntries() {
+        return cacheEntries;
+    }
+
+    /**
+     * Gets the largest estimated size of the results the service mode keeps in its result cache.
+     *
+     * @return the limit in bytes.
+     */
+    public long getCacheBytes() {
+        return cacheBytes;
+    }
+
+    /**
+     * Gets the configuration file.
+     *
+     * @return the path of the file, or null if none was named.
+     */
+    public Path getConfigFile() {
+        return configFile;
+    }
+
+    /**
+     * Gets the command line arguments that are not flags, such as a scenario file.
+     *
+     * @return an unmodifiable list of the arguments.
+     */
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Resolves the current settings again with the same command line, keeping the previous settings on failure.
+     */
+    private static void reload() {
+        synchronized (Configuration.class) {
+            try {
+                current = load(currentArguments, System.getenv(), System.getProperties());
+            } catch (IllegalArgumentException e) {
+                OutputUtil.errorPrint(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Looks up a setting in each source in order of precedence.
+     *
+     * @param key              the name of the setting.
+     * @param flags            the command line flags.
+     * @param systemProperties the system properties.
+     * @param environment      the environment variables.
+     * @param fileSettings     the settings from the configuration file.
+     * @return the value of the setting, or null if no source defines it.
+     */
+    private static String lookUp(String key, Properties flags, Properties systemProperties,
+            Map<String, String> environment, Properties fileSettings) {
+        String value = flags.getProperty(key);
+        if (value == null) {
+            value = systemProperties.getProperty(PROPERTY_PREFIX + key);
+        }
+        if (value == null) {
+            value = environment.get(ENVIRONMENT_PREFIX + key.toUpperCase());
+        }
+        if (value == null) {
+            value = fileSettings.getProperty(key);
+        }
+        return value;
+    }
+
+    /**
+     * Parses a setting that must be a positive integer, such as the number of worker threads.
+     *
+     * @param description the name of the setting for the error message.
+     * @param setting     the value of the setting.
+     * @return the number.
+     * @throws IllegalArgumentException if the value is not a positive integer.
+     */
+    private static int parsePositive(String description, String setting) {
+        try {
+            int value = Integer.parseInt(setting.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with non-positive values
+        }
+        throw new IllegalArgumentException("Invalid " + description + ": " + setting);
+    }
+
+    /**
+     * Parses a setting that must be a positive long integer, such as a size in bytes that may be over 2 GB.
+     *
+     * @param description the name of the setting for the error message.
+     * @param setting     the value of the setting.
+     * @return the number.
+     * @throws IllegalArgumentException if the value is not a positive long integer.
+     */
+    private static long parsePositiveLong(String description, String setting) {
+        try {
+            long value = Long.parseLong(setting.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with non-positive values
+        }
+        throw new IllegalArgumentException("Invalid " + description + ": " + setting);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Represents a Java Flight Recorder event spanning one phase of reading input, such as the board dimensions or a
+ * whole scenario file. Interactive phases are timed per line, from the moment the line is read until it is parsed or
+ * rejected, so the time spent waiting for the user is left out.
+ */
+@Name("org.example.InputParse")
+@Label("Input Parse")
+@Category("Car Simulation")
+@Description("A phase of reading the simulation input.")
+@StackTrace(false)
+@Threshold("0 ms")
+class InputParseEvent extends Event {
+
+    @Label("Phase")
+    private final String phase;
+
+    /**
+     * Constructs an InputParseEvent and starts timing it.
+     *
+     * @param phase the name of the phase.
+     */
+    InputParseEvent(String phase) {
+        this.phase = phase;
+        begin();
+    }
+}
@@ -17,6 +17,8 @@ public final class InputUtil {
 
     private static final Scanner scanner = new Scanner(System.in);
 
+    private static InputParseEvent pendingParseEvent;
+
     /**
      * Is a Private constructor to prevent instantiation of this utility class.
      */
@@ -34,15 +36,15 @@ public final class InputUtil {
 
         while (true) {
             try {
-                if (scanner.hasNextLine()) {
-                    String input = scanner.nextLine().trim();
+                if (hasNextLine()) {
+                    String input = nextLine("partSelection").trim();
                     switch (input) {
                     case "1":
-                        return PartSelection.ONE;
+                        return parsed(PartSelection.ONE);
                     case "2":
-                        return PartSelection.TWO;
+                        return parsed(PartSelection.TWO);
                     case "0":
-                        return PartSelection.EXIT;
+                        return parsed(PartSelection.EXIT);
                     default:
                         OutputUtil.partPromptPrint(Messages.PART_SELECTION_INVALID_VALUE_ERROR);
                     }
@@ -67,7 +69,7 @@ public final class InputUtil {
         int gridHeight = 0;
         while (true) {
             OutputUtil.systemPrint(Messages.READBOARDDIMENSIONS_GRID_PROMPT);
-            String gridInput = scanner.nextLine();
+            String gridInput = nextLine("boardDimensions");
             String[] gridDimensions = gridInput.split(" ");
 
             if (gridDimensions.length != 2) {
@@ -87,7 +89,7 @@ public final class InputUtil {
                 OutputUtil.systemPrint(Messages.READBOARDIDMENSIONS_NOT_A_NUMBER);
             }
         }
-        return new Board(gridWidth, gridHeight);
+        return parsed(new Board(gridWidth, gridHeight));
     }
 
     /**
@@ -101,11 +103,11 @@ public final class InputUtil {
         scanner.nextLine();
         OutputUtil.systemPrint(Messages.SKIPONELINEANDREADCARNAME_PROMPT);
 
-        String nextLine = scanner.nextLine().trim();
+        String nextLine = nextLine("carName").trim();
         if (nextLine.isEmpty()) {
-            return null;
+            return parsed(null);
         }
-        return nextLine;
+        return parsed(nextLine);
     }
 
     /**
@@ -122,7 +124,7 @@ public final class InputUtil {
         Direction initialDirection = null;
         while (true) {
             OutputUtil.systemPrint(Messages.READCARDETAILS_PROMPT);
-            String positionInput = scanner.nextLine();
+            String positionInput = nextLine("carDetails");
             String[] positionDetails = positionInput.split(" ");
 
             if (positionDetails.length != 3) {
@@ -147,9 +149,9 @@ public final class InputUtil {
         }
 
         if (carName.isEmpty()) {
-            return new Car(initialX, initialY, initialDirection);
+            return parsed(new Car(initialX, initialY, initialDirection));
         }
-        return new Car(carName, initialX, initialY, initialDirection);
+        return parsed(new Car(carName, initialX, initialY, initialDirection));
     }
 
     /**
@@ -162,13 +164,59 @@ public final class InputUtil {
         String commandSequence;
         while (true) {
             OutputUtil.systemPrint(Messages.READCARINSTRUCTIONS_PROMPT);
-            commandSequence = scanner.nextLine().toUpperCase();
+            commandSequence = nextLine("carInstructions").toUpperCase();
             if (commandSequence.matches(Instruction.REGEX)) {
                 break;
             } else {
                 OutputUtil.systemPrint(Messages.READCARINSTRUCTIONS_INVALID_COMMAND);
             }
         }
-        return new Instruction(commandSequence);
+        return parsed(new Instruction(commandSequence));
+    }
+
+    /**
+     * Checks if there is another line of input, first committing the parse event of the previous line.
+     *
+     * @return true if another line is available; false otherwise.
+     */
+    private static boolean hasNextLine() {
+        commitParseEvent();
+        return scanner.hasNextLine();
+    }
+
+    /**
+     * Reads the next line of input and starts timing how long it takes to parse.
+     * The parse event of the previous line is committed first, so no event includes the wait for the user.
+     *
+     * @param phase the name of the phase the line belongs to.
+     * @return the line that was read.
+     */
+    private static String nextLine(String phase) {
+        commitParseEvent();
+        String line = scanner.nextLine();
+        pendingParseEvent = new InputParseEvent(phase);
+        return line;
+    }
+
+    /**
+     * Commits the parse event of the last line read and returns the value parsed from it.
+     *
+     * @param value the parsed value.
+     * @param <T>   the type of the parsed value.
+     * @return the given value.
+     */
+    private static <T> T parsed(T value) {
+        commitParseEvent();
+        return value;
+    }
+
+    /**
+     * Commits the parse event of the last line read, if it has not been committed yet.
+     */
+    private static void commitParseEvent() {
+        if (pendingParseEvent != null) {
+            pendingParseEvent.commit();
+            pendingParseEvent = null;
+        }
     }
 }
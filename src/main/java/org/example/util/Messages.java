@@ -47,4 +47,31 @@ public final class Messages {
     public static final String SKIPONELINEANDREADCARNAME_EMPTYLINE_PROMPT = "Please press enter to continue: ";
     public static final String SKIPONELINEANDREADCARNAME_PROMPT = "Enter the car name to add a car, otherwise you "
             + "may enter an empty line to simulate: ";
+
+    // ScenarioParser Messages
+    public static final String SCENARIOPARSER_MISSING_LINE = "Unexpected end of scenario, expected ";
+    public static final String SCENARIOPARSER_BOARD_INVALID = "Board must be two positive integers separated by a "
+            + "space.";
+    public static final String SCENARIOPARSER_CAR_DETAILS_INVALID = "Car details must be two integers and one of N, "
+            + "E, S, W, separated by spaces.";
+    public static final String SCENARIOPARSER_CAR_OUT_OF_BOUNDS = "Car position is out of bounds.";
+    public static final String SCENARIOPARSER_INSTRUCTIONS_INVALID = "Instructions can only contain F, R and L "
+            + "characters.";
+
+    // Batch mode Messages
+    public static final String BATCH_FILE_UNREADABLE = "Unable to read scenario file: ";
+    public static final String BATCH_FILE_INVALID = "Invalid scenario file: ";
+
+    // Service mode Messages
+    public static final String SERVER_STARTED = "Listening for scenarios on port ";
+    public static final String SERVER_UNABLE_TO_START = "Unable to start the simulation service: ";
+    public static final String SERVER_METHOD_NOT_ALLOWED = "Scenarios must be sent with POST.";
+    public static final String SERVER_BODY_TOO_LARGE = "Scenario is larger than the limit of ";
+    public static final String SERVER_REQUEST_TIMEOUT = "Scenario was not received in time.";
+    public static final String SERVER_BUSY = "Too many scenarios in progress, try again later.";
+    public static final String SERVER_INTERNAL_ERROR = "Unable to run the scenario.";
+
+    // Result framing
+    public static final String RESULT_SEPARATOR = "==========";
+    public static final String RESULT_HEADER = "Result: ";
 }
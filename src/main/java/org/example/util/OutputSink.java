@@ -0,0 +1,306 @@
+package org.example.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Utilities class that writes text to a channel on a background thread.
+ * Text is encoded into a small set of byte buffers that are reused for the lifetime of the sink. A full buffer is
+ * handed to the writer thread through a bounded queue, so a caller that produces output faster than the channel
+ * accepts it is blocked rather than using more memory. Output only reaches the channel in whole buffers, or when
+ * {@link #flush()} or {@link #close()} is called.
+ * <p>
+ * The channel is not closed by the sink.
+ */
+public class OutputSink implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    private static final ByteBuffer END_OF_OUTPUT = ByteBuffer.allocate(0);
+    private static final int MAXIMUM_NUMBER_LENGTH = 20;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final WritableByteChannel channel;
+    private final BlockingQueue<ByteBuffer> filledBuffers;
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+    private final Object progressLock;
+    private final Thread writer;
+    private ByteBuffer currentBuffer;
+    private long submittedCount;
+    private long writtenCount;
+    private volatile IOException failure;
+    private boolean isClosed;
+
+    /**
+     * Constructs an OutputSink with the default buffer size and queue capacity.
+     *
+     * @param channel the channel to write to.
+     */
+    public OutputSink(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs an OutputSink and starts its writer thread.
+     *
+     * @param channel       the channel to write to.
+     * @param bufferSize    the size in bytes of each buffer, at least large enough for any number.
+     * @param queueCapacity the number of full buffers that can wait for the writer before callers are blocked.
+     * @throws IllegalArgumentException if the buffer size or queue capacity is too small.
+     */
+    public OutputSink(WritableByteChannel channel, int bufferSize, int queueCapacity) {
+        if (bufferSize < MAXIMUM_NUMBER_LENGTH || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid buffer size or queue capacity.");
+        }
+        this.channel = channel;
+        // One buffer is being filled, up to queueCapacity wait in the queue and one is being written
+        this.filledBuffers = new ArrayBlockingQueue<>(queueCapacity + 1);
+        this.freeBuffers = new ArrayBlockingQueue<>(queueCapacity + 2);
+        for (int index = 0; index < queueCapacity + 2; index++) {
+            freeBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+        this.progressLock = new Object();
+        this.currentBuffer = freeBuffers.remove();
+        this.submittedCount = 0;
+        this.writtenCount = 0;
+        this.isClosed = false;
+        this.writer = new Thread(this::writeBuffers, "output-sink-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Appends text.
+     *
+     * @param text the text to append.
+     * @throws UncheckedIOException  if an earlier write to the channel failed.
+     * @throws IllegalStateException if the sink has been closed.
+     */
+    public synchronized void print(CharSequence text) {
+        checkOpen();
+        int length = text.length();
+        for (int index = 0; index < length; index++) {
+            char character = text.charAt(index);
+            if (character < 0x80) {
+                ensureRemaining(1);
+                currentBuffer.put((byte) character);
+            } else {
+                // Encodes a single character, or a surrogate pair, outside of the ASCII fast path
+                int end = Character.isHighSurrogate(character) && index + 1 < length ? index + 2 : index + 1;
+                byte[] bytes = text.subSequence(index, end).toString().getBytes(StandardCharsets.UTF_8);
+                ensureRemaining(bytes.length);
+                currentBuffer.put(bytes);
+                index = end - 1;
+            }
+        }
+    }
+
+    /**
+     * Appends a number in decimal without creating a string for it.
+     *
+     * @param number the number to append.
+     * @throws UncheckedIOException  if an earlier write to the channel failed.
+     * @throws IllegalStateException if the sink has been closed.
+     */
+    public synchronized void print(long number) {
+        checkOpen();
+        if (number == Long.MIN_VALUE) {
+            print(Long.toString(number));
+            return;
+        }
+        ensureRemaining(MAXIMUM_NUMBER_LENGTH);
+        if (number < 0) {
+            currentBuffer.put((byte) '-');
+            number = -number;
+        }
+        int start = currentBuffer.position();
+        do {
+            currentBuffer.put((byte) ('0' + number % 10));
+            number /= 10;
+        } while (number > 0);
+        // The digits were written from least significant, so they are reversed in place
+        for (int left = start, right = currentBuffer.position() - 1; left < right; left++, right--) {
+            byte digit = currentBuffer.get(left);
+            currentBuffer.put(left, currentBuffer.get(right));
+            currentBuffer.put(right, digit);
+        }
+    }
+
+    /**
+     * Appends text followed by a line separator.
+     *
+     * @param text the text to append.
+     * @throws UncheckedIOException  if an earlier write to the channel failed.
+     * @throws IllegalStateException if the sink has been closed.
+     */
+    public synchronized void println(CharSequence text) {
+        print(text);
+        ensureRemaining(LINE_SEPARATOR.length);
+        currentBuffer.put(LINE_SEPARATOR);
+    }
+
+    /**
+     * Appends a result message with the same framing as {@link OutputUtil#resultPrint(String)}.
+     *
+     * @param message the message to append.
+     * @throws UncheckedIOException  if an earlier write to the channel failed.
+     * @throws IllegalStateException if the sink has been closed.
+     */
+    public synchronized void printResult(CharSequence message) {
+        println(Messages.RESULT_SEPARATOR);
+        println(Messages.RESULT_HEADER);
+        print(message);
+        println(Messages.RESULT_SEPARATOR);
+    }
+
+    /**
+     * Hands the text appended so far to the writer and waits until it has all been written to the channel.
+     *
+     * @throws UncheckedIOException if a write to the channel failed.
+     */
+    public synchronized void flush() {
+        if (currentBuffer.position() > 0) {
+            submit(currentBuffer);
+            currentBuffer = takeFreeBuffer();
+        }
+        synchronized (progressLock) {
+            while (writtenCount < submittedCount) {
+                try {
+                    progressLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while flushing output.", e);
+                }
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Flushes the remaining text and stops the writer thread. Closing an already closed sink has no effect.
+     *
+     * @throws UncheckedIOException if a write to the channel failed.
+     */
+    @Override
+    public synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            isClosed = true;
+            submit(END_OF_OUTPUT);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes each full buffer to the channel and returns it to the free buffers, until the end of the output.
+     * After a failed write, buffers are still taken and returned so that callers are never blocked forever.
+     */
+    private void writeBuffers() {
+        while (true) {
+            ByteBuffer buffer;
+            try {
+                buffer = filledBuffers.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (buffer == END_OF_OUTPUT) {
+                return;
+            }
+            if (failure == null) {
+                try {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            buffer.clear();
+            freeBuffers.add(buffer);
+            synchronized (progressLock) {
+                writtenCount += 1;
+                progressLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Makes sure the current buffer has room for the given number of bytes, handing it to the writer if not.
+     *
+     * @param byteCount the number of bytes about to be appended, at most the buffer size.
+     */
+    private void ensureRemaining(int byteCount) {
+        if (currentBuffer.remaining() < byteCount) {
+            submit(currentBuffer);
+            currentBuffer = takeFreeBuffer();
+        }
+    }
+
+    /**
+     * Queues a buffer for the writer, waiting while the queue is full.
+     *
+     * @param buffer the buffer to write.
+     */
+    private void submit(ByteBuffer buffer) {
+        synchronized (progressLock) {
+            if (buffer != END_OF_OUTPUT) {
+                submittedCount += 1;
+            }
+        }
+        try {
+            filledBuffers.put(buffer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing output.", e);
+        }
+    }
+
+    /**
+     * Takes a buffer that has been written, waiting for the writer if every buffer is in use.
+     *
+     * @return an empty buffer.
+     */
+    private ByteBuffer takeFreeBuffer() {
+        try {
+            return freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an output buffer.", e);
+        }
+    }
+
+    /**
+     * Checks that the sink can still be written to.
+     */
+    private void checkOpen() {
+        if (isClosed) {
+            throw new IllegalStateException("The output sink is closed.");
+        }
+        checkFailure();
+    }
+
+    /**
+     * Rethrows the failure of an earlier write, if any.
+     */
+    private void checkFailure() {
+        IOException exception = failure;
+        if (exception != null) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
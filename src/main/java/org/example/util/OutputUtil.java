@@ -1,9 +1,5 @@
 package org.example.util;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Scanner;
-
 /**
  * Utilities class for handling output operations.
  * This class is created for future logging purposes and provides a central point
@@ -11,6 +7,8 @@ import java.util.Scanner;
  */
 public final class OutputUtil {
 
+    private static volatile OutputSink sink;
+
     /**
      * Is a Private constructor to prevent instantiation of this utility class.
      */
@@ -26,17 +24,27 @@ public final class OutputUtil {
      */
     public static void systemPrint(String message) {
         if (isVerboseMode()) {
-            System.out.println(message);
+            println(message);
         }
     }
 
+    /**
+     * Prints a status message regardless of the verbose setting, such as the port the service listens on, so that
+     * scripts and supervisors can see it.
+     *
+     * @param message the message to be printed.
+     */
+    public static void statusPrint(String message) {
+        println(message);
+    }
+
     /**
      * Prints a system message to get user part.
      *
      * @param message the message to be printed.
      */
     public static void partPromptPrint(String message) {
-        System.out.println(message);
+        println(message);
     }
 
     /**
@@ -46,32 +54,73 @@ public final class OutputUtil {
      * @param message the message to be printed.
      */
     public static void resultPrint(String message) {
-        System.out.println("==========");
-        System.out.println("Result: ");
+        OutputSink outputSink = sink;
+        if (outputSink != null) {
+            outputSink.printResult(message);
+            return;
+        }
+        System.out.println(Messages.RESULT_SEPARATOR);
+        System.out.println(Messages.RESULT_HEADER);
         System.out.print(message);
-        System.out.println("==========");
+        System.out.println(Messages.RESULT_SEPARATOR);
     }
 
     /**
-     * Reads the "verboseSetting" file to determine if verbose mode should be enabled.
-     * If the file contains "true", returns true. If the file contains "false", if the file
-     * is missing, or if it contains anything else, returns false.
+     * Prints a result message on its own, without the framing of {@link #resultPrint(String)}, so that the output
+     * of a batch run can be compared or piped directly.
      *
-     * @return true if verbose mode should be enabled, false otherwise.
+     * @param message the message to be printed.
      */
-    private static boolean isVerboseMode() {
-        File file = new File("src/main/java/org/example/VerboseSetting.txt");
-        boolean verbose = false;
+    public static void batchResultPrint(String message) {
+        OutputSink outputSink = sink;
+        if (outputSink != null) {
+            outputSink.print(message);
+            return;
+        }
+        System.out.print(message);
+    }
+
+    /**
+     * Sends all further standard output through a buffered sink instead of {@link System#out}.
+     * Output written through the sink is only visible once the sink flushes, so it suits batch runs rather than
+     * interactive prompts.
+     *
+     * @param outputSink the sink to write to, or null to write to {@link System#out} again.
+     */
+    public static void setSink(OutputSink outputSink) {
+        sink = outputSink;
+    }
+
+    /**
+     * Prints an error message to the standard error output, regardless of the verbose setting.
+     *
+     * @param message the message to be printed.
+     */
+    public static void errorPrint(String message) {
+        System.err.println(message);
+    }
 
-        try (Scanner scanner = new Scanner(file)) {
-            if (scanner.hasNextLine()) {
-                String setting = scanner.nextLine().trim();
-                verbose = "true".equalsIgnoreCase(setting);
-            }
-        } catch (FileNotFoundException e) {
-            verbose = false;
+    /**
+     * Prints a message followed by a line separator to the sink, if one is set, or to {@link System#out}.
+     *
+     * @param message the message to be printed.
+     */
+    private static void println(String message) {
+        OutputSink outputSink = sink;
+        if (outputSink != null) {
+            outputSink.println(message);
+        } else {
+            System.out.println(message);
         }
+    }
 
-        return verbose;
+    /**
+     * Checks whether verbose mode is enabled in the current {@link Configuration}.
+     * The settings are resolved once, so this does not read any file.
+     *
+     * @return true if verbose mode should be enabled, false otherwise.
+     */
+    private static boolean isVerboseMode() {
+        return Configuration.current().isVerbose();
     }
 }
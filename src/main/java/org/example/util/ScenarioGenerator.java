@@ -0,0 +1,369 @@
+package org.example.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CarInstructionPair;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.PartSelection;
+import org.example.model.Scenario;
+
+/**
+ * Represents a generator of random multi-car scenarios for load and stress testing.
+ * Every run starts again from the seed, so the same seed and settings always give the same fleet, whether it is
+ * handed to an engine, collected into a {@link Scenario} or written as text that {@link ScenarioParser} reads back.
+ * <p>
+ * Cars are placed on distinct cells by skipping a geometrically distributed number of cells between cars, so the cost
+ * grows with the number of cars rather than the size of the board. Each car's program has a uniformly distributed
+ * length, and each command is a move with the straight-run bias as probability, otherwise a left or right turn.
+ * A car only faces a direction in which its next cell is on the board, as the engines turn away any other car; on a
+ * board of a single cell no car can be placed.
+ * With the collision likelihood as probability, a car is paired with a second car further along its row facing it,
+ * both starting with enough moves to meet in the middle unless another car gets in the way.
+ */
+public class ScenarioGenerator {
+
+    private static final int WRITER_BUFFER_SIZE = 1 << 16;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] X_OFFSETS = {0, 1, 0, -1};
+    private static final int[] Y_OFFSETS = {1, 0, -1, 0};
+
+    private final long seed;
+    private final int width;
+    private final int height;
+    private double fleetDensity;
+    private int minimumProgramLength;
+    private int maximumProgramLength;
+    private double straightRunBias;
+    private double collisionLikelihood;
+
+    /**
+     * Constructs a ScenarioGenerator with a 5% fleet density, programs of 16 to 64 commands, a straight-run bias of
+     * 0.6 and no planned collisions.
+     *
+     * @param seed   the seed of every random choice.
+     * @param width  the width of the board.
+     * @param height the height of the board.
+     * @throws IllegalArgumentException if the board is empty.
+     */
+    public ScenarioGenerator(long seed, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid board size: " + width + " " + height);
+        }
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.fleetDensity = 0.05;
+        this.minimumProgramLength = 16;
+        this.maximumProgramLength = 64;
+        this.straightRunBias = 0.6;
+        this.collisionLikelihood = 0;
+    }
+
+    /**
+     * Sets the expected fraction of cells that hold a car, not counting the partners added by planned collisions.
+     *
+     * @param fleetDensity the fraction, above 0 and at most 1.
+     * @throws IllegalArgumentException if the fraction is out of range.
+     */
+    public void setFleetDensity(double fleetDensity) {
+        if (!(fleetDensity > 0 && fleetDensity <= 1)) {
+            throw new IllegalArgumentException("Invalid fleet density: " + fleetDensity);
+        }
+        this.fleetDensity = fleetDensity;
+    }
+
+    /**
+     * Sets the range of program lengths, from which each car's length is drawn uniformly.
+     *
+     * @param minimumProgramLength the shortest program, at least 1.
+     * @param maximumProgramLength the longest program, at least the shortest.
+     * @throws IllegalArgumentException if the range is empty or holds non-positive lengths.
+     */
+    public void setProgramLength(int minimumProgramLength, int maximumProgramLength) {
+        if (minimumProgramLength <= 0 || maximumProgramLength < minimumProgramLength) {
+            throw new IllegalArgumentException("Invalid program length: " + minimumProgramLength + " to "
+                    + maximumProgramLength);
+        }
+        this.minimumProgramLength = minimumProgramLength;
+        this.maximumProgramLength = maximumProgramLength;
+    }
+
+    /**
+     * Sets the probability that a command is a move rather than a turn, so runs of moves are on average
+     * {@code 1 / (1 - straightRunBias)} commands long.
+     *
+     * @param straightRunBias the probability, from 0 to 1.
+     * @throws IllegalArgumentException if the probability is out of range.
+     */
+    public void setStraightRunBias(double straightRunBias) {
+        checkProbability(straightRunBias);
+        this.straightRunBias = straightRunBias;
+    }
+
+    /**
+     * Sets the probability that a placed car is paired with a second car set to meet it head-on.
+     *
+     * @param collisionLikelihood the probability, from 0 to 1.
+     * @throws IllegalArgumentException if the probability is out of range.
+     */
+    public void setCollisionLikelihood(double collisionLikelihood) {
+        checkProbability(collisionLikelihood);
+        this.collisionLikelihood = collisionLikelihood;
+    }
+
+    /**
+     * Creates the board of the generated scenarios.
+     *
+     * @return a new board.
+     */
+    public Board createBoard() {
+        return new Board(width, height);
+    }
+
+    /**
+     * Generates the fleet and hands each car to a consumer, such as an engine's {@code addCarInstructionPair}, without
+     * keeping any of them.
+     *
+     * @param carConsumer the consumer receiving each car and its instruction, in order.
+     * @return the number of cars generated.
+     */
+    public long generate(BiConsumer<Car, Instruction> carConsumer) {
+        try {
+            return generateCars((carNumber, x, y, direction, commands, length) -> carConsumer.accept(
+                    new Car(carName(carNumber), x, y, direction), new Instruction(new String(commands, 0, length))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Generates the fleet as a Part 2 scenario.
+     *
+     * @return the scenario.
+     */
+    public Scenario generateScenario() {
+        List<CarInstructionPair> carInstructionPairs = new ArrayList<>();
+        generate((car, instruction) -> carInstructionPairs.add(new CarInstructionPair(car, instruction)));
+        return new Scenario(PartSelection.TWO, createBoard(), carInstructionPairs);
+    }
+
+    /**
+     * Generates a single program from the program length and straight-run bias settings, for example for a
+     * {@link org.example.service.Simulation}.
+     *
+     * @return the command sequence.
+     */
+    public String generateCommandSequence() {
+        SplittableRandom random = new SplittableRandom(seed);
+        char[] commands = new char[maximumProgramLength];
+        int length = fillCommands(random, commands, 0);
+        return new String(commands, 0, length);
+    }
+
+    /**
+     * Writes the fleet to a file in the Part 2 scenario text format.
+     *
+     * @param path the path of the file.
+     * @return the number of cars written.
+     * @throws IOException if the file cannot be written.
+     */
+    public long writeScenario(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            return writeScenario(writer);
+        }
+    }
+
+    /**
+     * Writes the fleet in the Part 2 scenario text format, buffering the output.
+     *
+     * @param writer the writer to write the text to, which is flushed but not closed.
+     * @return the number of cars written.
+     * @throws IOException if the text cannot be written.
+     */
+    public long writeScenario(Writer writer) throws IOException {
+        BufferedWriter output = new BufferedWriter(writer, WRITER_BUFFER_SIZE);
+        output.write(width + " " + height + "\n\n");
+        long carCount = generateCars((carNumber, x, y, direction, commands, length) -> {
+            output.write(carName(carNumber));
+            output.write('\n');
+            output.write(Integer.toString(x));
+            output.write(' ');
+            output.write(Integer.toString(y));
+            output.write(' ');
+            output.write(direction.toString());
+            output.write('\n');
+            output.write(commands, 0, length);
+            output.write("\n\n");
+        });
+        output.flush();
+        return carCount;
+    }
+
+    /**
+     * Generates the fleet, handing each car to a sink as primitives and a reused command buffer.
+     *
+     * @param carSink the sink receiving each car.
+     * @return the number of cars generated.
+     * @throws IOException if the sink fails.
+     */
+    private long generateCars(CarSink carSink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        char[] commands = new char[maximumProgramLength];
+        char[] partnerCommands = new char[maximumProgramLength];
+        Direction[] validDirections = new Direction[DIRECTIONS.length];
+        long cellCount = (long) width * height;
+        double logSkipProbability = Math.log1p(-fleetDensity);
+        TreeSet<Long> reservedCells = new TreeSet<>();
+        long carCount = 0;
+        long cell = -1;
+        while (true) {
+            cell += 1 + skipLength(random, logSkipProbability);
+            if (cell >= cellCount || cell < 0) {
+                return carCount;
+            }
+            while (!reservedCells.isEmpty() && reservedCells.first() < cell) {
+                reservedCells.pollFirst();
+            }
+            if (reservedCells.remove(cell)) {
+                // The cell already holds the partner of an earlier car
+                continue;
+            }
+            int x = (int) (cell % width);
+            int y = (int) (cell / width);
+
+            int meetingDistance = 1 + random.nextInt(minimumProgramLength);
+            int partnerX = x + 2 * meetingDistance;
+            long partnerCell = cell + 2 * meetingDistance;
+            if (collisionLikelihood > 0 && random.nextDouble() < collisionLikelihood && partnerX < width
+                    && !reservedCells.contains(partnerCell)) {
+                reservedCells.add(partnerCell);
+                int length = fillCommands(random, commands, meetingDistance);
+                int partnerLength = fillCommands(random, partnerCommands, meetingDistance);
+                carSink.accept(carCount, x, y, Direction.EAST, commands, length);
+                carSink.accept(carCount + 1, partnerX, y, Direction.WEST, partnerCommands, partnerLength);
+                carCount += 2;
+            } else {
+                int validDirectionCount = 0;
+                for (Direction direction : DIRECTIONS) {
+                    if (isNextCellWithinBounds(x, y, direction)) {
+                        validDirections[validDirectionCount] = direction;
+                        validDirectionCount += 1;
+                    }
+                }
+                if (validDirectionCount == 0) {
+                    // The board is a single cell, so no car has anywhere to go
+                    continue;
+                }
+                Direction direction = validDirections[random.nextInt(validDirectionCount)];
+                carSink.accept(carCount, x, y, direction, commands, fillCommands(random, commands, 0));
+                carCount += 1;
+            }
+        }
+    }
+
+    /**
+     * Checks if the cell in front of a car is on the board.
+     *
+     * @param x         the x-coordinate of the car.
+     * @param y         the y-coordinate of the car.
+     * @param direction the direction of the car.
+     * @return true if the next cell is on the board; false otherwise.
+     */
+    private boolean isNextCellWithinBounds(int x, int y, Direction direction) {
+        int nextX = x + X_OFFSETS[direction.ordinal()];
+        int nextY = y + Y_OFFSETS[direction.ordinal()];
+        return nextX >= 0 && nextX < width && nextY >= 0 && nextY < height;
+    }
+
+    /**
+     * Fills a buffer with a random program.
+     *
+     * @param random       the source of randomness.
+     * @param commands     the buffer, at least as long as the longest program.
+     * @param forwardCount the number of moves the program must start with, at most the shortest program length.
+     * @return the length of the program.
+     */
+    private int fillCommands(SplittableRandom random, char[] commands, int forwardCount) {
+        int length = minimumProgramLength + random.nextInt(maximumProgramLength - minimumProgramLength + 1);
+        for (int index = 0; index < length; index++) {
+            if (index < forwardCount || random.nextDouble() < straightRunBias) {
+                commands[index] = 'F';
+            } else {
+                commands[index] = random.nextBoolean() ? 'L' : 'R';
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Draws the number of empty cells before the next car.
+     *
+     * @param random             the source of randomness.
+     * @param logSkipProbability the natural logarithm of the probability that a cell is left empty.
+     * @return the number of cells to skip.
+     */
+    private static long skipLength(SplittableRandom random, double logSkipProbability) {
+        if (logSkipProbability == Double.NEGATIVE_INFINITY) {
+            return 0;
+        }
+        // Inverts the geometric distribution; 1 - nextDouble() is never 0, so the logarithm is finite
+        double skip = Math.floor(Math.log(1 - random.nextDouble()) / logSkipProbability);
+        return skip >= Long.MAX_VALUE / 2 ? Long.MAX_VALUE / 2 : (long) skip;
+    }
+
+    /**
+     * Gets the name of a generated car.
+     *
+     * @param carNumber the number of the car, from 0.
+     * @return the name.
+     */
+    private static String carName(long carNumber) {
+        return "C" + carNumber;
+    }
+
+    /**
+     * Checks that a probability is valid.
+     *
+     * @param probability the probability to check.
+     * @throws IllegalArgumentException if the probability is not between 0 and 1.
+     */
+    private static void checkProbability(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Invalid probability: " + probability);
+        }
+    }
+
+    /**
+     * Represents a receiver of generated cars.
+     */
+    private interface CarSink {
+
+        /**
+         * Receives a car.
+         *
+         * @param carNumber the number of the car, from 0.
+         * @param x         the x-coordinate of the car.
+         * @param y         the y-coordinate of the car.
+         * @param direction the direction of the car.
+         * @param commands  the buffer holding the car's program, reused for later cars.
+         * @param length    the length of the program.
+         * @throws IOException if the car cannot be written.
+         */
+        void accept(long carNumber, int x, int y, Direction direction, char[] commands, int length)
+                throws IOException;
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CarInstructionPair;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.PartSelection;
+import org.example.model.Scenario;
+
+/**
+ * Utilities class for reading a whole scenario from text in one pass, without prompting.
+ * The text uses the same layout as the console input. A Part 1 scenario is the board, the car's position and
+ * direction, and its commands on consecutive lines. A Part 2 scenario has a blank line after the board, followed by
+ * cars made of a name, a position and direction, and commands, each car separated by blank lines.
+ */
+public final class ScenarioParser {
+
+    /**
+     * Is a Private constructor to prevent instantiation of this utility class.
+     */
+    private ScenarioParser() {
+        // Prevents instantiation
+    }
+
+    /**
+     * Reads a scenario from a UTF-8 text file.
+     *
+     * @param path the path of the file.
+     * @return the scenario described by the file.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if the file does not describe a valid scenario.
+     */
+    public static Scenario parse(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Reads a scenario from text, detecting the part from whether the board is followed by a blank line.
+     *
+     * @param reader the reader to read the text from.
+     * @return the scenario described by the text.
+     * @throws IOException              if the text cannot be read.
+     * @throws IllegalArgumentException if the text does not describe a valid scenario, with the line number of the
+     *                                  first error.
+     */
+    public static Scenario parse(BufferedReader reader) throws IOException {
+        InputParseEvent parseEvent = new InputParseEvent("scenarioFile");
+        try {
+            LineReader lineReader = new LineReader(reader);
+            String boardLine = lineReader.nextNonBlankLine();
+            if (boardLine == null) {
+                throw lineReader.error(Messages.SCENARIOPARSER_MISSING_LINE + "the board.");
+            }
+            Board board = parseBoard(boardLine, lineReader);
+
+            String line = lineReader.nextLine();
+            if (line != null && !line.isBlank()) {
+                Car car = parseCar("", line, board, lineReader);
+                Instruction instruction = parseInstruction(lineReader.requireLine("the commands."), lineReader);
+                if (lineReader.nextNonBlankLine() != null) {
+                    throw lineReader.error("Part 1 scenarios hold a single car.");
+                }
+                List<CarInstructionPair> carInstructionPairs = new ArrayList<>(1);
+                carInstructionPairs.add(new CarInstructionPair(car, instruction));
+                return new Scenario(PartSelection.ONE, board, carInstructionPairs);
+            }
+
+            List<CarInstructionPair> carInstructionPairs = new ArrayList<>();
+            String carName;
+            while ((carName = lineReader.nextNonBlankLine()) != null) {
+                Car car = parseCar(carName.trim(), lineReader.requireLine("the car's position."), board, lineReader);
+                Instruction instruction = parseInstruction(lineReader.requireLine("the commands."), lineReader);
+                carInstructionPairs.add(new CarInstructionPair(car, instruction));
+            }
+            return new Scenario(PartSelection.TWO, board, carInstructionPairs);
+        } finally {
+            parseEvent.commit();
+        }
+    }
+
+    /**
+     * Parses the board's width and height.
+     *
+     * @param line       the line holding the width and height.
+     * @param lineReader the reader, used for the line number of errors.
+     * @return the board.
+     */
+    private static Board parseBoard(String line, LineReader lineReader) {
+        String[] dimensions = line.trim().split(" ");
+        if (dimensions.length != 2) {
+            throw lineReader.error(Messages.SCENARIOPARSER_BOARD_INVALID);
+        }
+        try {
+            int width = Integer.parseInt(dimensions[0]);
+            int height = Integer.parseInt(dimensions[1]);
+            if (width > 0 && height > 0) {
+                return new Board(width, height);
+            }
+        } catch (NumberFormatException e) {
+            // Reported below together with non-positive dimensions
+        }
+        throw lineReader.error(Messages.SCENARIOPARSER_BOARD_INVALID);
+    }
+
+    /**
+     * Parses a car's position and direction.
+     *
+     * @param carName    the name of the car, or an empty string for the default name.
+     * @param line       the line holding the position and direction.
+     * @param board      the board, which the car must be within.
+     * @param lineReader the reader, used for the line number of errors.
+     * @return the car.
+     */
+    private static Car parseCar(String carName, String line, Board board, LineReader lineReader) {
+        String[] details = line.trim().split(" ");
+        if (details.length != 3) {
+            throw lineReader.error(Messages.SCENARIOPARSER_CAR_DETAILS_INVALID);
+        }
+        int x;
+        int y;
+        Direction direction;
+        try {
+            x = Integer.parseInt(details[0]);
+            y = Integer.parseInt(details[1]);
+            direction = Direction.fromString(details[2]);
+        } catch (IllegalArgumentException e) {
+            throw lineReader.error(Messages.SCENARIOPARSER_CAR_DETAILS_INVALID);
+        }
+        if (!board.isWithinBounds(x, y)) {
+            throw lineReader.error(Messages.SCENARIOPARSER_CAR_OUT_OF_BOUNDS);
+        }
+        if (carName.isEmpty()) {
+            return new Car(x, y, direction);
+        }
+        return new Car(carName, x, y, direction);
+    }
+
+    /**
+     * Parses a car's commands, accepting lowercase commands as the console does.
+     *
+     * @param line       the line holding the commands.
+     * @param lineReader the reader, used for the line number of errors.
+     * @return the instruction.
+     */
+    private static Instruction parseInstruction(String line, LineReader lineReader) {
+        String commandSequence = line.trim().toUpperCase();
+        if (commandSequence.isEmpty()) {
+            throw lineReader.error(Messages.SCENARIOPARSER_INSTRUCTIONS_INVALID);
+        }
+        try {
+            return new Instruction(commandSequence);
+        } catch (IllegalArgumentException e) {
+            throw lineReader.error(Messages.SCENARIOPARSER_INSTRUCTIONS_INVALID);
+        }
+    }
+
+    /**
+     * Represents a reader of lines that keeps track of the current line number for error messages.
+     */
+    private static final class LineReader {
+
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        /**
+         * Constructs a LineReader over a buffered reader.
+         *
+         * @param reader the reader to read lines from.
+         */
+        private LineReader(BufferedReader reader) {
+            this.reader = reader;
+            this.lineNumber = 0;
+        }
+
+        /**
+         * Reads the next line.
+         *
+         * @return the line, or null at the end of the text.
+         * @throws IOException if the text cannot be read.
+         */
+        private String nextLine() throws IOException {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber += 1;
+            }
+            return line;
+        }
+
+        /**
+         * Reads lines until one that is not blank.
+         *
+         * @return the line, or null at the end of the text.
+         * @throws IOException if the text cannot be read.
+         */
+        private String nextNonBlankLine() throws IOException {
+            String line = nextLine();
+            while (line != null && line.isBlank()) {
+                line = nextLine();
+            }
+            return line;
+        }
+
+        /**
+         * Reads the next line, which must exist.
+         *
+         * @param expected a description of what the line should hold.
+         * @return the line.
+         * @throws IOException if the text cannot be read.
+         */
+        private String requireLine(String expected) throws IOException {
+            String line = nextLine();
+            if (line == null) {
+                throw error(Messages.SCENARIOPARSER_MISSING_LINE + expected);
+            }
+            return line;
+        }
+
+        /**
+         * Creates an exception for an error on the current line.
+         *
+         * @param message the description of the error.
+         * @return the exception to throw.
+         */
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Line " + lineNumber + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package org.example.util;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.model.Scenario;
+import org.example.service.BatchRunner;
+import org.example.service.ResultCache;
+import org.example.service.SimulationEngine;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Represents a long-running HTTP service that runs scenarios, so that many small simulations share one JVM.
+ * A scenario is sent as the body of a {@code POST /simulate} request, in the same text format as a scenario file,
+ * and the result is returned as plain text. {@code GET /health} answers as long as the service is up.
+ * <p>
+ * Requests are accepted on the server's dispatcher thread and run on a fixed pool of worker threads. At most
+ * {@code workerCount + queueCapacity} requests are admitted at a time; further requests are answered at once with
+ * 503 rather than queued, so a burst cannot exhaust memory. Bodies larger than the limit are answered with 413, and
+ * are never read past the limit.
+ * <p>
+ * A worker waits at most the request timeout for a body. A client that stalls past it is answered with 408 and its
+ * connection is closed, so it cannot hold a worker. Requests whose headers are still being read after a minute are
+ * dropped by the HTTP server itself.
+ * <p>
+ * The tiled engine is not supported, as it would start a pool of threads for each request on top of the workers.
+ * <p>
+ * When a {@link ResultCache} is given, a scenario that was already run is answered from the cache.
+ */
+public class SimulationServer implements AutoCloseable {
+
+    public static final String SIMULATE_PATH = "/simulate";
+    public static final String HEALTH_PATH = "/health";
+
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int REQUEST_TIMEOUT = 408;
+    private static final int PAYLOAD_TOO_LARGE = 413;
+    private static final int INTERNAL_SERVER_ERROR = 500;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final String CONTENT_TYPE = "text/plain; charset=utf-8";
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final String MAX_REQUEST_TIME_PROPERTY = "sun.net.httpserver.maxReqTime";
+    private static final String MAX_REQUEST_SECONDS = "60";
+
+    static {
+        // Response headers and body are written separately, so with Nagle's algorithm each small answer waits for
+        // the client's delayed acknowledgement. The property is read once, when the first server is created.
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        // A client that stalls while sending headers would otherwise hold the dispatcher thread for good
+        if (System.getProperty(MAX_REQUEST_TIME_PROPERTY) == null) {
+            System.setProperty(MAX_REQUEST_TIME_PROPERTY, MAX_REQUEST_SECONDS);
+        }
+    }
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final Semaphore admissions;
+    private final SimulationEngine engine;
+    private final ResultCache resultCache;
+    private final int maxBodyBytes;
+    private final int requestTimeoutMillis;
+
+    /**
+     * Constructs a SimulationServer bound to an address, without starting it.
+     *
+     * @param address              the address to listen on; port 0 picks a free port.
+     * @param engine               the engine that runs Part 2 scenarios.
+     * @param resultCache          the cache of scenario results, or null to run every scenario.
+     * @param workerCount          the number of worker threads, each running one scenario at a time.
+     * @param queueCapacity        the number of admitted requests that can wait for a worker.
+     * @param maxBodyBytes         the largest accepted request body, in bytes.
+     * @param requestTimeoutMillis the longest a worker waits for a request body, in milliseconds.
+     * @throws IOException              if the address cannot be bound.
+     * @throws IllegalArgumentException if a count or limit is not positive, or the engine is the tiled engine.
+     */
+    public SimulationServer(InetSocketAddress address, SimulationEngine engine, ResultCache resultCache,
+            int workerCount, int queueCapacity, int maxBodyBytes, int requestTimeoutMillis) throws IOException {
+        if (workerCount <= 0 || queueCapacity <= 0 || maxBodyBytes <= 0 || requestTimeoutMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid worker count, queue capacity, request body limit or request timeout.");
+        }
+        if (engine == SimulationEngine.TILED) {
+            throw new IllegalArgumentException("The tiled engine cannot be used in service mode.");
+        }
+        this.engine = engine;
+        this.resultCache = resultCache;
+        this.maxBodyBytes = maxBodyBytes;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.admissions = new Semaphore(workerCount + queueCapacity);
+        AtomicInteger workerNumber = new AtomicInteger();
+        // The admissions semaphore bounds the queue, so it never rejects on its own
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread worker = new Thread(runnable, "simulation-worker-" + workerNumber.incrementAndGet());
+                    worker.setDaemon(true);
+                    return worker;
+                });
+        this.deadlines = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread timer = new Thread(runnable, "simulation-deadlines");
+            timer.setDaemon(true);
+            return timer;
+        });
+        deadlines.setRemoveOnCancelPolicy(true);
+        this.server = HttpServer.create(address, 0);
+        server.createContext(SIMULATE_PATH, this::admit);
+        server.createContext(HEALTH_PATH, exchange -> respond(exchange, OK, "OK"));
+    }
+
+    /**
+     * Starts accepting requests on a background dispatcher thread.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, closes open exchanges and stops the worker threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+        deadlines.shutdownNow();
+    }
+
+    /**
+     * Checks a simulate request on the dispatcher thread and hands it to a worker if it is admitted.
+     *
+     * @param exchange the request.
+     * @throws IOException if a rejection cannot be sent.
+     */
+    private void admit(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            respond(exchange, METHOD_NOT_ALLOWED, Messages.SERVER_METHOD_NOT_ALLOWED);
+            return;
+        }
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null && isTooLarge(contentLength)) {
+            respondTooLarge(exchange);
+            return;
+        }
+        if (!admissions.tryAcquire()) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            respond(exchange, SERVICE_UNAVAILABLE, Messages.SERVER_BUSY);
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    simulate(exchange);
+                } finally {
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The server is shutting down
+            admissions.release();
+            respond(exchange, SERVICE_UNAVAILABLE, Messages.SERVER_BUSY);
+        }
+    }
+
+    /**
+     * Reads, parses and runs the scenario of a request on a worker thread and sends its result.
+     *
+     * @param exchange the request.
+     */
+    private void simulate(HttpExchange exchange) {
+        BodyDeadline deadline = new BodyDeadline(exchange, Thread.currentThread());
+        ScheduledFuture<?> timeout = deadlines.schedule(deadline::expire, requestTimeoutMillis, TimeUnit.MILLISECONDS);
+        byte[] body = null;
+        boolean isRead = false;
+        try {
+            body = readBody(exchange.getRequestBody());
+            isRead = true;
+        } catch (IOException e) {
+            // The client has gone away, or the deadline passed and interrupted the read
+        } finally {
+            timeout.cancel(false);
+        }
+        if (!deadline.finishReading() || !isRead) {
+            // A pending interrupt from the deadline makes closing fail fast instead of draining a stalled client
+            exchange.close();
+            Thread.interrupted();
+            return;
+        }
+        try {
+            if (body == null) {
+                respondTooLarge(exchange);
+                return;
+            }
+            String result;
+            try {
+                Scenario scenario = ScenarioParser.parse(new BufferedReader(
+                        new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8)));
+                result = resultCache == null
+                        ? runScenario(scenario)
+                        : resultCache.getResult(scenario, this::runScenario);
+            } catch (IllegalArgumentException e) {
+                respond(exchange, BAD_REQUEST, Messages.BATCH_FILE_INVALID + e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                respond(exchange, INTERNAL_SERVER_ERROR, Messages.SERVER_INTERNAL_ERROR);
+                return;
+            }
+            respond(exchange, OK, result);
+        } catch (IOException e) {
+            // The client has gone away, so there is nobody to tell
+            exchange.close();
+        }
+    }
+
+    /**
+     * Runs a scenario with the server's engine on the calling worker thread.
+     *
+     * @param scenario the scenario to run.
+     * @return the result of the scenario.
+     */
+    private String runScenario(Scenario scenario) {
+        return BatchRunner.runScenario(scenario, engine, 1);
+    }
+
+    /**
+     * Reads a request body, stopping as soon as it is larger than the limit.
+     *
+     * @param input the request body.
+     * @return the body, or null if it is larger than the limit.
+     * @throws IOException if the body cannot be read.
+     */
+    private byte[] readBody(InputStream input) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int count;
+        while ((count = input.read(buffer)) >= 0) {
+            if (body.size() + count > maxBodyBytes) {
+                return null;
+            }
+            body.write(buffer, 0, count);
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * Checks whether a declared body length is larger than the limit.
+     *
+     * @param contentLength the value of the Content-Length header.
+     * @return whether the body is too large, or false if the length cannot be read and is checked while reading.
+     */
+    private boolean isTooLarge(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim()) > maxBodyBytes;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sends the answer to a body that is larger than the limit.
+     *
+     * @param exchange the request.
+     * @throws IOException if the answer cannot be sent.
+     */
+    private void respondTooLarge(HttpExchange exchange) throws IOException {
+        respond(exchange, PAYLOAD_TOO_LARGE, Messages.SERVER_BODY_TOO_LARGE + maxBodyBytes + " bytes.");
+    }
+
+    /**
+     * Represents the deadline for reading the body of one request. Whichever of the worker finishing the body and the
+     * deadline passing comes first decides how the request ends.
+     */
+    private static final class BodyDeadline {
+
+        private final HttpExchange exchange;
+        private final Thread worker;
+        private boolean isSettled;
+
+        /**
+         * Constructs a BodyDeadline for a request read by the given worker.
+         *
+         * @param exchange the request.
+         * @param worker   the worker thread reading the body.
+         */
+        BodyDeadline(HttpExchange exchange, Thread worker) {
+            this.exchange = exchange;
+            this.worker = worker;
+            this.isSettled = false;
+        }
+
+        /**
+         * Records that the worker has stopped reading the body, unless the deadline has already passed.
+         *
+         * @return true if the worker answers the request; false if the deadline has already answered it.
+         */
+        synchronized boolean finishReading() {
+            if (isSettled) {
+                return false;
+            }
+            isSettled = true;
+            return true;
+        }
+
+        /**
+         * Answers the request with 408 if the worker is still reading its body, then interrupts the worker, whose
+         * blocked read closes the connection. The exchange is left for the worker to close, as closing it here would
+         * wait for the rest of the body.
+         */
+        synchronized void expire() {
+            if (isSettled) {
+                return;
+            }
+            isSettled = true;
+            byte[] bytes = Messages.SERVER_REQUEST_TIMEOUT.getBytes(StandardCharsets.UTF_8);
+            try {
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.getResponseHeaders().set("Connection", "close");
+                exchange.sendResponseHeaders(REQUEST_TIMEOUT, bytes.length);
+                OutputStream output = exchange.getResponseBody();
+                output.write(bytes);
+                output.flush();
+            } catch (IOException e) {
+                // The client has gone away, so there is nobody to tell
+            }
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Sends a plain text answer and closes the exchange.
+     *
+     * @param exchange   the request.
+     * @param statusCode the HTTP status code.
+     * @param text       the body of the answer.
+     * @throws IOException if the answer cannot be sent.
+     */
+    private static void respond(HttpExchange exchange, int statusCode, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        try (OutputStream output = exchange.getResponseBody()) {
+            // A length of 0 would mean a chunked body, while -1 means no body
+            exchange.sendResponseHeaders(statusCode, bytes.length == 0 ? -1 : bytes.length);
+            output.write(bytes);
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.example.Main;
+import org.example.util.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Is a unit test for the Main class.
+ */
+public class MainTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @AfterEach
+    public void tearDown() {
+        Configuration.initialize(new String[0]);
+    }
+
+    @Test
+    public void whenScenarioFileRuns_thenExitStatusIsSuccess() throws IOException {
+        Path scenarioFile = Files.writeString(temporaryDirectory.resolve("scenario.txt"), "10 10\n1 2 N\nFFRFFF\n");
+
+        assertEquals(Main.EXIT_SUCCESS, Main.run(new String[] {scenarioFile.toString()}));
+    }
+
+    @Test
+    public void whenScenarioFileIsMissingOrInvalid_thenExitStatusIsFailure() throws IOException {
+        Path missingFile = temporaryDirectory.resolve("missing.txt");
+        Path invalidFile = Files.writeString(temporaryDirectory.resolve("invalid.txt"), "not a scenario\n");
+
+        assertEquals(Main.EXIT_FAILURE, Main.run(new String[] {missingFile.toString()}));
+        assertEquals(Main.EXIT_FAILURE, Main.run(new String[] {invalidFile.toString()}));
+    }
+
+    @Test
+    public void whenSettingsAreInvalid_thenExitStatusIsFailure() {
+        String[] unknownFlag = {"--bogus"};
+        String[] missingConfigFile = {"--config=" + temporaryDirectory.resolve("missing.properties")};
+
+        assertEquals(Main.EXIT_FAILURE, Main.run(unknownFlag));
+        assertEquals(Main.EXIT_FAILURE, Main.run(missingConfigFile));
+    }
+
+    @Test
+    public void whenServicePortIsInUse_thenExitStatusIsFailure() throws IOException {
+        try (ServerSocket occupied = new ServerSocket(0)) {
+            String[] args = {"--port=" + occupied.getLocalPort()};
+
+            assertEquals(Main.EXIT_FAILURE, Main.run(args));
+        }
+    }
+}
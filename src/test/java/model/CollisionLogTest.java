@@ -0,0 +1,38 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.example.model.CollisionLog;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the CollisionLog class.
+ */
+public class CollisionLogTest {
+
+    @Test
+    public void whenCollisionsAreRecorded_thenTheyAreKeptInOrder() {
+        CollisionLog collisionLog = new CollisionLog();
+        for (int step = 1; step <= 100; step++) {
+            collisionLog.onCollision(step, step + 1, step * 2, step * 3, step);
+        }
+
+        assertEquals(100, collisionLog.size());
+        assertEquals(40, collisionLog.getFirstCarId(39));
+        assertEquals(41, collisionLog.getSecondCarId(39));
+        assertEquals(80, collisionLog.getX(39));
+        assertEquals(120, collisionLog.getY(39));
+        assertEquals(40, collisionLog.getStep(39));
+    }
+
+    @Test
+    public void whenLogIsCleared_thenItIsEmpty() {
+        CollisionLog collisionLog = new CollisionLog();
+        collisionLog.onCollision(0, 1, 2, 3, 4);
+        collisionLog.clear();
+
+        assertEquals(0, collisionLog.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> collisionLog.getStep(0));
+    }
+}
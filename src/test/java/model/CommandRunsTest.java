@@ -0,0 +1,43 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.example.model.CommandRuns;
+import org.example.model.Instruction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the CommandRuns class.
+ */
+public class CommandRunsTest {
+
+    @Test
+    public void whenCommandsRepeat_thenTheyAreCollapsedIntoRuns() {
+        CommandRuns commandRuns = CommandRuns.of(new Instruction("FFFRRLFFFFF"));
+        assertEquals(4, commandRuns.getRunCount());
+        assertEquals(11, commandRuns.getCommandCount());
+        assertEquals('F', commandRuns.getCommand(0));
+        assertEquals(3, commandRuns.getLength(0));
+        assertEquals('R', commandRuns.getCommand(1));
+        assertEquals(2, commandRuns.getLength(1));
+        assertEquals('L', commandRuns.getCommand(2));
+        assertEquals(1, commandRuns.getLength(2));
+        assertEquals(Instruction.FORWARD, commandRuns.getCode(3));
+        assertEquals(5, commandRuns.getLength(3));
+    }
+
+    @Test
+    public void whenInstructionIsPartlyExecuted_thenOnlyRemainingCommandsAreEncoded() {
+        Instruction instruction = new Instruction("RFFL");
+        instruction.nextCommand();
+        CommandRuns commandRuns = CommandRuns.of(instruction);
+        assertEquals(2, commandRuns.getRunCount());
+        assertEquals(3, commandRuns.getCommandCount());
+        assertEquals('F', commandRuns.getCommand(0));
+    }
+
+    @Test
+    public void whenInstructionIsEmpty_thenThereAreNoRuns() {
+        assertEquals(0, CommandRuns.of(new Instruction("")).getRunCount());
+    }
+}
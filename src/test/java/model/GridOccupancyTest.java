@@ -0,0 +1,57 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.example.model.Board;
+import org.example.model.GridOccupancy;
+import org.example.model.OccupancyIndex;
+import org.example.model.OccupancyMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the GridOccupancy class.
+ */
+public class GridOccupancyTest {
+
+    private GridOccupancy gridOccupancy;
+
+    @BeforeEach
+    public void setUp() {
+        gridOccupancy = new GridOccupancy(new Board(4, 3));
+    }
+
+    @Test
+    public void whenCarIsPut_thenOnlyThatCellIsOccupied() {
+        assertEquals(OccupancyIndex.EMPTY, gridOccupancy.put(3, 2, 5));
+        assertEquals(5, gridOccupancy.get(3, 2));
+        assertFalse(gridOccupancy.isOccupied(2, 2));
+        assertEquals(1, gridOccupancy.size());
+    }
+
+    @Test
+    public void whenMoveToFreeCell_thenCarIsMoved() {
+        gridOccupancy.put(0, 0, 1);
+        assertEquals(OccupancyIndex.EMPTY, gridOccupancy.move(0, 0, 1, 0));
+        assertEquals(1, gridOccupancy.get(1, 0));
+        assertFalse(gridOccupancy.isOccupied(0, 0));
+    }
+
+    @Test
+    public void whenMoveToOccupiedCell_thenOccupantIsReportedAndNothingChanges() {
+        gridOccupancy.put(0, 0, 1);
+        gridOccupancy.put(0, 1, 2);
+        assertEquals(2, gridOccupancy.move(0, 0, 0, 1));
+        assertEquals(1, gridOccupancy.get(0, 0));
+        assertEquals(2, gridOccupancy.get(0, 1));
+    }
+
+    @Test
+    public void whenBoardIsWithinCellBudget_thenBoardCreatesGridOccupancy() {
+        Board board = new Board(10, 10);
+        assertInstanceOf(GridOccupancy.class, board.createOccupancyIndex(100));
+        assertInstanceOf(OccupancyMap.class, board.createOccupancyIndex(99));
+    }
+}
@@ -70,4 +70,39 @@ public class InstructionTest {
         commands.add('X');
         assertEquals(List.of('F', 'R', 'L'), instruction.getCommands());
     }
+
+    @Test
+    public void whenSequenceSpansSeveralWords_thenEveryCommandIsPreserved() {
+        String commandSequence = "FFRFFFFRRLFFLLRFRFRFFFFFFFFFFFFFLRLRLRLLLFFFRRRRFFLF".repeat(3);
+        Instruction instruction = new Instruction(commandSequence);
+        assertEquals(commandSequence.length(), instruction.size());
+        StringBuilder executedCommands = new StringBuilder();
+        while (instruction.hasNextCommand()) {
+            executedCommands.append(instruction.nextCommand());
+        }
+        assertEquals(commandSequence, executedCommands.toString());
+    }
+
+    @Test
+    public void whenCommandAtCalled_thenIndexDoesNotMove() {
+        Instruction instruction = new Instruction("FRL");
+        assertEquals('R', instruction.commandAt(1));
+        assertEquals(Instruction.RIGHT, instruction.codeAt(1));
+        assertEquals(0, instruction.getCurrentCommandIndex());
+        assertThrows(IndexOutOfBoundsException.class, () -> instruction.commandAt(3));
+    }
+
+    @Test
+    public void whenRunLengthAtCalled_thenMatchesCommandByCommandScan() {
+        String commandSequence = "F".repeat(70) + "LL" + "R".repeat(33) + "FRL" + "F".repeat(64);
+        Instruction instruction = new Instruction(commandSequence);
+        for (int index = 0; index < commandSequence.length(); index++) {
+            int end = index + 1;
+            while (end < commandSequence.length() && commandSequence.charAt(end) == commandSequence.charAt(index)) {
+                end += 1;
+            }
+            assertEquals(end - index, instruction.runLengthAt(index), "Run at " + index);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> instruction.runLengthAt(commandSequence.length()));
+    }
 }
@@ -0,0 +1,106 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.MappedInstruction;
+import org.example.service.Simulation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Is a unit test for the MappedInstruction class.
+ */
+public class MappedInstructionTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void whenFileHasTrailingLineBreak_thenItIsNotACommand() throws IOException {
+        MappedInstruction instruction = MappedInstruction.open(write("ffrL\r\n"));
+
+        assertEquals(4, instruction.size());
+        assertEquals('F', instruction.nextCommand());
+        assertEquals('F', instruction.nextCommand());
+        assertEquals('R', instruction.nextCommand());
+        assertEquals('L', instruction.nextCommand());
+        assertFalse(instruction.hasNextCommand());
+    }
+
+    @Test
+    public void whenFileHasInvalidCommand_thenItIsOnlyRejectedWhenReached() throws IOException {
+        MappedInstruction instruction = MappedInstruction.open(write("FFXF"));
+
+        assertEquals('F', instruction.nextCommand());
+        assertEquals('F', instruction.nextCommand());
+        assertThrows(IllegalArgumentException.class, instruction::nextCommand);
+    }
+
+    @Test
+    public void whenFileIsEmpty_thenInstructionHasNoCommands() throws IOException {
+        assertFalse(MappedInstruction.open(write("")).hasNextCommand());
+    }
+
+    @Test
+    public void whenSimulated_thenResultMatchesInstructionFromString() throws IOException {
+        String commandSequence = "FFRFFFRRLFLFFFFRF".repeat(50);
+        Board board = new Board(10, 10);
+        Simulation expected = new Simulation(board, new Car("A", 1, 2, Direction.NORTH),
+                new Instruction(commandSequence));
+        Simulation actual = new Simulation(board, new Car("A", 1, 2, Direction.NORTH),
+                MappedInstruction.open(write(commandSequence)));
+
+        assertEquals(expected.runCommands(), actual.runCommandsInRuns());
+    }
+
+    @Test
+    public void whenFileHoldsMoreCommandsThanAnInt_thenCursorReachesTheEnd() throws IOException {
+        long commandCount = Integer.MAX_VALUE + 10L;
+        Path path = temporaryDirectory.resolve("long.txt");
+        // The file is sparse, so only its last page takes up disk space
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(commandCount - 3);
+            file.seek(commandCount - 3);
+            file.write("FLR\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        MappedInstruction instruction = MappedInstruction.open(path);
+
+        instruction.skipCommands(Integer.MAX_VALUE);
+        instruction.skipCommands(7);
+
+        assertEquals(commandCount, instruction.getCommandCount());
+        assertEquals('F', instruction.nextCommand());
+        assertEquals('L', instruction.nextCommand());
+        assertEquals('R', instruction.nextCommand());
+        assertFalse(instruction.hasNextCommand());
+        assertEquals(commandCount, instruction.getPosition());
+        assertFalse(instruction.isIndexable());
+        assertThrows(IllegalStateException.class, instruction::size);
+        assertThrows(IllegalStateException.class, instruction::getCurrentCommandIndex);
+    }
+
+    @Test
+    public void whenFileFitsAnInt_thenInstructionIsIndexable() throws IOException {
+        MappedInstruction instruction = MappedInstruction.open(write("FLR"));
+
+        assertTrue(instruction.isIndexable());
+        assertEquals('L', instruction.commandAt(1));
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(temporaryDirectory.resolve("commands.txt"), content);
+    }
+}
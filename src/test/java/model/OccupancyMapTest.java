@@ -0,0 +1,89 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.example.model.OccupancyMap;
+import org.example.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the OccupancyMap class.
+ */
+public class OccupancyMapTest {
+
+    private OccupancyMap occupancyMap;
+
+    @BeforeEach
+    public void setUp() {
+        occupancyMap = new OccupancyMap();
+    }
+
+    @Test
+    public void whenPositionIsFree_thenGetReturnsEmpty() {
+        assertEquals(OccupancyMap.EMPTY, occupancyMap.get(1, 1));
+        assertFalse(occupancyMap.isOccupied(1, 1));
+    }
+
+    @Test
+    public void whenCarIsPut_thenGetReturnsCarId() {
+        assertEquals(OccupancyMap.EMPTY, occupancyMap.put(1, 2, 7));
+        assertEquals(7, occupancyMap.get(1, 2));
+        assertEquals(OccupancyMap.EMPTY, occupancyMap.get(2, 1));
+        assertEquals(1, occupancyMap.size());
+    }
+
+    @Test
+    public void whenCarIsRemoved_thenPositionIsFree() {
+        occupancyMap.put(1, 2, 7);
+        assertEquals(7, occupancyMap.remove(1, 2));
+        assertFalse(occupancyMap.isOccupied(1, 2));
+        assertEquals(0, occupancyMap.size());
+    }
+
+    @Test
+    public void whenMoveToFreePosition_thenCarIsMoved() {
+        occupancyMap.put(1, 1, 0);
+        assertEquals(OccupancyMap.EMPTY, occupancyMap.move(1, 1, 1, 2));
+        assertEquals(0, occupancyMap.get(1, 2));
+        assertFalse(occupancyMap.isOccupied(1, 1));
+        assertEquals(1, occupancyMap.size());
+    }
+
+    @Test
+    public void whenMoveToOccupiedPosition_thenOccupantIsReportedAndNothingChanges() {
+        occupancyMap.put(1, 1, 0);
+        occupancyMap.put(1, 2, 1);
+        assertEquals(1, occupancyMap.move(1, 1, 1, 2));
+        assertEquals(0, occupancyMap.get(1, 1));
+        assertEquals(1, occupancyMap.get(1, 2));
+    }
+
+    @Test
+    public void whenManyRandomOperations_thenMatchesHashMap() {
+        Random random = new Random(42);
+        Map<Position, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int x = random.nextInt(64) - 8;
+            int y = random.nextInt(64) - 8;
+            if (random.nextBoolean()) {
+                Integer previous = expected.put(new Position(x, y), i);
+                assertEquals(previous == null ? OccupancyMap.EMPTY : previous, occupancyMap.put(x, y, i));
+            } else {
+                Integer previous = expected.remove(new Position(x, y));
+                assertEquals(previous == null ? OccupancyMap.EMPTY : previous, occupancyMap.remove(x, y));
+            }
+        }
+        assertEquals(expected.size(), occupancyMap.size());
+        for (Map.Entry<Position, Integer> entry : expected.entrySet()) {
+            assertTrue(occupancyMap.isOccupied(entry.getKey().getX(), entry.getKey().getY()));
+            assertEquals(entry.getValue(), occupancyMap.get(entry.getKey().getX(), entry.getKey().getY()));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.StreamingInstruction;
+import org.example.service.FleetSimulation;
+import org.example.service.SegmentFleetSimulation;
+import org.example.service.SimulateMultipleCars;
+import org.example.service.Simulation;
+import org.example.service.TiledFleetSimulation;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the StreamingInstruction class.
+ */
+public class StreamingInstructionTest {
+
+    @Test
+    public void whenStreamIsClosed_thenRemainingCommandsAreStillReturned() throws InterruptedException {
+        StreamingInstruction instruction = new StreamingInstruction(4);
+        instruction.putAll("Fr");
+        instruction.close();
+
+        assertTrue(instruction.hasNextCommand());
+        assertEquals('F', instruction.nextCommand());
+        assertEquals('R', instruction.nextCommand());
+        assertFalse(instruction.hasNextCommand());
+        assertEquals(2, instruction.getCurrentCommandIndex());
+        assertThrows(IllegalStateException.class, () -> instruction.put('F'));
+    }
+
+    @Test
+    public void whenStreamIsClosedWhileProducerWaits_thenProducerFails() throws InterruptedException {
+        StreamingInstruction instruction = new StreamingInstruction(2);
+        instruction.putAll("FF");
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                instruction.put('L');
+            } catch (InterruptedException | IllegalStateException e) {
+                failure.set(e);
+            }
+        });
+        producer.start();
+        while (producer.getState() != Thread.State.WAITING && producer.isAlive()) {
+            Thread.onSpinWait();
+        }
+
+        instruction.close();
+        producer.join(5000);
+
+        assertFalse(producer.isAlive());
+        assertTrue(failure.get() instanceof IllegalStateException);
+        assertEquals(List.of('F', 'F'), instruction.getCommands());
+    }
+
+    @Test
+    public void whenCommandIsInvalid_thenThrowsIllegalArgumentException() {
+        StreamingInstruction instruction = new StreamingInstruction(4);
+
+        assertThrows(IllegalArgumentException.class, () -> instruction.put('X'));
+    }
+
+    @Test
+    public void whenCommandIsExecuted_thenItCanNoLongerBeRead() throws InterruptedException {
+        StreamingInstruction instruction = new StreamingInstruction(4);
+        instruction.putAll("LR");
+        instruction.nextCommand();
+
+        assertEquals(Instruction.RIGHT, instruction.codeAt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> instruction.codeAt(0));
+    }
+
+    @Test
+    public void whenStreamIsLongerThanBuffer_thenSimulationMatchesInstructionFromString() throws InterruptedException {
+        String commandSequence = "FFRFFFRRLFLFFFFRF".repeat(500);
+        StreamingInstruction instruction = new StreamingInstruction(16);
+        Thread producer = startProducer(instruction, commandSequence);
+
+        Board board = new Board(10, 10);
+        String expected = new Simulation(board, new Car("A", 1, 2, Direction.NORTH),
+                new Instruction(commandSequence)).runCommands();
+        assertEquals(expected, new Simulation(board, new Car("A", 1, 2, Direction.NORTH), instruction).runCommands());
+        producer.join();
+    }
+
+    @Test
+    public void whenEachCarIsFedByItsOwnProducer_thenSimulateMultipleCarsMatchesInstructionsFromStrings()
+            throws InterruptedException {
+        String firstSequence = "FFRFFFFRRL".repeat(3);
+        String secondSequence = "FFLFFFFFFF".repeat(3);
+        Board board = new Board(10, 10);
+        SimulateMultipleCars expected = new SimulateMultipleCars(board);
+        expected.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction(firstSequence));
+        expected.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction(secondSequence));
+
+        StreamingInstruction firstInstruction = new StreamingInstruction(2);
+        StreamingInstruction secondInstruction = new StreamingInstruction(2);
+        SimulateMultipleCars actual = new SimulateMultipleCars(board);
+        actual.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), firstInstruction);
+        actual.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), secondInstruction);
+        Thread firstProducer = startProducer(firstInstruction, firstSequence);
+        Thread secondProducer = startProducer(secondInstruction, secondSequence);
+
+        assertEquals(expected.runCommands(), actual.runCommands());
+        firstProducer.interrupt();
+        secondProducer.interrupt();
+        firstProducer.join();
+        secondProducer.join();
+    }
+
+    private static Thread startProducer(StreamingInstruction instruction, String commandSequence) {
+        Thread producer = new Thread(() -> {
+            try {
+                instruction.putAll(commandSequence);
+                instruction.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        return producer;
+    }
+
+    @Test
+    public void whenGetCommandsCalled_thenReturnsBufferedCommands() throws InterruptedException {
+        StreamingInstruction instruction = new StreamingInstruction(8);
+        instruction.putAll("FRL");
+        instruction.nextCommand();
+
+        assertEquals(List.of('R', 'L'), instruction.getCommands());
+    }
+
+    @Test
+    public void whenAddedToIndexingEngine_thenThrowsIllegalArgumentException() {
+        StreamingInstruction instruction = new StreamingInstruction(8);
+        Car car = new Car("A", 1, 1, Direction.NORTH);
+
+        assertFalse(instruction.isIndexable());
+        FleetSimulation fleet = new FleetSimulation(new Board(5, 5));
+        SegmentFleetSimulation segment = new SegmentFleetSimulation(new Board(5, 5));
+        assertThrows(IllegalArgumentException.class, () -> fleet.addCarInstructionPair(car, instruction));
+        assertThrows(IllegalArgumentException.class, () -> segment.addCarInstructionPair(car, instruction));
+        try (TiledFleetSimulation tiled = new TiledFleetSimulation(new Board(5, 5), 1, 1, 1)) {
+            assertThrows(IllegalArgumentException.class, () -> tiled.addCarInstructionPair(car, instruction));
+        }
+    }
+
+    @Test
+    public void whenRunInRuns_thenFallsBackToPullingCommands() throws InterruptedException {
+        StreamingInstruction instruction = new StreamingInstruction(16);
+        instruction.putAll("FFRFF");
+        instruction.close();
+        Simulation simulation = new Simulation(new Board(10, 10), new Car("A", 1, 2, Direction.NORTH), instruction);
+
+        assertEquals("3 4 E\n", simulation.runCommandsInRuns());
+    }
+}
@@ -0,0 +1,60 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.example.model.Direction;
+import org.example.model.TrajectoryRecorder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the TrajectoryRecorder class.
+ */
+public class TrajectoryRecorderTest {
+
+    @Test
+    public void whenBuffersAreFull_thenOldestSamplesAreOverwritten() {
+        TrajectoryRecorder recorder = new TrajectoryRecorder(4, 1);
+        for (int step = 1; step <= 10; step++) {
+            recorder.recordStep(0, step, step, 0, 0);
+        }
+
+        assertEquals(4, recorder.size());
+        assertEquals(6, recorder.getOverwrittenCount());
+        assertEquals(7, recorder.getStep(0));
+        assertEquals(10, recorder.getX(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> recorder.getStep(4));
+    }
+
+    @Test
+    public void whenSamplingEveryKSteps_thenOnlyMultiplesOfKAreKept() {
+        TrajectoryRecorder recorder = new TrajectoryRecorder(100, 3);
+        for (int step = 1; step <= 10; step++) {
+            recorder.recordStep(0, step, 0, step, 0);
+        }
+
+        assertEquals(3, recorder.size());
+        assertEquals(3, recorder.getStep(0));
+        assertEquals(9, recorder.getY(2));
+    }
+
+    @Test
+    public void whenSamplingDirectionChanges_thenOnlyTurnsAreKept() {
+        TrajectoryRecorder recorder = new TrajectoryRecorder(100, 1);
+        recorder.setSamplingInterval(1, TrajectoryRecorder.DIRECTION_CHANGES);
+        int[] directions = {0, 0, 1, 1, 1, 2, 2};
+        for (int step = 1; step <= directions.length; step++) {
+            recorder.recordStep(1, step, 0, 0, directions[step - 1]);
+        }
+
+        assertEquals(3, recorder.size());
+        assertEquals(1, recorder.getCarId(0));
+        assertEquals(3, recorder.getStep(1));
+        assertEquals(Direction.SOUTH, recorder.getDirection(2));
+    }
+
+    @Test
+    public void whenIntervalIsNegative_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TrajectoryRecorder(10, -1));
+    }
+}
@@ -0,0 +1,102 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CarInstructionPair;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.PartSelection;
+import org.example.model.Scenario;
+import org.example.service.BatchRunner;
+import org.example.service.SimulationEngine;
+import org.example.service.SimulationMetrics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the BatchRunner class.
+ */
+public class BatchRunnerTest {
+
+    @Test
+    public void whenRunAll_thenResultsAreInInputOrder() {
+        List<Scenario> scenarios = new ArrayList<>();
+        List<String> expectedResults = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            if (i % 2 == 0) {
+                String commands = "F".repeat(i) + "RF";
+                scenarios.add(partOne(new Board(10, 10), new Car(1, 2, Direction.NORTH), commands));
+                expectedResults.add("2 " + Math.min(2 + i, 9) + " E\n");
+            } else {
+                scenarios.add(partTwoExample());
+                expectedResults.add("A B\n5 4\n7\n");
+            }
+        }
+        scenarios.set(0, partOne(new Board(10, 10), new Car(1, 2, Direction.NORTH), "FFRFFFRRLF"));
+        expectedResults.set(0, "4 3 S\n");
+
+        try (BatchRunner batchRunner = new BatchRunner(4)) {
+            assertEquals(expectedResults, batchRunner.runAll(scenarios));
+        }
+    }
+
+    @Test
+    public void whenRunAllWithNoScenarios_thenReturnsEmptyList() {
+        try (BatchRunner batchRunner = new BatchRunner(2)) {
+            assertEquals(List.of(), batchRunner.runAll(List.of()));
+        }
+    }
+
+    @Test
+    public void whenRunIsMonitored_thenMetricsAreRegisteredForTheRun() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName runPattern = new ObjectName(SimulationMetrics.DOMAIN + ":type=SimulationRun,*");
+        List<String> notifications = new ArrayList<>();
+        NotificationListener listener = (notification, handback) -> {
+            MBeanServerNotification serverNotification = (MBeanServerNotification) notification;
+            if (runPattern.apply(serverNotification.getMBeanName())) {
+                notifications.add(serverNotification.getType());
+            }
+        };
+        server.addNotificationListener(MBeanServerDelegate.DELEGATE_NAME, listener, null, null);
+        try {
+            assertEquals("A B\n5 4\n7\n", BatchRunner.runScenario(partTwoExample(), SimulationEngine.FLEET, 1, true));
+            assertEquals("A B\n5 4\n7\n", BatchRunner.runScenario(partTwoExample(), SimulationEngine.FLEET, 1));
+        } finally {
+            server.removeNotificationListener(MBeanServerDelegate.DELEGATE_NAME, listener);
+        }
+
+        assertEquals(List.of(MBeanServerNotification.REGISTRATION_NOTIFICATION,
+                MBeanServerNotification.UNREGISTRATION_NOTIFICATION), notifications);
+    }
+
+    @Test
+    public void whenPartOneScenarioHasTwoCars_thenThrowsIllegalArgumentException() {
+        List<CarInstructionPair> pairs = List.of(
+                new CarInstructionPair(new Car(0, 0, Direction.NORTH), new Instruction("F")),
+                new CarInstructionPair(new Car(1, 1, Direction.NORTH), new Instruction("F")));
+        assertThrows(IllegalArgumentException.class, () -> new Scenario(PartSelection.ONE, new Board(5, 5), pairs));
+    }
+
+    private static Scenario partOne(Board board, Car car, String commands) {
+        return new Scenario(PartSelection.ONE, board, List.of(new CarInstructionPair(car, new Instruction(commands))));
+    }
+
+    private static Scenario partTwoExample() {
+        return new Scenario(PartSelection.TWO, new Board(10, 10), List.of(
+                new CarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL")),
+                new CarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"))));
+    }
+}
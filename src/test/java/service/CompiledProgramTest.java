@@ -0,0 +1,73 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.CompiledProgram;
+import org.example.service.Simulation;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the CompiledProgram class.
+ */
+public class CompiledProgramTest {
+
+    @Test
+    public void whenFinalStateQueried_thenMatchesExample() {
+        Board board = new Board(10, 10);
+        Instruction instruction = new Instruction("FFRFFFRRLF");
+        CompiledProgram compiledProgram = CompiledProgram.compile(board, instruction);
+
+        Car finalState = compiledProgram.finalState(new Car(1, 2, Direction.NORTH));
+
+        assertEquals("4 3 S", finalState.toString());
+        assertTrue(instruction.hasNextCommand());
+    }
+
+    @Test
+    public void whenZeroCommandsQueried_thenStateIsUnchanged() {
+        CompiledProgram compiledProgram = CompiledProgram.compile(new Board(5, 5), new Instruction("FFRF"));
+        assertEquals("2 3 W", compiledProgram.stateAfter(new Car(2, 3, Direction.WEST), 0).toString());
+    }
+
+    @Test
+    public void whenStateAfterQueriedOutsideProgram_thenThrowsIndexOutOfBoundsException() {
+        CompiledProgram compiledProgram = CompiledProgram.compile(new Board(5, 5), new Instruction("FFRF"));
+        Car car = new Car(0, 0, Direction.NORTH);
+        assertThrows(IndexOutOfBoundsException.class, () -> compiledProgram.stateAfter(car, 5));
+        assertThrows(IllegalArgumentException.class, () -> compiledProgram.finalState(new Car(5, 0, Direction.NORTH)));
+    }
+
+    @Test
+    public void whenAnyPrefixQueried_thenMatchesSimulation() {
+        Random random = new Random(11);
+        String commands = "FFFFFLR";
+        for (int trial = 0; trial < 50; trial++) {
+            Board board = new Board(1 + random.nextInt(8), 1 + random.nextInt(8));
+            StringBuilder commandSequence = new StringBuilder();
+            for (int i = random.nextInt(80); i > 0; i--) {
+                commandSequence.append(commands.charAt(random.nextInt(commands.length())));
+            }
+            CompiledProgram compiledProgram = CompiledProgram.compile(board,
+                    new Instruction(commandSequence.toString()));
+            for (int start = 0; start < 10; start++) {
+                int x = random.nextInt(board.getWidth());
+                int y = random.nextInt(board.getHeight());
+                Direction direction = Direction.values()[random.nextInt(4)];
+                int prefixLength = random.nextInt(commandSequence.length() + 1);
+                Simulation simulation = new Simulation(board, new Car(x, y, direction),
+                        new Instruction(commandSequence.substring(0, prefixLength)));
+
+                assertEquals(simulation.runCommands(),
+                        compiledProgram.stateAfter(new Car(x, y, direction), prefixLength) + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.TrajectoryRecorder;
+import org.example.service.FleetSimulation;
+import org.example.service.SimulateMultipleCars;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the FleetSimulation class.
+ */
+public class FleetSimulationTest {
+
+    private Board board;
+    private FleetSimulation fleetSimulation;
+
+    @BeforeEach
+    public void setUp() {
+        board = new Board(5, 5); // Create a 5x5 board for testing
+        fleetSimulation = new FleetSimulation(board);
+    }
+
+    @Test
+    public void whenAddCarWithOccupiedPosition_thenCarIsNotAdded() {
+        assertTrue(fleetSimulation.addCarInstructionPair(new Car("Car1", 1, 1, Direction.NORTH),
+                new Instruction("FF")));
+        assertFalse(fleetSimulation.addCarInstructionPair(new Car("Car2", 1, 1, Direction.SOUTH),
+                new Instruction("FF")));
+        assertEquals(1, fleetSimulation.getCarCount());
+    }
+
+    @Test
+    public void whenAddCarWithInvalidPosition_thenCarIsNotAdded() {
+        Car car = new Car("Car1", 6, 6, Direction.NORTH); // Position out of bounds
+        assertFalse(fleetSimulation.addCarInstructionPair(car, new Instruction("FFRFF")));
+    }
+
+    @Test
+    public void whenRunCommandsWithoutCollisions_thenReturnsNoCollisionsDetected() {
+        fleetSimulation.addCarInstructionPair(new Car("Car1", 1, 1, Direction.NORTH), new Instruction("FFRFF"));
+        fleetSimulation.addCarInstructionPair(new Car("Car2", 2, 2, Direction.EAST), new Instruction("FFLFF"));
+
+        assertEquals("No collisions\n", fleetSimulation.runCommands());
+    }
+
+    @Test
+    public void whenRunCommands_thenCarStateUpdatedCorrectly() {
+        fleetSimulation.addCarInstructionPair(new Car("Car1", 0, 0, Direction.NORTH), new Instruction("FFRFF"));
+        fleetSimulation.runCommands();
+
+        assertEquals(2, fleetSimulation.getX(0));
+        assertEquals(2, fleetSimulation.getY(0));
+        assertEquals(Direction.EAST, fleetSimulation.getDirection(0));
+    }
+
+    @Test
+    public void whenRunCommandsWithCollision_thenReportMatchesSimulateMultipleCars() {
+        Board largeBoard = new Board(10, 10);
+        FleetSimulation fleet = new FleetSimulation(largeBoard);
+        SimulateMultipleCars reference = new SimulateMultipleCars(largeBoard);
+        fleet.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+        fleet.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+        reference.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+        reference.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+
+        String result = fleet.runCommands();
+
+        assertEquals("A B\n5 4\n7\n", result);
+        assertEquals(reference.runCommands(), result);
+    }
+
+    @Test
+    public void whenInstructionIsShared_thenInstructionIsNotConsumed() {
+        Instruction instruction = new Instruction("FRF");
+        fleetSimulation.addCarInstructionPair(new Car("Car1", 0, 0, Direction.NORTH), instruction);
+        fleetSimulation.addCarInstructionPair(new Car("Car2", 0, 2, Direction.NORTH), instruction);
+
+        assertEquals("No collisions\n", fleetSimulation.runCommands());
+        assertTrue(instruction.hasNextCommand());
+        assertEquals(1, fleetSimulation.getX(1));
+        assertEquals(3, fleetSimulation.getY(1));
+    }
+
+    @Test
+    public void whenRunCommandsWithFreezePolicy_thenEveryCollisionIsReported() {
+        FleetSimulation simulation = new FleetSimulation(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 0, Direction.NORTH), new Instruction("FFFFF"));
+        simulation.addCarInstructionPair(new Car("B", 1, 4, Direction.SOUTH), new Instruction("F"));
+        simulation.addCarInstructionPair(new Car("C", 5, 5, Direction.EAST), new Instruction("FF"));
+        simulation.addCarInstructionPair(new Car("D", 1, 6, Direction.SOUTH), new Instruction("FFFF"));
+        CollisionLog collisionLog = new CollisionLog();
+
+        assertEquals(2, simulation.runCommands(CollisionPolicy.FREEZE, collisionLog));
+        assertEquals(2, collisionLog.size());
+        assertEquals(1, collisionLog.getFirstCarId(0));
+        assertEquals(0, collisionLog.getSecondCarId(0));
+        assertEquals(1, collisionLog.getFirstCarId(1));
+        assertEquals(3, collisionLog.getSecondCarId(1));
+        assertEquals(1, collisionLog.getX(1));
+        assertEquals(3, collisionLog.getY(1));
+        assertEquals(3, collisionLog.getStep(1));
+        assertTrue(simulation.isFrozen(3));
+        assertFalse(simulation.isFrozen(2));
+        assertEquals(7, simulation.getX(2));
+    }
+
+    @Test
+    public void whenRunCommandsWithStopPolicy_thenOnlyFirstCollisionIsReported() {
+        FleetSimulation simulation = new FleetSimulation(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 0, Direction.NORTH), new Instruction("FFFFF"));
+        simulation.addCarInstructionPair(new Car("B", 1, 4, Direction.SOUTH), new Instruction("F"));
+        simulation.addCarInstructionPair(new Car("D", 1, 6, Direction.SOUTH), new Instruction("FFFF"));
+
+        assertEquals("B A\n1 3\n3\n", simulation.runCommands());
+    }
+
+    @Test
+    public void whenResumedFromCheckpoint_thenResultMatchesUninterruptedRun() throws IOException {
+        Random random = new Random(12);
+        for (int trial = 0; trial < 50; trial++) {
+            Board randomBoard = new Board(2 + random.nextInt(10), 2 + random.nextInt(10));
+            FleetSimulation uninterrupted = new FleetSimulation(randomBoard);
+            FleetSimulation interrupted = new FleetSimulation(randomBoard);
+            Instruction sharedInstruction = new Instruction("FFRFFLFF");
+            for (int carNumber = 0; carNumber < 12; carNumber++) {
+                Car car = new Car("C" + carNumber, random.nextInt(randomBoard.getWidth()),
+                        random.nextInt(randomBoard.getHeight()), Direction.values()[random.nextInt(4)]);
+                Instruction instruction = carNumber % 3 == 0 ? sharedInstruction : randomInstruction(random);
+                uninterrupted.addCarInstructionPair(car, instruction);
+                interrupted.addCarInstructionPair(car, instruction);
+            }
+            CollisionLog expectedLog = new CollisionLog();
+            uninterrupted.runCommands(CollisionPolicy.FREEZE, expectedLog);
+
+            CollisionLog actualLog = new CollisionLog();
+            interrupted.runSteps(1 + random.nextInt(10), CollisionPolicy.FREEZE, actualLog);
+            ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+            interrupted.writeCheckpoint(checkpoint);
+            FleetSimulation resumed = FleetSimulation.readCheckpoint(
+                    new ByteArrayInputStream(checkpoint.toByteArray()));
+            resumed.runCommands(CollisionPolicy.FREEZE, actualLog);
+
+            assertEquals(expectedLog.size(), actualLog.size());
+            for (int index = 0; index < expectedLog.size(); index++) {
+                assertEquals(expectedLog.getSecondCarId(index), actualLog.getSecondCarId(index));
+                assertEquals(expectedLog.getStep(index), actualLog.getStep(index));
+            }
+            assertEquals(uninterrupted.getCarCount(), resumed.getCarCount());
+            for (int carId = 0; carId < resumed.getCarCount(); carId++) {
+                assertEquals(uninterrupted.getName(carId), resumed.getName(carId));
+                assertEquals(uninterrupted.getX(carId), resumed.getX(carId));
+                assertEquals(uninterrupted.getY(carId), resumed.getY(carId));
+                assertEquals(uninterrupted.getDirection(carId), resumed.getDirection(carId));
+            }
+            assertTrue(resumed.isFinished());
+        }
+    }
+
+    @Test
+    public void whenCarIsUnnamed_thenCheckpointRestoresIt() throws IOException {
+        fleetSimulation.addCarInstructionPair(new Car(1, 2, Direction.NORTH), new Instruction("FFRF"));
+        fleetSimulation.addCarInstructionPair(new Car("\u00e9".repeat(40_000), 3, 0, Direction.NORTH),
+                new Instruction("FF"));
+        fleetSimulation.runSteps(2, CollisionPolicy.FREEZE, new CollisionLog());
+
+        ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+        fleetSimulation.writeCheckpoint(checkpoint);
+        FleetSimulation resumed = FleetSimulation.readCheckpoint(new ByteArrayInputStream(checkpoint.toByteArray()));
+        resumed.runCommands(CollisionPolicy.FREEZE, new CollisionLog());
+
+        assertNull(resumed.getName(0));
+        assertEquals("\u00e9".repeat(40_000), resumed.getName(1));
+        assertEquals(2, resumed.getX(0));
+        assertEquals(4, resumed.getY(0));
+        assertEquals(Direction.EAST, resumed.getDirection(0));
+    }
+
+    @Test
+    public void whenRunStoppedAtCollision_thenFurtherRunsAndCheckpointsAreRejected() {
+        fleetSimulation.addCarInstructionPair(new Car("A", 1, 1, Direction.EAST), new Instruction("FFF"));
+        fleetSimulation.addCarInstructionPair(new Car("B", 3, 1, Direction.WEST), new Instruction("FFF"));
+
+        assertEquals("A B\n2 1\n1\n", fleetSimulation.runCommands());
+        assertTrue(fleetSimulation.isFinished());
+        CollisionLog log = new CollisionLog();
+        ByteArrayOutputStream checkpoint = new ByteArrayOutputStream();
+        assertThrows(IllegalStateException.class, () -> fleetSimulation.runSteps(1, CollisionPolicy.STOP, log));
+        assertThrows(IllegalStateException.class, () -> fleetSimulation.writeCheckpoint(checkpoint));
+    }
+
+    @Test
+    public void whenCheckpointIsInvalid_thenThrowsException() {
+        assertThrows(IOException.class, () -> FleetSimulation.readCheckpoint(
+                new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+    }
+
+    @Test
+    public void whenTrajectoriesAreRecorded_thenSamplesMatchSimulateMultipleCars() {
+        Board randomBoard = new Board(8, 8);
+        Random random = new Random(18);
+        FleetSimulation fleet = new FleetSimulation(randomBoard);
+        SimulateMultipleCars reference = new SimulateMultipleCars(randomBoard);
+        for (int carNumber = 0; carNumber < 10; carNumber++) {
+            int x = random.nextInt(8);
+            int y = random.nextInt(8);
+            Direction direction = Direction.values()[random.nextInt(4)];
+            String commandSequence = "FFLFFRFRRF".substring(random.nextInt(10));
+            fleet.addCarInstructionPair(new Car("C" + carNumber, x, y, direction), new Instruction(commandSequence));
+            reference.addCarInstructionPair(new Car("C" + carNumber, x, y, direction),
+                    new Instruction(commandSequence));
+        }
+        TrajectoryRecorder fleetRecorder = new TrajectoryRecorder(1000, 2);
+        TrajectoryRecorder referenceRecorder = new TrajectoryRecorder(1000, 2);
+        fleetRecorder.setSamplingInterval(3, TrajectoryRecorder.DIRECTION_CHANGES);
+        referenceRecorder.setSamplingInterval(3, TrajectoryRecorder.DIRECTION_CHANGES);
+        fleet.setTrajectoryListener(fleetRecorder);
+        reference.setTrajectoryListener(referenceRecorder);
+
+        assertEquals(reference.runCommands(), fleet.runCommands());
+        assertEquals(referenceRecorder.size(), fleetRecorder.size());
+        for (int index = 0; index < referenceRecorder.size(); index++) {
+            assertEquals(referenceRecorder.getCarId(index), fleetRecorder.getCarId(index));
+            assertEquals(referenceRecorder.getStep(index), fleetRecorder.getStep(index));
+            assertEquals(referenceRecorder.getX(index), fleetRecorder.getX(index));
+            assertEquals(referenceRecorder.getY(index), fleetRecorder.getY(index));
+            assertEquals(referenceRecorder.getDirection(index), fleetRecorder.getDirection(index));
+        }
+    }
+
+    @Test
+    public void whenRandomFleetsAreRun_thenFirstCollisionMatchesSimulateMultipleCars() {
+        RandomFleetCheck.assertFirstCollisionMatchesSimulateMultipleCars(1, 500, FleetSimulation::new,
+                FleetSimulation::addCarInstructionPair, FleetSimulation::runCommands);
+    }
+
+    private static Instruction randomInstruction(Random random) {
+        StringBuilder commandSequence = new StringBuilder();
+        for (int i = random.nextInt(40); i > 0; i--) {
+            commandSequence.append("FFFLR".charAt(random.nextInt(5)));
+        }
+        return new Instruction(commandSequence.toString());
+    }
+}
@@ -0,0 +1,84 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.SimulateMultipleCars;
+
+/**
+ * Is a test helper that runs random fleets through a fleet engine and through SimulateMultipleCars, checking that both
+ * accept the same cars and report the same first collision.
+ */
+final class RandomFleetCheck {
+
+    private static final String COMMANDS = "FFFFFFLR";
+
+    /**
+     * Is a Private constructor to prevent instantiation of this utility class.
+     */
+    private RandomFleetCheck() {
+        // Prevents instantiation
+    }
+
+    /**
+     * Represents the way an engine adds a car, such as {@code FleetSimulation::addCarInstructionPair}.
+     *
+     * @param <T> the type of the engine.
+     */
+    @FunctionalInterface
+    interface CarAdder<T> {
+
+        /**
+         * Adds a car and its instructions to the engine.
+         *
+         * @param simulation  the engine.
+         * @param car         the car to be added.
+         * @param instruction the instructions to be executed by the car.
+         * @return true if the car was added; false otherwise.
+         */
+        boolean add(T simulation, Car car, Instruction instruction);
+    }
+
+    /**
+     * Asserts that the engine matches SimulateMultipleCars on every random fleet.
+     *
+     * @param seed          the seed of the random fleets.
+     * @param trials        the number of fleets to run.
+     * @param engineFactory creates an engine for a board.
+     * @param carAdder      adds a car to an engine.
+     * @param runner        runs an engine and returns its report.
+     * @param <T>           the type of the engine.
+     */
+    static <T> void assertFirstCollisionMatchesSimulateMultipleCars(long seed, int trials,
+            Function<Board, T> engineFactory, CarAdder<T> carAdder, Function<T, String> runner) {
+        Random random = new Random(seed);
+        for (int trial = 0; trial < trials; trial++) {
+            Board board = new Board(1 + random.nextInt(16), 1 + random.nextInt(16));
+            SimulateMultipleCars reference = new SimulateMultipleCars(board);
+            T simulation = engineFactory.apply(board);
+            int carTotal = 1 + random.nextInt(board.getWidth() * board.getHeight() / 4 + 1);
+            for (int carNumber = 0; carNumber < carTotal; carNumber++) {
+                int x = random.nextInt(board.getWidth());
+                int y = random.nextInt(board.getHeight());
+                Direction direction = Direction.values()[random.nextInt(4)];
+                StringBuilder commandSequence = new StringBuilder();
+                for (int i = random.nextInt(40); i > 0; i--) {
+                    commandSequence.append(COMMANDS.charAt(random.nextInt(COMMANDS.length())));
+                }
+                String name = "C" + carNumber;
+                boolean isAdded = reference.addCarInstructionPair(new Car(name, x, y, direction),
+                        new Instruction(commandSequence.toString()));
+                assertEquals(isAdded, carAdder.add(simulation, new Car(name, x, y, direction),
+                        new Instruction(commandSequence.toString())));
+            }
+
+            assertEquals(reference.runCommands(), runner.apply(simulation));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CarInstructionPair;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.model.PartSelection;
+import org.example.model.Scenario;
+import org.example.service.BatchRunner;
+import org.example.service.ResultCache;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the ResultCache class.
+ */
+public class ResultCacheTest {
+
+    @Test
+    public void whenSameScenarioIsRunTwice_thenSecondResultComesFromCache() {
+        ResultCache cache = new ResultCache(10, 1 << 20);
+        AtomicInteger runCount = new AtomicInteger();
+        Function<Scenario, String> simulator = scenario -> {
+            runCount.incrementAndGet();
+            return BatchRunner.runScenario(scenario);
+        };
+
+        assertEquals("A B\n5 4\n7\n", cache.getResult(createScenario("A", "FFRFFFFRRL"), simulator));
+        assertEquals("A B\n5 4\n7\n", cache.getResult(createScenario("A", "FFRFFFFRRL"), simulator));
+
+        assertEquals(1, runCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio());
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    @Test
+    public void whenNameOrCommandsDiffer_thenScenarioIsRunAgain() {
+        ResultCache cache = new ResultCache(10, 1 << 20);
+
+        cache.getResult(createScenario("A", "FFRFFFFRRL"), BatchRunner::runScenario);
+        cache.getResult(createScenario("C", "FFRFFFFRRL"), BatchRunner::runScenario);
+        cache.getResult(createScenario("A", "FFRFFFFRRF"), BatchRunner::runScenario);
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.getEntryCount());
+    }
+
+    @Test
+    public void whenCarIsUnnamed_thenKeyDiffersFromEmptyName() {
+        ResultCache cache = new ResultCache(10, 1 << 20);
+        Board board = new Board(10, 10);
+        Scenario unnamed = new Scenario(PartSelection.ONE, board,
+                List.of(new CarInstructionPair(new Car(1, 2, Direction.NORTH), new Instruction("FFRFFF"))));
+        Scenario emptyName = new Scenario(PartSelection.ONE, board,
+                List.of(new CarInstructionPair(new Car("", 1, 2, Direction.NORTH), new Instruction("FFRFFF"))));
+
+        assertEquals("4 4 E\n", cache.getResult(unnamed, BatchRunner::runScenario));
+        assertEquals("4 4 E\n", cache.getResult(emptyName, BatchRunner::runScenario));
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void whenEntryBoundIsReached_thenLeastRecentlyUsedResultIsEvicted() {
+        ResultCache cache = new ResultCache(2, 1 << 20);
+        Scenario first = createScenario("A", "F");
+        Scenario second = createScenario("A", "FF");
+        Scenario third = createScenario("A", "FFF");
+
+        cache.getResult(first, BatchRunner::runScenario);
+        cache.getResult(second, BatchRunner::runScenario);
+        cache.getResult(first, BatchRunner::runScenario);
+        cache.getResult(third, BatchRunner::runScenario);
+        cache.getResult(first, BatchRunner::runScenario);
+        cache.getResult(second, BatchRunner::runScenario);
+
+        // first was used more recently than second when third was added, so second was evicted
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    public void whenByteBoundIsReached_thenResultsAreEvicted() {
+        String longResult = "x".repeat(1000);
+        ResultCache cache = new ResultCache(100, 2500);
+
+        for (int carNumber = 0; carNumber < 5; carNumber++) {
+            cache.getResult(createScenario("C" + carNumber, "F"), scenario -> longResult);
+        }
+        cache.getResult(createScenario("tooLarge", "F"), scenario -> "x".repeat(3000));
+
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(3, cache.getEvictionCount());
+        assertTrue(cache.getByteCount() <= 2500);
+    }
+
+    @Test
+    public void whenManyThreadsShareCache_thenCountsAndBoundsHold() throws Exception {
+        ResultCache cache = new ResultCache(4, 1 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int index = 0; index < 2000; index++) {
+                Scenario scenario = createScenario("A", "F".repeat(1 + index % 6));
+                results.add(executor.submit(() -> cache.getResult(scenario, BatchRunner::runScenario)));
+            }
+            for (int index = 0; index < results.size(); index++) {
+                String expected = BatchRunner.runScenario(createScenario("A", "F".repeat(1 + index % 6)));
+                assertEquals(expected, results.get(index).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.getEntryCount() <= 4);
+    }
+
+    private static Scenario createScenario(String firstName, String firstCommands) {
+        List<CarInstructionPair> carInstructionPairs = List.of(
+                new CarInstructionPair(new Car(firstName, 1, 2, Direction.NORTH), new Instruction(firstCommands)),
+                new CarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF")));
+        return new Scenario(PartSelection.TWO, new Board(10, 10), carInstructionPairs);
+    }
+}
@@ -0,0 +1,59 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.SegmentFleetSimulation;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the SegmentFleetSimulation class.
+ */
+public class SegmentFleetSimulationTest {
+
+    @Test
+    public void whenRunCommandsWithCollision_thenReturnsCollisionReport() {
+        SegmentFleetSimulation simulation = new SegmentFleetSimulation(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+        simulation.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+
+        assertEquals("A B\n5 4\n7\n", simulation.runCommands());
+    }
+
+    @Test
+    public void whenCarDrivesIntoFinishedCar_thenReturnsCollisionReport() {
+        SegmentFleetSimulation simulation = new SegmentFleetSimulation(new Board(1000, 1000));
+        simulation.addCarInstructionPair(new Car("A", 0, 500, Direction.EAST), new Instruction("F"));
+        simulation.addCarInstructionPair(new Car("B", 999, 500, Direction.WEST), new Instruction("F".repeat(2000)));
+
+        assertEquals("A B\n1 500\n998\n", simulation.runCommands());
+    }
+
+    @Test
+    public void whenCarsPassWithoutMeeting_thenReturnsNoCollisions() {
+        SegmentFleetSimulation simulation = new SegmentFleetSimulation(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 0, 0, Direction.NORTH), new Instruction("FFFFFFFFFFFF"));
+        simulation.addCarInstructionPair(new Car("B", 9, 0, Direction.NORTH), new Instruction("FFFFFFFFFFFF"));
+
+        assertEquals("No collisions\n", simulation.runCommands());
+        assertEquals(2, simulation.getCarCount());
+    }
+
+    @Test
+    public void whenCarIsAddedOnOccupiedPosition_thenReturnsFalse() {
+        SegmentFleetSimulation simulation = new SegmentFleetSimulation(new Board(5, 5));
+        simulation.addCarInstructionPair(new Car("A", 1, 1, Direction.NORTH), new Instruction("F"));
+
+        assertFalse(simulation.addCarInstructionPair(new Car("B", 1, 1, Direction.EAST), new Instruction("F")));
+    }
+
+    @Test
+    public void whenRandomFleetsAreRun_thenFirstCollisionMatchesSimulateMultipleCars() {
+        RandomFleetCheck.assertFirstCollisionMatchesSimulateMultipleCars(10, 500, SegmentFleetSimulation::new,
+                SegmentFleetSimulation::addCarInstructionPair, SegmentFleetSimulation::runCommands);
+    }
+}
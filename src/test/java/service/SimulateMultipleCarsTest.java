@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.example.model.Board;
 import org.example.model.Car;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
 import org.example.model.Direction;
 import org.example.model.Instruction;
 import org.example.model.Position;
@@ -103,4 +105,62 @@ public class SimulateMultipleCarsTest {
 
         assertFalse(instruction1.hasNextCommand());
     }
+
+    @Test
+    public void whenBoardExceedsDenseCellBudget_thenResultIsUnchanged() {
+        Board largeBoard = new Board(10, 10);
+        SimulateMultipleCars denseSimulation = new SimulateMultipleCars(largeBoard, Long.MAX_VALUE);
+        SimulateMultipleCars hashedSimulation = new SimulateMultipleCars(largeBoard, 0);
+        denseSimulation.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+        denseSimulation.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+        hashedSimulation.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+        hashedSimulation.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+
+        assertEquals("A B\n5 4\n7\n", denseSimulation.runCommands());
+        assertEquals("A B\n5 4\n7\n", hashedSimulation.runCommands());
+    }
+
+    @Test
+    public void whenShortProgramsFinish_thenCompletedCarsStillBlockTheirCells() {
+        Car parkedCar = new Car("Parked", 2, 2, Direction.NORTH);
+        Car turningCar = new Car("Turning", 0, 0, Direction.NORTH);
+        Car longCar = new Car("Long", 2, 3, Direction.SOUTH);
+        simulateMultipleCars.addCarInstructionPair(parkedCar, new Instruction("R"));
+        simulateMultipleCars.addCarInstructionPair(turningCar, new Instruction("LLLL"));
+        simulateMultipleCars.addCarInstructionPair(longCar, new Instruction("LRLRLRF"));
+
+        assertEquals("Parked Long\n2 2\n7\n", simulateMultipleCars.runCommands());
+    }
+
+    @Test
+    public void whenRunCommandsWithFreezePolicy_thenEveryCollisionIsReported() {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 0, Direction.NORTH), new Instruction("FFFFF"));
+        simulation.addCarInstructionPair(new Car("B", 1, 4, Direction.SOUTH), new Instruction("F"));
+        simulation.addCarInstructionPair(new Car("C", 5, 5, Direction.EAST), new Instruction("FF"));
+        simulation.addCarInstructionPair(new Car("D", 1, 6, Direction.SOUTH), new Instruction("FFFF"));
+        CollisionLog collisionLog = new CollisionLog();
+
+        assertEquals(2, simulation.runCommands(CollisionPolicy.FREEZE, collisionLog));
+        assertEquals(2, collisionLog.size());
+        assertEquals(1, collisionLog.getFirstCarId(0));
+        assertEquals(0, collisionLog.getSecondCarId(0));
+        assertEquals(1, collisionLog.getFirstCarId(1));
+        assertEquals(3, collisionLog.getSecondCarId(1));
+        assertEquals(1, collisionLog.getX(1));
+        assertEquals(3, collisionLog.getY(1));
+        assertEquals(3, collisionLog.getStep(1));
+        assertEquals(new Position(1, 3), simulation.getCar(0).getPosition());
+        assertEquals(new Position(7, 5), simulation.getCar(2).getPosition());
+    }
+
+    @Test
+    public void whenRunCommandsWithStopPolicy_thenOnlyFirstCollisionIsReported() {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 0, Direction.NORTH), new Instruction("FFFFF"));
+        simulation.addCarInstructionPair(new Car("B", 1, 4, Direction.SOUTH), new Instruction("F"));
+        simulation.addCarInstructionPair(new Car("D", 1, 6, Direction.SOUTH), new Instruction("FFFF"));
+
+        assertEquals("B A\n1 3\n3\n", simulation.runCommands());
+    }
 }
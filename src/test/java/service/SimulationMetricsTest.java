@@ -0,0 +1,91 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.FleetSimulation;
+import org.example.service.SimulateMultipleCars;
+import org.example.service.SimulationMetrics;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the SimulationMetrics class.
+ */
+public class SimulationMetricsTest {
+
+    @Test
+    public void whenSimulationRuns_thenMetricsCountStepsLookupsAndCollisions() {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+        simulation.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+        SimulationMetrics metrics = new SimulationMetrics("SimulateMultipleCars");
+        simulation.setMetrics(metrics);
+
+        assertEquals("A B\n5 4\n7\n", simulation.runCommands());
+        assertEquals(7, metrics.getStepsExecuted());
+        assertEquals(1, metrics.getCollisionsFound());
+        // A moves in steps 1, 2, 4, 5, 6 and 7, B in steps 1, 2, 4, 5, 6 and 7
+        assertEquals(12, metrics.getOccupancyLookups());
+        assertEquals(2, metrics.getOccupancySize());
+        assertEquals(7, Arrays.stream(metrics.getTickLatencyBuckets()).sum());
+        assertTrue(metrics.getTickLatencyP50Nanos() <= metrics.getTickLatencyP99Nanos());
+        assertTrue(metrics.getMaxTickLatencyNanos() > 0);
+        assertTrue(metrics.getTicksPerSecond() > 0);
+    }
+
+    @Test
+    public void whenFleetRunsWithFreeze_thenMetricsMatchSimulateMultipleCars() {
+        SimulateMultipleCars reference = new SimulateMultipleCars(new Board(6, 6));
+        FleetSimulation fleet = new FleetSimulation(new Board(6, 6));
+        String[] commandSequences = {"FFFFRFF", "FFLFFRF", "RFFFFFF", "FLFFRFFF"};
+        for (int carNumber = 0; carNumber < commandSequences.length; carNumber++) {
+            reference.addCarInstructionPair(new Car("C" + carNumber, carNumber, carNumber, Direction.EAST),
+                    new Instruction(commandSequences[carNumber]));
+            fleet.addCarInstructionPair(new Car("C" + carNumber, carNumber, carNumber, Direction.EAST),
+                    new Instruction(commandSequences[carNumber]));
+        }
+        SimulationMetrics referenceMetrics = new SimulationMetrics("SimulateMultipleCars");
+        SimulationMetrics fleetMetrics = new SimulationMetrics("FleetSimulation");
+        reference.setMetrics(referenceMetrics);
+        fleet.setMetrics(fleetMetrics);
+
+        assertEquals(reference.runCommands(CollisionPolicy.FREEZE, new CollisionLog()),
+                fleet.runCommands(CollisionPolicy.FREEZE, new CollisionLog()));
+        assertEquals(referenceMetrics.getStepsExecuted(), fleetMetrics.getStepsExecuted());
+        assertEquals(referenceMetrics.getCollisionsFound(), fleetMetrics.getCollisionsFound());
+        assertEquals(referenceMetrics.getOccupancyLookups(), fleetMetrics.getOccupancyLookups());
+        assertEquals(0, fleetMetrics.getActiveCars());
+    }
+
+    @Test
+    public void whenRegistered_thenAttributesAreReadableUntilClosed() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        SimulationMetrics metrics = SimulationMetrics.register("SimulateMultipleCars");
+        ObjectName name = metrics.getObjectName();
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(5, 5));
+        simulation.addCarInstructionPair(new Car("A", 1, 1, Direction.NORTH), new Instruction("FFR"));
+        simulation.setMetrics(metrics);
+        simulation.runCommands();
+
+        assertEquals(3L, server.getAttribute(name, "StepsExecuted"));
+        assertEquals("SimulateMultipleCars", server.getAttribute(name, "Engine"));
+        metrics.close();
+        assertFalse(server.isRegistered(name));
+        assertNull(metrics.getObjectName());
+        assertEquals(3, metrics.getStepsExecuted());
+    }
+}
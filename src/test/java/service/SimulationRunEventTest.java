@@ -0,0 +1,92 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.FleetSimulation;
+import org.example.service.SimulateMultipleCars;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Is a unit test for the Java Flight Recorder events of the simulation engines.
+ */
+public class SimulationRunEventTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void whenRecording_thenRunAndCollisionEventsAreWritten() throws IOException {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+        simulation.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+
+        List<RecordedEvent> events = record(simulation::runCommands);
+        List<RecordedEvent> runEvents = named(events, "org.example.SimulationRun");
+        List<RecordedEvent> collisionEvents = named(events, "org.example.Collision");
+
+        assertEquals(1, runEvents.size());
+        assertEquals("SimulateMultipleCars", runEvents.get(0).getString("engine"));
+        assertEquals(10, runEvents.get(0).getInt("boardWidth"));
+        assertEquals(2, runEvents.get(0).getInt("carCount"));
+        assertEquals(7, runEvents.get(0).getInt("stepCount"));
+        assertEquals(1, collisionEvents.size());
+        assertEquals(0, collisionEvents.get(0).getInt("firstCarId"));
+        assertEquals(1, collisionEvents.get(0).getInt("secondCarId"));
+        assertEquals(5, collisionEvents.get(0).getInt("x"));
+        assertEquals(4, collisionEvents.get(0).getInt("y"));
+        assertEquals(7, collisionEvents.get(0).getInt("step"));
+    }
+
+    @Test
+    public void whenRecordingLongRun_thenOnlySampledTicksAreWritten() throws IOException {
+        FleetSimulation simulation = new FleetSimulation(new Board(5, 5));
+        simulation.addCarInstructionPair(new Car("A", 2, 2, Direction.NORTH), new Instruction("R".repeat(200)));
+
+        List<RecordedEvent> events = record(() -> simulation.runCommands(CollisionPolicy.FREEZE, new CollisionLog()));
+        List<RecordedEvent> tickEvents = named(events, "org.example.SimulationTick");
+
+        assertEquals(3, tickEvents.size());
+        assertEquals(64, tickEvents.get(0).getInt("step"));
+        assertEquals("FleetSimulation", tickEvents.get(0).getString("engine"));
+        assertTrue(named(events, "org.example.Collision").isEmpty());
+    }
+
+    private List<RecordedEvent> record(Runnable run) throws IOException {
+        Path file = temporaryDirectory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.SimulationRun");
+            recording.enable("org.example.SimulationTick").withThreshold(Duration.ZERO);
+            recording.enable("org.example.Collision");
+            recording.start();
+            run.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((first, second) -> first.getStartTime().compareTo(second.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
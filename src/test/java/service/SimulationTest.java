@@ -1,6 +1,9 @@
 package service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Random;
 
 import org.example.model.Board;
 import org.example.model.Car;
@@ -77,4 +80,37 @@ public class SimulationTest {
 
         assertEquals("0 0 S\n", result); // Car should not move since it's already at the edge
     }
+
+    @Test
+    public void whenRunCommandsInRunsWithLongStraights_thenCarStopsAtEdge() {
+        Car car = new Car("TestCar", 0, 0, Direction.NORTH);
+        Instruction instruction = new Instruction("FFFFFFFFRRRRRFFFFFFFFFLLLLLLF");
+
+        Simulation simulation = new Simulation(board, car, instruction);
+        String result = simulation.runCommandsInRuns();
+
+        assertEquals("3 4 W\n", result);
+        assertFalse(instruction.hasNextCommand());
+    }
+
+    @Test
+    public void whenRunCommandsInRunsOnRandomPrograms_thenMatchesRunCommands() {
+        Random random = new Random(7);
+        String commands = "FFFFLR";
+        for (int trial = 0; trial < 200; trial++) {
+            StringBuilder commandSequence = new StringBuilder();
+            for (int i = random.nextInt(60); i > 0; i--) {
+                commandSequence.append(commands.charAt(random.nextInt(commands.length())));
+            }
+            int x = random.nextInt(5);
+            int y = random.nextInt(5);
+            Direction direction = Direction.values()[random.nextInt(4)];
+            Simulation stepwise = new Simulation(board, new Car(x, y, direction),
+                    new Instruction(commandSequence.toString()));
+            Simulation inRuns = new Simulation(board, new Car(x, y, direction),
+                    new Instruction(commandSequence.toString()));
+
+            assertEquals(stepwise.runCommands(), inRuns.runCommandsInRuns());
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.TiledFleetSimulation;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the TiledFleetSimulation class.
+ */
+public class TiledFleetSimulationTest {
+
+    @Test
+    public void whenRunCommandsWithCollision_thenReturnsCollisionReport() {
+        try (TiledFleetSimulation simulation = new TiledFleetSimulation(new Board(10, 10), 3, 3, 2)) {
+            simulation.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFFFFRRL"));
+            simulation.addCarInstructionPair(new Car("B", 7, 8, Direction.WEST), new Instruction("FFLFFFFFFF"));
+
+            assertEquals("A B\n5 4\n7\n", simulation.runCommands());
+        }
+    }
+
+    @Test
+    public void whenRunCommandsWithoutCollisions_thenCarsCrossTiles() {
+        try (TiledFleetSimulation simulation = new TiledFleetSimulation(new Board(10, 10), 4, 4, 2)) {
+            simulation.addCarInstructionPair(new Car("A", 0, 0, Direction.NORTH), new Instruction("FFFFFFFFRFFFFFFF"));
+
+            assertEquals("No collisions\n", simulation.runCommands());
+            assertEquals(7, simulation.getX(0));
+            assertEquals(8, simulation.getY(0));
+            assertEquals(Direction.EAST, simulation.getDirection(0));
+        }
+    }
+
+    @Test
+    public void whenTileGridIsNotPositive_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TiledFleetSimulation(new Board(5, 5), 0, 1, 1));
+    }
+
+    @Test
+    public void whenRandomFleetsAreRun_thenFirstCollisionMatchesSimulateMultipleCars() {
+        Random tileGrids = new Random(3);
+        Function<Board, TiledFleetSimulation> engineFactory = board -> new TiledFleetSimulation(board,
+                1 + tileGrids.nextInt(4), 1 + tileGrids.nextInt(4), 3);
+        Function<TiledFleetSimulation, String> runner = simulation -> {
+            try (simulation) {
+                return simulation.runCommands();
+            }
+        };
+
+        RandomFleetCheck.assertFirstCollisionMatchesSimulateMultipleCars(3, 300, engineFactory,
+                TiledFleetSimulation::addCarInstructionPair, runner);
+    }
+}
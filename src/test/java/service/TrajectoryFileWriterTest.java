@@ -0,0 +1,204 @@
+package service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.example.model.Board;
+import org.example.model.Car;
+import org.example.model.CollisionLog;
+import org.example.model.CollisionPolicy;
+import org.example.model.Direction;
+import org.example.model.Instruction;
+import org.example.service.SimulateMultipleCars;
+import org.example.service.TrajectoryFileReader;
+import org.example.service.TrajectoryFileWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Is a unit test for the TrajectoryFileWriter and TrajectoryFileReader classes.
+ */
+public class TrajectoryFileWriterTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void whenReadStep_thenReturnsCarStatesAfterThatStep() throws IOException {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(10, 10));
+        simulation.addCarInstructionPair(new Car("A", 1, 2, Direction.NORTH), new Instruction("FFRFF"));
+        simulation.addCarInstructionPair(new Car("B", 7, 8, Direction.SOUTH), new Instruction("FLF"));
+        Path file = temporaryDirectory.resolve("run.trj");
+        TrajectoryFileWriter writer = new TrajectoryFileWriter(Files.newOutputStream(file), simulation, 2);
+        try {
+            simulation.runCommands();
+        } finally {
+            writer.close();
+        }
+
+        try (TrajectoryFileReader reader = TrajectoryFileReader.open(file)) {
+            int[] xCoordinates = new int[2];
+            int[] yCoordinates = new int[2];
+            byte[] directions = new byte[2];
+            assertEquals(2, reader.getCarCount());
+            assertEquals(5, reader.getStepCount());
+
+            reader.readStep(0, xCoordinates, yCoordinates, directions);
+            assertArrayEquals(new int[] {1, 7}, xCoordinates);
+            assertArrayEquals(new int[] {2, 8}, yCoordinates);
+            reader.readStep(3, xCoordinates, yCoordinates, directions);
+            assertArrayEquals(new int[] {1, 8}, xCoordinates);
+            assertArrayEquals(new int[] {4, 7}, yCoordinates);
+            assertArrayEquals(new byte[] {(byte) Direction.EAST.ordinal(), (byte) Direction.EAST.ordinal()},
+                    directions);
+            reader.readStep(5, xCoordinates, yCoordinates, directions);
+            assertArrayEquals(new int[] {3, 8}, xCoordinates);
+            assertArrayEquals(new int[] {4, 7}, yCoordinates);
+        }
+    }
+
+    @Test
+    public void whenRandomRunsRecorded_thenEveryStepMatchesReplay() throws IOException {
+        Random random = new Random(19);
+        for (int trial = 0; trial < 30; trial++) {
+            SimulateMultipleCars recorded = new SimulateMultipleCars(new Board(8, 8));
+            SimulateMultipleCars replayed = new SimulateMultipleCars(new Board(8, 8));
+            for (int carNumber = 0; carNumber < 12; carNumber++) {
+                int x = random.nextInt(8);
+                int y = random.nextInt(8);
+                Direction direction = Direction.values()[random.nextInt(4)];
+                String commandSequence = randomCommands(random);
+                recorded.addCarInstructionPair(new Car("C" + carNumber, x, y, direction),
+                        new Instruction(commandSequence));
+                replayed.addCarInstructionPair(new Car("C" + carNumber, x, y, direction),
+                        new Instruction(commandSequence));
+            }
+            List<int[]> expectedStates = new ArrayList<>();
+            expectedStates.add(snapshot(replayed));
+            replayed.setTrajectoryListener((carId, step, x, y, direction) -> {
+                while (expectedStates.size() <= step) {
+                    expectedStates.add(snapshot(replayed));
+                }
+                int[] state = expectedStates.get(step);
+                state[carId * 3] = x;
+                state[carId * 3 + 1] = y;
+                state[carId * 3 + 2] = direction;
+            });
+            replayed.runCommands(CollisionPolicy.FREEZE, new CollisionLog());
+
+            Path file = temporaryDirectory.resolve("run" + trial + ".trj");
+            int keyframeInterval = 1 + random.nextInt(6);
+            TrajectoryFileWriter writer = new TrajectoryFileWriter(Files.newOutputStream(file), recorded,
+                    keyframeInterval);
+            try {
+                recorded.runCommands(CollisionPolicy.FREEZE, new CollisionLog());
+            } finally {
+                writer.close();
+            }
+
+            try (TrajectoryFileReader reader = TrajectoryFileReader.open(file)) {
+                assertEquals(expectedStates.size() - 1, reader.getStepCount());
+                int carCount = reader.getCarCount();
+                int[] xCoordinates = new int[carCount];
+                int[] yCoordinates = new int[carCount];
+                byte[] directions = new byte[carCount];
+                for (int step = reader.getStepCount(); step >= 0; step--) {
+                    reader.readStep(step, xCoordinates, yCoordinates, directions);
+                    int[] state = expectedStates.get(step);
+                    for (int carId = 0; carId < carCount; carId++) {
+                        assertEquals(state[carId * 3], xCoordinates[carId]);
+                        assertEquals(state[carId * 3 + 1], yCoordinates[carId]);
+                        assertEquals(state[carId * 3 + 2], directions[carId]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void whenLongRunRecorded_thenFileIsCompact() throws IOException {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(1000, 1000));
+        StringBuilder commandSequence = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            commandSequence.append("FFFFFFFFFR");
+        }
+        for (int carNumber = 0; carNumber < 100; carNumber++) {
+            simulation.addCarInstructionPair(new Car("C" + carNumber, carNumber * 10, 500, Direction.NORTH),
+                    new Instruction(commandSequence.toString()));
+        }
+        Path file = temporaryDirectory.resolve("long.trj");
+        TrajectoryFileWriter writer = new TrajectoryFileWriter(Files.newOutputStream(file), simulation);
+        try {
+            simulation.runCommands();
+        } finally {
+            writer.close();
+        }
+
+        // 5000 steps of one byte per change plus a count, and 20 keyframes of five bytes per car
+        assertTrue(Files.size(file) < 5000 * (100 + 1) + 20 * 100 * 5 + 1000);
+        try (TrajectoryFileReader reader = TrajectoryFileReader.open(file)) {
+            int[] xCoordinates = new int[100];
+            int[] yCoordinates = new int[100];
+            byte[] directions = new byte[100];
+            reader.readStep(5000, xCoordinates, yCoordinates, directions);
+            assertEquals(0, xCoordinates[0]);
+            assertEquals(500, yCoordinates[0]);
+            assertEquals(Direction.NORTH.ordinal(), directions[0]);
+        }
+    }
+
+    @Test
+    public void whenReadStepOutOfRange_thenThrowsException() throws IOException {
+        SimulateMultipleCars simulation = new SimulateMultipleCars(new Board(5, 5));
+        simulation.addCarInstructionPair(new Car("A", 1, 1, Direction.NORTH), new Instruction("FF"));
+        Path file = temporaryDirectory.resolve("run.trj");
+        TrajectoryFileWriter writer = new TrajectoryFileWriter(Files.newOutputStream(file), simulation);
+        try {
+            simulation.runCommands();
+        } finally {
+            writer.close();
+        }
+
+        try (TrajectoryFileReader reader = TrajectoryFileReader.open(file)) {
+            int[] coordinates = new int[1];
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.readStep(3, coordinates, coordinates,
+                    new byte[1]));
+        }
+    }
+
+    @Test
+    public void whenOpenInvalidFile_thenThrowsException() throws IOException {
+        Path file = temporaryDirectory.resolve("invalid.trj");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IOException.class, () -> TrajectoryFileReader.open(file));
+    }
+
+    private static int[] snapshot(SimulateMultipleCars simulation) {
+        int[] state = new int[simulation.getCarCount() * 3];
+        for (int carId = 0; carId < simulation.getCarCount(); carId++) {
+            Car car = simulation.getCar(carId);
+            state[carId * 3] = car.getPosition().getX();
+            state[carId * 3 + 1] = car.getPosition().getY();
+            state[carId * 3 + 2] = car.getDirection().ordinal();
+        }
+        return state;
+    }
+
+    private static String randomCommands(Random random) {
+        StringBuilder commandSequence = new StringBuilder();
+        for (int i = random.nextInt(40); i > 0; i--) {
+            commandSequence.append("FFFLR".charAt(random.nextInt(5)));
+        }
+        return commandSequence.toString();
+    }
+}
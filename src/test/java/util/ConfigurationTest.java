@@ -0,0 +1,113 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.example.service.ResultCache;
+import org.example.service.SimulationEngine;
+import org.example.util.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Is a unit test for the Configuration class.
+ */
+public class ConfigurationTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @AfterEach
+    public void tearDown() {
+        Configuration.initialize(new String[0]);
+    }
+
+    @Test
+    public void whenSettingIsDefinedTwice_thenFlagTakesPrecedenceOverOtherSources() throws IOException {
+        Path configFile = Files.writeString(temporaryDirectory.resolve("carsim.properties"),
+                "engine=segment\nthreads=2\nverbose=true\n");
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("carsim.threads", "3");
+        Map<String, String> environment = Map.of("CARSIM_THREADS", "4", "CARSIM_VERBOSE", "false");
+
+        Configuration configuration = Configuration.load(
+                new String[] {"--config=" + configFile, "--engine=tiled", "--metrics", "scenario.txt"}, environment,
+                systemProperties);
+
+        assertEquals(SimulationEngine.TILED, configuration.getEngine());
+        assertEquals(3, configuration.getThreadCount());
+        assertFalse(configuration.isVerbose());
+        assertTrue(configuration.isMetricsEnabled());
+        assertEquals(List.of("scenario.txt"), configuration.getArguments());
+    }
+
+    @Test
+    public void whenNothingIsDefined_thenDefaultsAreUsed() {
+        Configuration configuration = Configuration.load(new String[] {"--verbose"}, Map.of(), new Properties());
+
+        assertTrue(configuration.isVerbose());
+        assertFalse(configuration.isMetricsEnabled());
+        assertEquals(SimulationEngine.FLEET, configuration.getEngine());
+        assertEquals(Runtime.getRuntime().availableProcessors(), configuration.getThreadCount());
+        assertEquals(0, configuration.getPort());
+        assertEquals(Configuration.DEFAULT_QUEUE_CAPACITY, configuration.getQueueCapacity());
+        assertEquals(Configuration.DEFAULT_MAX_BODY_BYTES, configuration.getMaxBodyBytes());
+        assertEquals(Configuration.DEFAULT_REQUEST_TIMEOUT_MILLIS, configuration.getRequestTimeoutMillis());
+        assertEquals(ResultCache.DEFAULT_MAXIMUM_ENTRIES, configuration.getCacheEntries());
+        assertEquals(ResultCache.DEFAULT_MAXIMUM_BYTES, configuration.getCacheBytes());
+    }
+
+    @Test
+    public void whenCacheByteLimitIsOverAnInt_thenItIsKept() {
+        String[] args = {"--cachebytes=8589934592"};
+
+        assertEquals(8L << 30, Configuration.load(args, Map.of(), new Properties()).getCacheBytes());
+    }
+
+    @Test
+    public void whenSettingIsInvalid_thenThrowsIllegalArgumentException() {
+        String[] invalidThreads = {"--threads=0"};
+        String[] invalidEngine = {"--engine=warp"};
+        String[] invalidPort = {"--port=70000"};
+        String[] invalidBody = {"--maxbody=-1"};
+        String[] unknownFlag = {"--thread=4"};
+        String[] invalidCache = {"--cachebytes=0"};
+        Map<String, String> environment = Map.of();
+        Properties properties = new Properties();
+
+        assertThrows(IllegalArgumentException.class, () -> Configuration.load(invalidThreads, environment, properties));
+        assertThrows(IllegalArgumentException.class, () -> Configuration.load(invalidEngine, environment, properties));
+        assertThrows(IllegalArgumentException.class, () -> Configuration.load(invalidPort, environment, properties));
+        assertThrows(IllegalArgumentException.class, () -> Configuration.load(invalidBody, environment, properties));
+        assertThrows(IllegalArgumentException.class, () -> Configuration.load(unknownFlag, environment, properties));
+        assertThrows(IllegalArgumentException.class, () -> Configuration.load(invalidCache, environment, properties));
+    }
+
+    @Test
+    public void whenWatchedFileChanges_thenCurrentSettingsAreReloaded() throws Exception {
+        Path configFile = Files.writeString(temporaryDirectory.resolve("carsim.properties"), "verbose=false\n");
+        Configuration.initialize(new String[] {"--config=" + configFile});
+        AutoCloseable watcher = Configuration.watch();
+        try {
+            Files.writeString(configFile, "verbose=true\n");
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (!Configuration.current().isVerbose() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertTrue(Configuration.current().isVerbose());
+        } finally {
+            watcher.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.example.util.ScenarioParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Is a unit test for the InputParseEvent class.
+ */
+public class InputParseEventTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void whenScenarioIsParsedWhileRecording_thenParseEventIsWritten() throws IOException {
+        Path file = temporaryDirectory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.InputParse");
+            recording.start();
+            ScenarioParser.parse(new BufferedReader(new StringReader("10 10\n1 2 N\nFFRFFF\n")));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<String> phases = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("org.example.InputParse"))
+                .map(event -> event.getString("phase"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("scenarioFile"), phases);
+    }
+}
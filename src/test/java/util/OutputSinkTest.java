@@ -0,0 +1,83 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.example.util.OutputSink;
+import org.example.util.OutputUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the OutputSink class.
+ */
+public class OutputSinkTest {
+
+    @Test
+    public void whenOutputIsLargerThanBuffers_thenEverythingIsWrittenInOrder() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder();
+        try (OutputSink outputSink = new OutputSink(Channels.newChannel(output), 32, 2)) {
+            for (int line = 0; line < 1000; line++) {
+                outputSink.print("Car ");
+                outputSink.print(line - 500L);
+                outputSink.println(" \u00e9");
+                expected.append("Car ").append(line - 500).append(" \u00e9").append(System.lineSeparator());
+            }
+        }
+
+        assertEquals(expected.toString(), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void whenResultIsPrinted_thenFramingMatchesOutputUtil() {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(expected, true, StandardCharsets.UTF_8));
+        try {
+            OutputUtil.resultPrint("A B\n5 4\n7\n");
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try (OutputSink outputSink = new OutputSink(Channels.newChannel(actual))) {
+            outputSink.printResult("A B\n5 4\n7\n");
+            outputSink.flush();
+
+            assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void whenChannelFails_thenFlushThrowsUncheckedIoException() {
+        WritableByteChannel failingChannel = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer source) throws IOException {
+                throw new IOException("Disk full");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        OutputSink outputSink = new OutputSink(failingChannel, 32, 1);
+        outputSink.print("lost");
+
+        assertThrows(UncheckedIOException.class, outputSink::flush);
+        assertThrows(UncheckedIOException.class, outputSink::close);
+    }
+}
@@ -0,0 +1,135 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.example.model.Car;
+import org.example.model.CarInstructionPair;
+import org.example.model.Scenario;
+import org.example.service.BatchRunner;
+import org.example.service.FleetSimulation;
+import org.example.service.SimulateMultipleCars;
+import org.example.util.ScenarioGenerator;
+import org.example.util.ScenarioParser;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the ScenarioGenerator class.
+ */
+public class ScenarioGeneratorTest {
+
+    @Test
+    public void whenSameSeed_thenGeneratesSameText() throws IOException {
+        assertEquals(write(new ScenarioGenerator(7, 40, 30)), write(new ScenarioGenerator(7, 40, 30)));
+        assertNotEquals(write(new ScenarioGenerator(7, 40, 30)), write(new ScenarioGenerator(8, 40, 30)));
+    }
+
+    @Test
+    public void whenTextIsParsed_thenMatchesGeneratedScenario() throws IOException {
+        ScenarioGenerator generator = new ScenarioGenerator(3, 50, 20);
+        generator.setFleetDensity(0.2);
+        generator.setCollisionLikelihood(0.3);
+        Scenario parsed = ScenarioParser.parse(new BufferedReader(new StringReader(write(generator))));
+        Scenario generated = generator.generateScenario();
+
+        List<CarInstructionPair> parsedCars = parsed.getCarInstructionPairs();
+        List<CarInstructionPair> generatedCars = generated.getCarInstructionPairs();
+        assertEquals(generatedCars.size(), parsedCars.size());
+        for (int index = 0; index < generatedCars.size(); index++) {
+            Car parsedCar = parsedCars.get(index).getCar();
+            Car generatedCar = generatedCars.get(index).getCar();
+            assertEquals(generatedCar.getName(), parsedCar.getName());
+            assertEquals(generatedCar.toString(), parsedCar.toString());
+            assertEquals(generatedCars.get(index).getInstruction().getCommands(),
+                    parsedCars.get(index).getInstruction().getCommands());
+        }
+        assertEquals(BatchRunner.runScenario(generated), BatchRunner.runScenario(parsed));
+    }
+
+    @Test
+    public void whenFleetDensityIsSet_thenCarsFillThatFractionOfDistinctCells() {
+        ScenarioGenerator generator = new ScenarioGenerator(11, 200, 200);
+        generator.setFleetDensity(0.25);
+        generator.setCollisionLikelihood(0.1);
+        generator.setProgramLength(5, 9);
+        Set<Long> cells = new HashSet<>();
+        long carCount = generator.generate((car, instruction) -> {
+            assertTrue(cells.add((long) car.getPosition().getY() * 200 + car.getPosition().getX()));
+            assertTrue(instruction.size() >= 5 && instruction.size() <= 9);
+        });
+
+        assertEquals(cells.size(), carCount);
+        // About 10000 placed cars, a tenth of which bring a partner
+        assertTrue(carCount > 10000 && carCount < 12000);
+    }
+
+    @Test
+    public void whenCarsAreAddedToEngines_thenNoneIsTurnedAway() {
+        ScenarioGenerator generator = new ScenarioGenerator(13, 6, 4);
+        generator.setFleetDensity(0.8);
+        generator.setCollisionLikelihood(0.2);
+        SimulateMultipleCars simulation = new SimulateMultipleCars(generator.createBoard());
+        FleetSimulation fleetSimulation = new FleetSimulation(generator.createBoard());
+        ScenarioGenerator singleColumn = new ScenarioGenerator(13, 1, 8);
+        singleColumn.setFleetDensity(1);
+        SimulateMultipleCars columnSimulation = new SimulateMultipleCars(singleColumn.createBoard());
+
+        long carCount = generator.generate(simulation::addCarInstructionPair);
+        long fleetCarCount = generator.generate(fleetSimulation::addCarInstructionPair);
+        long columnCarCount = singleColumn.generate(columnSimulation::addCarInstructionPair);
+
+        assertEquals(carCount, simulation.getCarCount());
+        assertEquals(fleetCarCount, fleetSimulation.getCarCount());
+        assertEquals(8, columnCarCount);
+        assertEquals(8, columnSimulation.getCarCount());
+        assertEquals(0, new ScenarioGenerator(13, 1, 1).generate((car, instruction) -> { }));
+    }
+
+    @Test
+    public void whenCollisionLikelihoodIsOne_thenCarsCollide() {
+        ScenarioGenerator generator = new ScenarioGenerator(5, 100, 1);
+        generator.setFleetDensity(0.05);
+        generator.setCollisionLikelihood(1);
+        generator.setStraightRunBias(0);
+        SimulateMultipleCars simulation = new SimulateMultipleCars(generator.createBoard());
+        generator.generate(simulation::addCarInstructionPair);
+
+        assertNotEquals("No collisions\n", simulation.runCommands());
+    }
+
+    @Test
+    public void whenStraightRunBiasIsOne_thenProgramsOnlyMove() {
+        ScenarioGenerator generator = new ScenarioGenerator(1, 10, 10);
+        generator.setStraightRunBias(1);
+        generator.setProgramLength(12, 12);
+
+        assertEquals("FFFFFFFFFFFF", generator.generateCommandSequence());
+    }
+
+    @Test
+    public void whenSettingIsInvalid_thenThrowsIllegalArgumentException() {
+        ScenarioGenerator generator = new ScenarioGenerator(1, 10, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> new ScenarioGenerator(1, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> generator.setFleetDensity(0));
+        assertThrows(IllegalArgumentException.class, () -> generator.setProgramLength(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> generator.setStraightRunBias(1.5));
+        assertThrows(IllegalArgumentException.class, () -> generator.setCollisionLikelihood(-0.1));
+    }
+
+    private static String write(ScenarioGenerator generator) throws IOException {
+        StringWriter writer = new StringWriter();
+        generator.writeScenario(writer);
+        return writer.toString();
+    }
+}
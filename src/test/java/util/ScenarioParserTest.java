@@ -0,0 +1,59 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.example.model.PartSelection;
+import org.example.model.Scenario;
+import org.example.service.BatchRunner;
+import org.example.util.ScenarioParser;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the ScenarioParser class.
+ */
+public class ScenarioParserTest {
+
+    @Test
+    public void whenBoardIsFollowedByCar_thenParsesPartOne() throws IOException {
+        Scenario scenario = parse("10 10\n1 2 N\nffrfff\n");
+
+        assertEquals(PartSelection.ONE, scenario.getPartSelection());
+        assertEquals(1, scenario.getCarInstructionPairs().size());
+        assertEquals("4 4 E\n", BatchRunner.runScenario(scenario));
+    }
+
+    @Test
+    public void whenBoardIsFollowedByBlankLine_thenParsesPartTwo() throws IOException {
+        Scenario scenario = parse("10 10\n\nA\n1 2 N\nFFRFFFFRRL\n\nB\n7 8 W\nFFLFFFFFFF\n\n");
+
+        assertEquals(PartSelection.TWO, scenario.getPartSelection());
+        assertEquals(2, scenario.getCarInstructionPairs().size());
+        assertEquals("B", scenario.getCarInstructionPairs().get(1).getCar().getName());
+        assertEquals("A B\n5 4\n7\n", BatchRunner.runScenario(scenario));
+    }
+
+    @Test
+    public void whenCarIsOutOfBounds_thenThrowsWithLineNumber() {
+        String text = "5 5\n\nA\n1 2 N\nF\n\nB\n9 9 N\nF\n";
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> parse(text));
+
+        assertTrue(exception.getMessage().startsWith("Line 8:"));
+    }
+
+    @Test
+    public void whenCommandsAreMissing_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> parse("5 5\n\nA\n1 2 N\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("5 5\n1 2 N\nFFX\n"));
+        assertThrows(IllegalArgumentException.class, () -> parse("5 0\n1 2 N\nF\n"));
+    }
+
+    private static Scenario parse(String text) throws IOException {
+        return ScenarioParser.parse(new BufferedReader(new StringReader(text)));
+    }
+}
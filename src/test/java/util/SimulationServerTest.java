@@ -0,0 +1,186 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.example.service.ResultCache;
+import org.example.service.SimulationEngine;
+import org.example.util.SimulationServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Is a unit test for the SimulationServer class.
+ */
+public class SimulationServerTest {
+
+    private static final String PART_TWO_SCENARIO = "10 10\n\nA\n1 2 N\nFFRFFFFRRL\n\nB\n7 8 W\nFFLFFFFFFF\n\n";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private SimulationServer server;
+
+    @AfterEach
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void whenScenarioIsPosted_thenReturnsSameResultAsScenarioFile() throws Exception {
+        startServer(2, 4, 1024);
+
+        HttpResponse<String> partTwo = post(PART_TWO_SCENARIO);
+        HttpResponse<String> partOne = post("10 10\n1 2 N\nffrfff\n");
+
+        assertEquals(200, partTwo.statusCode());
+        assertEquals("A B\n5 4\n7\n", partTwo.body());
+        assertEquals(200, partOne.statusCode());
+        assertEquals("4 4 E\n", partOne.body());
+    }
+
+    @Test
+    public void whenScenarioIsPostedAgain_thenResultComesFromCache() throws Exception {
+        ResultCache resultCache = new ResultCache(16, 1 << 20);
+        startServer(resultCache, 2, 4, 1024);
+
+        HttpResponse<String> first = post(PART_TWO_SCENARIO);
+        HttpResponse<String> second = post(PART_TWO_SCENARIO);
+
+        assertEquals(first.body(), second.body());
+        assertEquals(1, resultCache.getMissCount());
+        assertEquals(1, resultCache.getHitCount());
+    }
+
+    @Test
+    public void whenScenarioIsInvalid_thenReturnsBadRequest() throws Exception {
+        startServer(1, 1, 1024);
+
+        HttpResponse<String> response = post("10 ten\n");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Line 1"));
+    }
+
+    @Test
+    public void whenBodyIsLargerThanLimit_thenReturnsPayloadTooLarge() throws Exception {
+        startServer(1, 1, 16);
+
+        HttpResponse<String> response = post(PART_TWO_SCENARIO);
+
+        assertEquals(413, response.statusCode());
+    }
+
+    @Test
+    public void whenMethodIsNotPost_thenReturnsMethodNotAllowed() throws Exception {
+        startServer(1, 1, 1024);
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/simulate")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(405, response.statusCode());
+        assertEquals("POST", response.headers().firstValue("Allow").orElse(""));
+    }
+
+    @Test
+    public void whenPartOneScenarioIsPostedWithCache_thenReturnsItsResult() throws Exception {
+        startServer(new ResultCache(16, 1 << 20), 1, 1, 1024);
+
+        HttpResponse<String> response = post("10 10\n1 2 N\nffrfff\n");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("4 4 E\n", response.body());
+    }
+
+    @Test
+    public void whenEngineIsTiled_thenThrowsIllegalArgumentException() {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        SimulationEngine tiled = SimulationEngine.TILED;
+
+        assertThrows(IllegalArgumentException.class, () -> new SimulationServer(address, tiled, null, 1, 1, 1, 1));
+    }
+
+    @Test
+    public void whenBodyIsNotSentInTime_thenReturnsRequestTimeoutAndFreesWorker() throws Exception {
+        server = new SimulationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                SimulationEngine.STANDARD, null, 1, 1, 1024, 200);
+        server.start();
+
+        try (Socket stalled = openIncompleteRequest()) {
+            stalled.setSoTimeout(5000);
+            String statusLine = new BufferedReader(new InputStreamReader(stalled.getInputStream(),
+                    StandardCharsets.US_ASCII)).readLine();
+
+            assertTrue(statusLine.startsWith("HTTP/1.1 408 "));
+        }
+        assertEquals(200, post(PART_TWO_SCENARIO).statusCode());
+    }
+
+    @Test
+    public void whenAllWorkersAndQueueAreBusy_thenReturnsServiceUnavailable() throws Exception {
+        startServer(1, 1, 1024);
+        // Each of these requests is admitted and then waits for a body that never arrives
+        Socket working = openIncompleteRequest();
+        Socket queued = openIncompleteRequest();
+        try {
+            int statusCode = 0;
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (statusCode != 503 && System.nanoTime() < deadline) {
+                statusCode = post(PART_TWO_SCENARIO).statusCode();
+            }
+
+            assertEquals(503, statusCode);
+        } finally {
+            queued.close();
+            working.close();
+        }
+    }
+
+    private void startServer(int workerCount, int queueCapacity, int maxBodyBytes) throws IOException {
+        startServer(null, workerCount, queueCapacity, maxBodyBytes);
+    }
+
+    private void startServer(ResultCache resultCache, int workerCount, int queueCapacity, int maxBodyBytes)
+            throws IOException {
+        // The timeout is long enough for the requests left incomplete on purpose to keep their workers busy
+        server = new SimulationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                SimulationEngine.STANDARD, resultCache, workerCount, queueCapacity, maxBodyBytes, 30_000);
+        server.start();
+    }
+
+    private HttpResponse<String> post(String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/simulate"))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort()
+                + path);
+    }
+
+    private Socket openIncompleteRequest() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        OutputStream output = socket.getOutputStream();
+        output.write(("POST /simulate HTTP/1.1\r\nHost: localhost\r\nContent-Length: 100\r\n\r\n10 10\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+        return socket;
+    }
+}